@@ -7,6 +7,7 @@ import java.util.Map;
 
 import exceptions.InformationRequiredExceptionAddress;
 import interfaces.RequiredElement;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +17,8 @@ import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 import util.RequiredElementAddress;
 import util.RequiredElementSite;
 
@@ -26,6 +29,8 @@ import util.RequiredElementSite;
 @Getter
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(type = CacheType.SOFT_WEAK, size = 2000, expiry = 10 * 60 * 1000)
 @Table(name = "addresses")
 public class Address implements Serializable
 {
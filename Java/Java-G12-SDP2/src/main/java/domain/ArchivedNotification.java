@@ -0,0 +1,61 @@
+package domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity holding a read notification that was moved out of the notification
+ * table by the retention job. It keeps the ID of the original notification.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notifications_archive")
+public class ArchivedNotification implements Serializable
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The ID the notification had in the notification table.
+	 */
+	@Id
+	private int id;
+
+	/**
+	 * The textual content of the notification.
+	 */
+	private String message;
+
+	/**
+	 * The date and time when the notification was created.
+	 */
+	private LocalDateTime time;
+
+	/**
+	 * The date and time when the notification was archived.
+	 */
+	private LocalDateTime archivedAt;
+
+	/**
+	 * Constructs an archived copy of a notification.
+	 *
+	 * @param notification the notification to archive
+	 * @param archivedAt   the moment it is archived
+	 */
+	public ArchivedNotification(Notification notification, LocalDateTime archivedAt)
+	{
+		this.id = notification.getId();
+		this.message = notification.getMessage();
+		this.time = notification.getTime();
+		this.archivedAt = archivedAt;
+	}
+}
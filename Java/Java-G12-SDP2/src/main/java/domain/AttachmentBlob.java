@@ -0,0 +1,57 @@
+package domain;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entity tracking one piece of attachment content in the on-disk attachment
+ * store. The content is kept once per SHA-256 hash, no matter how many files
+ * refer to it; the reference count says how many {@link FileInfo} rows do.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "attachment_blobs")
+public class AttachmentBlob implements Serializable
+{
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Hex-encoded SHA-256 hash of the content.
+	 */
+	@Id
+	@Column(length = 64)
+	private String hash;
+
+	/**
+	 * Size of the content in bytes.
+	 */
+	private long size;
+
+	/**
+	 * Number of files referring to this content.
+	 */
+	private int refCount;
+
+	/**
+	 * Constructs a new AttachmentBlob with a single reference.
+	 *
+	 * @param hash the hex-encoded SHA-256 hash of the content
+	 * @param size the size of the content in bytes
+	 */
+	public AttachmentBlob(String hash, long size)
+	{
+		this.hash = hash;
+		this.size = size;
+		this.refCount = 1;
+	}
+}
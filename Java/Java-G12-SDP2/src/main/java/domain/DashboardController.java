@@ -0,0 +1,76 @@
+package domain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads everything the dashboard shows: the KPIs and their latest values. The
+ * data does not depend on who is logged in, so the login screen can start
+ * loading it with {@link #prefetch()} while the password is still being
+ * verified.
+ */
+public class DashboardController
+{
+	/**
+	 * The KPIs shown on the dashboard, in display order, with the latest value
+	 * per site for each of them.
+	 *
+	 * @param kpis          the KPIs
+	 * @param latestWaarden the latest values grouped by KPI ID
+	 */
+	public record DashboardData(List<KPI> kpis, Map<Integer, List<KPIWaarde>> latestWaarden)
+	{
+	}
+
+	/**
+	 * Runs prefetches. The threads are daemons, so a prefetch in progress does not
+	 * keep the application alive.
+	 */
+	private static final Executor PREFETCH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "dashboard-prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final KPIController kpiController;
+	private final KPIWaardeController kpiWaardeController;
+
+	/**
+	 * Constructs a new DashboardController with the given controllers.
+	 *
+	 * @param kpiController       the controller for the KPIs
+	 * @param kpiWaardeController the controller for the KPI values
+	 */
+	public DashboardController(KPIController kpiController, KPIWaardeController kpiWaardeController)
+	{
+		this.kpiController = kpiController;
+		this.kpiWaardeController = kpiWaardeController;
+	}
+
+	/**
+	 * Loads the dashboard data on the calling thread.
+	 *
+	 * @return the KPIs and their latest values
+	 */
+	public DashboardData loadDashboard()
+	{
+		List<KPI> kpis = kpiController.getAllKPIs();
+		return new DashboardData(kpis,
+				kpiWaardeController.getLatestWaardenByKPIs(kpis.stream().map(KPI::getId).toList()));
+	}
+
+	/**
+	 * Starts loading the dashboard data in the background. The caller decides
+	 * whether the result is used: if the login it was started for fails, the
+	 * future should be cancelled and dropped.
+	 *
+	 * @return a future completing with the dashboard data
+	 */
+	public CompletableFuture<DashboardData> prefetch()
+	{
+		return CompletableFuture.supplyAsync(this::loadDashboard, PREFETCH_EXECUTOR);
+	}
+}
@@ -0,0 +1,74 @@
+package domain;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import repository.MaintenanceDao;
+import repository.MaintenanceDaoJpa;
+import repository.MaintenanceHistoryFilter;
+import util.ExportFormat;
+import util.RowWriter;
+
+/**
+ * Controller for exporting data to CSV or XLSX files. Rows are read from the
+ * database and written to the file one at a time, so exports of any size run
+ * with constant memory.
+ */
+public class ExportController
+{
+	private final MaintenanceDao maintenanceRepo;
+
+	/**
+	 * Constructs a new ExportController using the JPA repositories.
+	 */
+	public ExportController()
+	{
+		this(new MaintenanceDaoJpa());
+	}
+
+	/**
+	 * Constructs a new ExportController with the given repository.
+	 *
+	 * @param maintenanceRepo the maintenance repository
+	 */
+	public ExportController(MaintenanceDao maintenanceRepo)
+	{
+		this.maintenanceRepo = maintenanceRepo;
+	}
+
+	/**
+	 * Exports the maintenance history to a file. The format is chosen by the file
+	 * extension (.csv or .xlsx).
+	 *
+	 * @param file   the file to write
+	 * @param siteId the ID of the site to export, or null for all sites
+	 * @param from   the first execution date to export, or null for no lower
+	 *               bound
+	 * @param to     the last execution date to export, or null for no upper
+	 *               bound
+	 * @return the number of exported maintenances
+	 * @throws IOException              if the file cannot be written
+	 * @throws IllegalArgumentException if the extension is not supported or
+	 *                                  {@code from} is after {@code to}
+	 */
+	public long exportMaintenanceHistory(Path file, Integer siteId, LocalDate from, LocalDate to)
+			throws IOException
+	{
+		ExportFormat format = ExportFormat.fromFileName(file.getFileName().toString());
+		MaintenanceHistoryFilter filter = new MaintenanceHistoryFilter(siteId, from, to);
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+				RowWriter writer = RowWriter.open(out, format))
+		{
+			writer.writeRow("id", "executionDate", "startDate", "endDate", "status", "reason", "comments",
+					"machineCode", "machineLocation", "site", "technician", "technicianEmail");
+			return maintenanceRepo.forEachHistoryRow(filter,
+					row -> writer.writeRow(row.id(), row.executionDate(), row.startDate(), row.endDate(),
+							row.status(), row.reason(), row.comments(), row.machineCode(), row.machineLocation(),
+							row.siteName(), row.technicianName(), row.technicianEmail()));
+		}
+	}
+}
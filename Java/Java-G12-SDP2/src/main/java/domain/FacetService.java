@@ -0,0 +1,140 @@
+package domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dto.MachineFacets;
+import dto.SiteFacets;
+import interfaces.Observer;
+import repository.MachineDao;
+import repository.MachineDaoJpa;
+import repository.SiteDao;
+import repository.SiteDaoJpa;
+
+/**
+ * Read-through cache for the distinct values offered by the filter bars. Each
+ * filter bar is computed with a single query and kept until the next write.
+ * <p>
+ * The cached values are shared by all instances. The site and machine
+ * controllers register their own instance as an {@link Observer}, and the
+ * user and import controllers are linked to one as well (the facets include
+ * user names), so a write announced by any of them drops all cached facets: a
+ * machine update, for example, can change the technicians of a site's filter
+ * bar.
+ */
+public class FacetService implements Observer
+{
+	/**
+	 * Key of the facets over all machines; site IDs start at 1.
+	 */
+	private static final int ALL_MACHINES = 0;
+
+	private static volatile SiteFacets siteFacets;
+	private static final Map<Integer, MachineFacets> machineFacets = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented on every invalidation, so a load that raced with an
+	 * invalidation is returned to its caller but not cached.
+	 */
+	private static long generation;
+
+	private final SiteDao siteRepo;
+	private final MachineDao machineRepo;
+
+	/**
+	 * Creates a FacetService with the default repository implementations.
+	 */
+	public FacetService()
+	{
+		this(new SiteDaoJpa(), new MachineDaoJpa());
+	}
+
+	/**
+	 * Creates a FacetService with the given repositories.
+	 *
+	 * @param siteRepo    the repository to read site facets from
+	 * @param machineRepo the repository to read machine facets from
+	 */
+	public FacetService(SiteDao siteRepo, MachineDao machineRepo)
+	{
+		this.siteRepo = siteRepo;
+		this.machineRepo = machineRepo;
+	}
+
+	/**
+	 * Returns the filter values of the site overview, loading them first if
+	 * necessary.
+	 *
+	 * @return the site facets
+	 */
+	public SiteFacets getSiteFacets()
+	{
+		SiteFacets current = siteFacets;
+		if (current != null)
+		{
+			return current;
+		}
+		long loadGeneration = currentGeneration();
+		SiteFacets loaded = siteRepo.findFacets();
+		synchronized (FacetService.class)
+		{
+			if (generation == loadGeneration)
+			{
+				siteFacets = loaded;
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Returns the filter values of a machine overview, loading them first if
+	 * necessary.
+	 *
+	 * @param siteId the ID of the site whose machines are shown, or null for all
+	 *               machines
+	 * @return the machine facets
+	 */
+	public MachineFacets getMachineFacets(Integer siteId)
+	{
+		int key = siteId == null ? ALL_MACHINES : siteId;
+		MachineFacets current = machineFacets.get(key);
+		if (current != null)
+		{
+			return current;
+		}
+		long loadGeneration = currentGeneration();
+		MachineFacets loaded = machineRepo.findFacets(siteId);
+		synchronized (FacetService.class)
+		{
+			if (generation == loadGeneration)
+			{
+				machineFacets.put(key, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Drops all cached facets.
+	 */
+	public void invalidate()
+	{
+		synchronized (FacetService.class)
+		{
+			generation++;
+			siteFacets = null;
+			machineFacets.clear();
+		}
+	}
+
+	@Override
+	public void update(String message)
+	{
+		invalidate();
+	}
+
+	private static synchronized long currentGeneration()
+	{
+		return generation;
+	}
+}
@@ -3,25 +3,48 @@ package domain;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * Entity representing a file attached to a maintenance record. Contains
- * metadata and the binary content of the file.
+ * metadata and either the binary content of the file or, when the content lives
+ * in an on-disk attachment store, the SHA-256 hash it is stored under.
  */
 @Entity
 @Getter
 @Setter
 @Table(name = "maintenance_files")
+@NamedQueries({ @NamedQuery(name = "FileInfo.findMetadataByMaintenance", query = """
+		SELECT NEW domain.FileInfo(f.id, f.name, f.type, f.size, f.uploadDate, f.contentHash) FROM FileInfo f
+		WHERE f.maintenance.id = :maintenanceId
+		ORDER BY f.id
+		"""), @NamedQuery(name = "FileInfo.findAllMetadata", query = """
+		SELECT NEW domain.FileInfo(f.id, f.name, f.type, f.size, f.uploadDate, f.contentHash) FROM FileInfo f
+		ORDER BY f.id
+		"""), @NamedQuery(name = "FileInfo.setContentHash", query = """
+		UPDATE FileInfo f SET f.contentHash = :hash, f.content = NULL
+		WHERE f.id = :id
+		"""), @NamedQuery(name = "FileInfo.findContent", query = """
+		SELECT f.content FROM FileInfo f
+		WHERE f.id = :id
+		"""), @NamedQuery(name = "FileInfo.deleteById", query = """
+		DELETE FROM FileInfo f
+		WHERE f.id = :id
+		""") })
 public class FileInfo implements Serializable
 {
 
@@ -45,11 +68,20 @@ public class FileInfo implements Serializable
 	public String type;
 
 	/**
-	 * The binary content of the file.
+	 * The binary content of the file. Not loaded when files are listed, see
+	 * {@link FileInfoController#getFileContent(FileInfo)}.
 	 */
 	@Lob
+	@Basic(fetch = FetchType.LAZY)
 	private byte[] content;
 
+	/**
+	 * SHA-256 hash of the content when it is kept in an on-disk attachment store,
+	 * or null when the content is stored inline.
+	 */
+	@Column(name = "content_hash", length = 64)
+	private String contentHash;
+
 	/**
 	 * Timestamp when the file was uploaded.
 	 */
@@ -94,6 +126,27 @@ public class FileInfo implements Serializable
 		this.size = content != null ? content.length : 0;
 	}
 
+	/**
+	 * Constructs a metadata-only FileInfo, used when listing the files of a
+	 * maintenance without loading their content.
+	 *
+	 * @param id          the ID of the file
+	 * @param name        the file name
+	 * @param type        the type of the file
+	 * @param size        the size of the content in bytes
+	 * @param uploadDate  the timestamp of the upload
+	 * @param contentHash the hash of the content in an on-disk store, or null
+	 */
+	public FileInfo(int id, String name, String type, long size, LocalDateTime uploadDate, String contentHash)
+	{
+		this.id = id;
+		this.name = name;
+		this.type = type;
+		this.size = size;
+		this.uploadDate = uploadDate;
+		this.contentHash = contentHash;
+	}
+
 	/**
 	 * Returns a string representation of the file info.
 	 *
@@ -1,13 +1,22 @@
 package domain;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import repository.GenericDao;
-import repository.GenericDaoJpa;
+import repository.AttachmentBlobDaoJpa;
+import repository.AttachmentStore;
+import repository.DiskAttachmentStore;
+import repository.FileInfoDao;
+import repository.FileInfoDaoJpa;
+import repository.InlineAttachmentStore;
 
 /**
  * Controller class responsible for managing {@link FileInfo} entities. Provides
@@ -17,14 +26,67 @@ import repository.GenericDaoJpa;
 public class FileInfoController
 {
 
-	private final GenericDao<FileInfo> fileInfoDao;
+	/**
+	 * System property holding the directory of the on-disk attachment store. When
+	 * it is not set, new content is stored inline in the database.
+	 */
+	public static final String ATTACHMENTS_DIR_PROPERTY = "shopfloor.attachments.dir";
+
+	private final FileInfoDao fileInfoDao;
 
 	/**
-	 * Constructs a new FileInfoController using a GenericDaoJpa for FileInfo.
+	 * The stores that can hold content; new content goes to the first one.
+	 */
+	private final List<AttachmentStore> stores;
+
+	/**
+	 * Constructs a new FileInfoController using a FileInfoDaoJpa. Content is kept
+	 * on disk if {@value #ATTACHMENTS_DIR_PROPERTY} is set, inline otherwise.
 	 */
 	public FileInfoController()
 	{
-		this.fileInfoDao = new GenericDaoJpa<>(FileInfo.class);
+		this(new FileInfoDaoJpa());
+	}
+
+	private FileInfoController(FileInfoDaoJpa fileInfoDao)
+	{
+		this(fileInfoDao, defaultStores(fileInfoDao));
+	}
+
+	/**
+	 * Constructs a new FileInfoController using the given DAO, storing content
+	 * inline.
+	 *
+	 * @param fileInfoDao the DAO for FileInfo database operations
+	 */
+	public FileInfoController(FileInfoDao fileInfoDao)
+	{
+		this(fileInfoDao, List.of(new InlineAttachmentStore(fileInfoDao)));
+	}
+
+	/**
+	 * Constructs a new FileInfoController using the given DAO and stores.
+	 *
+	 * @param fileInfoDao the DAO for FileInfo database operations
+	 * @param stores      the stores that can hold content; new content goes to the
+	 *                    first one
+	 */
+	public FileInfoController(FileInfoDao fileInfoDao, List<AttachmentStore> stores)
+	{
+		this.fileInfoDao = fileInfoDao;
+		this.stores = List.copyOf(stores);
+	}
+
+	private static List<AttachmentStore> defaultStores(FileInfoDao fileInfoDao)
+	{
+		List<AttachmentStore> stores = new ArrayList<>();
+		String directory = System.getProperty(ATTACHMENTS_DIR_PROPERTY);
+		if (directory != null && !directory.isBlank())
+		{
+			stores.add(new DiskAttachmentStore(Path.of(directory), fileInfoDao, new AttachmentBlobDaoJpa()));
+		}
+		stores.add(new InlineAttachmentStore(fileInfoDao));
+		return stores;
 	}
 
 	/**
@@ -32,22 +94,22 @@ public class FileInfoController
 	 * 
 	 * @return the fileInfo DAO instance
 	 */
-	protected GenericDao<FileInfo> getFileInfoDao()
+	protected FileInfoDao getFileInfoDao()
 	{
 		return fileInfoDao;
 	}
 
 	/**
-	 * Retrieves a list of all files associated with a specific maintenance ID.
+	 * Retrieves a list of all files associated with a specific maintenance ID. Only
+	 * the metadata is loaded; the content is fetched separately by
+	 * {@link #getFileContent(FileInfo)}.
 	 * 
 	 * @param maintenanceId the ID of the maintenance record
 	 * @return list of FileInfo linked to the specified maintenance
 	 */
 	public List<FileInfo> getFilesForMaintenance(int maintenanceId)
 	{
-		return fileInfoDao.findAll().stream()
-				.filter(file -> file.getMaintenance() != null && file.getMaintenance().getId() == maintenanceId)
-				.collect(Collectors.toList());
+		return fileInfoDao.findMetadataByMaintenance(maintenanceId);
 	}
 
 	/**
@@ -64,33 +126,79 @@ public class FileInfoController
 	}
 
 	/**
-	 * Deletes a file record from the database. Starts and commits a transaction
-	 * around the delete operation.
+	 * Deletes a file record from the database and releases its content. Starts and
+	 * commits a transaction around the delete operation; content that is no
+	 * longer referenced is only deleted after that transaction has committed.
 	 * 
 	 * @param fileInfo the FileInfo entity to delete
+	 * @throws IOException if the content cannot be removed from its store
 	 */
-	public void deleteFile(FileInfo fileInfo)
+	public void deleteFile(FileInfo fileInfo) throws IOException
 	{
+		AttachmentStore store = storeFor(fileInfo);
+		String contentHash = fileInfo.getContentHash();
 		fileInfoDao.startTransaction();
-		fileInfoDao.delete(fileInfo);
-		fileInfoDao.commitTransaction();
+		try
+		{
+			store.remove(fileInfo);
+			fileInfoDao.deleteById(fileInfo.getId());
+			fileInfoDao.commitTransaction();
+		} catch (IOException | RuntimeException e)
+		{
+			fileInfoDao.rollbackTransaction();
+			fileInfo.setContentHash(contentHash);
+			throw e;
+		}
+		purge(store, contentHash);
 	}
 
 	/**
-	 * Retrieves the binary content of a given file.
+	 * Retrieves the binary content of a given file. Files returned by
+	 * {@link #getFilesForMaintenance(int)} carry no content, so it is loaded from
+	 * its store on demand and not kept on the FileInfo.
 	 * 
 	 * @param fileInfo the file entity
-	 * @return the content as a byte array
+	 * @return the content as a byte array, or null if there is none
 	 */
 	public byte[] getFileContent(FileInfo fileInfo)
 	{
-		return fileInfo.getContent();
+		if (fileInfo.getContent() != null)
+		{
+			return fileInfo.getContent();
+		}
+		try
+		{
+			return storeFor(fileInfo).readContent(fileInfo);
+		} catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes the content of a given file to a stream. Content in a
+	 * {@link repository.DiskAttachmentStore} is copied with constant memory;
+	 * inline content is read as a whole by the database driver.
+	 *
+	 * @param fileInfo the file entity
+	 * @param out      the stream to write the content to
+	 * @return false if the file has no content
+	 * @throws IOException if writing to the stream fails
+	 */
+	public boolean writeFileContent(FileInfo fileInfo, OutputStream out) throws IOException
+	{
+		if (fileInfo.getContent() != null)
+		{
+			out.write(fileInfo.getContent());
+			return true;
+		}
+		return storeFor(fileInfo).copyContent(fileInfo, out);
 	}
 
 	/**
-	 * Reads file content from the given {@link File} and saves it into the provided
-	 * {@link FileInfo} entity, then persists the entity. Updates the file size and
-	 * upload timestamp.
+	 * Streams file content from the given {@link File} into the provided
+	 * {@link FileInfo} entity and persists it. Updates the file size and upload
+	 * timestamp.
 	 * 
 	 * @param file     the file to read content from
 	 * @param fileInfo the file entity to update and save
@@ -98,14 +206,92 @@ public class FileInfoController
 	 */
 	public void saveFileContent(File file, FileInfo fileInfo) throws IOException
 	{
-		try (FileInputStream fis = new FileInputStream(file))
+		try (InputStream in = Files.newInputStream(file.toPath()))
+		{
+			saveFileContent(in, file.length(), fileInfo);
+		}
+	}
+
+	/**
+	 * Streams content into the provided {@link FileInfo} entity and persists it.
+	 * The content goes to the active attachment store; only a
+	 * {@link repository.DiskAttachmentStore} writes it with constant memory, the
+	 * inline store is limited by the server's max_allowed_packet. Updates the file size and upload timestamp.
+	 *
+	 * @param content  the stream to read the content from
+	 * @param length   the number of bytes to read from the stream
+	 * @param fileInfo the file entity to update and save
+	 * @throws IOException if the content cannot be read or stored
+	 */
+	public void saveFileContent(InputStream content, long length, FileInfo fileInfo) throws IOException
+	{
+		fileInfo.setContent(null);
+		fileInfo.setSize(length);
+		fileInfo.setUploadDate(LocalDateTime.now());
+		fileInfoDao.startTransaction();
+		try
+		{
+			fileInfoDao.insert(fileInfo);
+			stores.getFirst().write(fileInfo, content, length);
+			fileInfoDao.commitTransaction();
+		} catch (IOException | RuntimeException e)
+		{
+			fileInfoDao.rollbackTransaction();
+			throw e;
+		}
+	}
+
+	/**
+	 * Moves the content of every file that is not yet in the given store into it,
+	 * e.g. from inline BLOBs to the on-disk store or back. Every file is moved in
+	 * its own transaction through a temporary file, so a migration can be
+	 * interrupted and resumed.
+	 *
+	 * @param target the store to move the content to
+	 * @return the number of files moved
+	 * @throws IOException if content cannot be read or stored
+	 */
+	public int migrateAttachments(AttachmentStore target) throws IOException
+	{
+		int moved = 0;
+		for (FileInfo fileInfo : fileInfoDao.findAllMetadata())
 		{
-			byte[] content = fis.readAllBytes();
-			fileInfo.setContent(content);
-			fileInfo.setSize(content.length);
-			fileInfo.setUploadDate(java.time.LocalDateTime.now());
-			saveFile(fileInfo);
+			if (target.contains(fileInfo))
+			{
+				continue;
+			}
+			AttachmentStore source = storeFor(fileInfo);
+			Path temp = Files.createTempFile("attachment-", ".tmp");
+			try
+			{
+				try (OutputStream out = Files.newOutputStream(temp))
+				{
+					if (!source.copyContent(fileInfo, out))
+					{
+						continue;
+					}
+				}
+				String contentHash = fileInfo.getContentHash();
+				fileInfoDao.startTransaction();
+				try (InputStream in = Files.newInputStream(temp))
+				{
+					target.write(fileInfo, in, Files.size(temp));
+					source.remove(fileInfo);
+					fileInfoDao.commitTransaction();
+				} catch (IOException | RuntimeException e)
+				{
+					fileInfoDao.rollbackTransaction();
+					fileInfo.setContentHash(contentHash);
+					throw e;
+				}
+				purge(source, contentHash);
+				moved++;
+			} finally
+			{
+				Files.deleteIfExists(temp);
+			}
 		}
+		return moved;
 	}
 
 	/**
@@ -119,7 +305,36 @@ public class FileInfoController
 	{
 		fileInfo.setContent(content);
 		fileInfo.setSize(content.length);
-		fileInfo.setUploadDate(java.time.LocalDateTime.now());
+		fileInfo.setUploadDate(LocalDateTime.now());
 		saveFile(fileInfo);
 	}
+
+	/**
+	 * Deletes released content in a transaction of its own. The file record is
+	 * already gone at this point, so a failure only leaves unreferenced content
+	 * behind and is reported rather than thrown.
+	 */
+	private void purge(AttachmentStore store, String contentHash)
+	{
+		if (contentHash == null)
+		{
+			return;
+		}
+		fileInfoDao.startTransaction();
+		try
+		{
+			store.purge(contentHash);
+			fileInfoDao.commitTransaction();
+		} catch (IOException | RuntimeException e)
+		{
+			fileInfoDao.rollbackTransaction();
+			System.err.println("Could not delete unreferenced content " + contentHash + ": " + e.getMessage());
+		}
+	}
+
+	private AttachmentStore storeFor(FileInfo fileInfo)
+	{
+		return stores.stream().filter(store -> store.contains(fileInfo)).findFirst()
+				.orElseThrow(() -> new IllegalStateException("No attachment store holds the content of " + fileInfo));
+	}
 }
@@ -0,0 +1,404 @@
+package domain;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import dto.ImportProgress;
+import dto.ImportResult;
+import dto.ImportResult.RowError;
+import exceptions.InformationRequired;
+import exceptions.UserNotFoundWithEmailException;
+import interfaces.Observer;
+import interfaces.Subject;
+import repository.GenericDao;
+import repository.GenericDaoJpa;
+import repository.MachineDao;
+import repository.MachineDaoJpa;
+import repository.UserDao;
+import repository.UserDaoJpa;
+import util.ImportFormat;
+import util.MachineStatus;
+import util.PasswordHasher;
+import util.ProductionStatus;
+import util.RecordReader;
+import util.Role;
+import util.Status;
+
+/**
+ * Controller for bulk importing machines, sites and users from CSV or JSON
+ * files. The file is read one record at a time; valid rows are collected into
+ * batches that are inserted and committed together, so memory use depends on
+ * the batch size and not on the size of the file. Rows that fail validation are
+ * skipped and reported, they never abort the import.
+ * <p>
+ * Sites and users referenced by name or email are looked up once per import and
+ * remembered, so a file referencing the same site on every row does not query
+ * the database for every row.
+ */
+public class ImportController implements Subject
+{
+	/**
+	 * Number of rows inserted and committed per transaction by default.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * Maximum number of row errors kept in the result. Further errors are still
+	 * counted as failed rows.
+	 */
+	static final int MAX_REPORTED_ERRORS = 1000;
+
+	private final MachineDao machineRepo;
+	private final GenericDao<Site> siteRepo;
+	private final UserDao userRepo;
+	private final List<Observer> observers = new ArrayList<>();
+
+	/**
+	 * Constructs a new ImportController using the JPA repositories. Automatically
+	 * adds a NotificationObserver to observe imports.
+	 */
+	public ImportController()
+	{
+		this(new MachineDaoJpa(), new GenericDaoJpa<>(Site.class), new UserDaoJpa());
+		addObserver(new NotificationObserver());
+	}
+
+	/**
+	 * Constructs a new ImportController with the given repositories.
+	 *
+	 * @param machineRepo the machine repository
+	 * @param siteRepo    the site repository
+	 * @param userRepo    the user repository
+	 */
+	public ImportController(MachineDao machineRepo, GenericDao<Site> siteRepo, UserDao userRepo)
+	{
+		this.machineRepo = machineRepo;
+		this.siteRepo = siteRepo;
+		this.userRepo = userRepo;
+	}
+
+	/**
+	 * Imports machines. Expected fields: code, location, productInfo,
+	 * machineStatus, productionStatus, futureMaintenance (yyyy-MM-dd), site (site
+	 * name) and technician (email).
+	 *
+	 * @param file      the CSV or JSON file to import
+	 * @param batchSize the number of rows committed per transaction
+	 * @param progress  receives the progress after every batch, may be null
+	 * @return the number of imported and failed rows and the row errors
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public ImportResult importMachines(Path file, int batchSize, Consumer<ImportProgress> progress)
+			throws IOException
+	{
+		Lookups lookups = new Lookups();
+		return runImport(file, batchSize, progress, machineRepo, "Machines geïmporteerd: ", record -> {
+			Site site = lookups.site(required(record, "site"));
+			User technician = lookups.user(required(record, "technician"));
+			return new Machine.Builder().buildSite(site).buildTechnician(technician)
+					.buildCode(value(record, "code")).buildLocation(value(record, "location"))
+					.buildProductInfo(value(record, "productInfo"))
+					.buildMachineStatus(enumValue(MachineStatus.class, record, "machineStatus"))
+					.buildProductionStatus(enumValue(ProductionStatus.class, record, "productionStatus"))
+					.buildFutureMaintenance(date(record, "futureMaintenance")).build();
+		});
+	}
+
+	/**
+	 * Imports sites. Expected fields: siteName, street, number, postalcode, city,
+	 * verantwoordelijke (email) and optionally status (defaults to ACTIEF).
+	 *
+	 * @param file      the CSV or JSON file to import
+	 * @param batchSize the number of rows committed per transaction
+	 * @param progress  receives the progress after every batch, may be null
+	 * @return the number of imported and failed rows and the row errors
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public ImportResult importSites(Path file, int batchSize, Consumer<ImportProgress> progress) throws IOException
+	{
+		Lookups lookups = new Lookups();
+		return runImport(file, batchSize, progress, siteRepo, "Sites geïmporteerd: ", record -> {
+			User verantwoordelijke = lookups.user(required(record, "verantwoordelijke"));
+			Status status = enumValue(Status.class, record, "status");
+			return new Site.Builder().buildSiteName(value(record, "siteName"))
+					.buildAddress(value(record, "street"), number(record, "number"), number(record, "postalcode"),
+							value(record, "city"))
+					.buildVerantwoordelijke(verantwoordelijke).buildStatus(status == null ? Status.ACTIEF : status)
+					.build();
+		});
+	}
+
+	/**
+	 * Imports users. Expected fields: firstName, lastName, email, phoneNumber,
+	 * birthdate (yyyy-MM-dd), street, number, postalcode, city, role and
+	 * password, and optionally status (defaults to ACTIEF). Rows without a
+	 * password are rejected, as are rows with an email that already exists, in
+	 * the database or earlier in the file.
+	 * <p>
+	 * Every imported password is hashed with the current {@link PasswordHasher}
+	 * profile, which takes a deliberate amount of CPU time and native memory per
+	 * row and shares its concurrency limit with logins. A user file of N rows
+	 * therefore takes about N times the cost of one login hash, and logins wait
+	 * for permits while it runs.
+	 *
+	 * @param file      the CSV or JSON file to import
+	 * @param batchSize the number of rows committed per transaction
+	 * @param progress  receives the progress after every batch, may be null
+	 * @return the number of imported and failed rows and the row errors
+	 * @throws IOException if the file cannot be read or is malformed
+	 */
+	public ImportResult importUsers(Path file, int batchSize, Consumer<ImportProgress> progress) throws IOException
+	{
+		Set<String> importedEmails = new HashSet<>();
+		return runImport(file, batchSize, progress, userRepo, "Gebruikers geïmporteerd: ", record -> {
+			String email = required(record, "email");
+			String password = required(record, "password");
+			if (importedEmails.contains(email) || userRepo.existsByEmail(email, null))
+			{
+				throw new IllegalArgumentException(String.format("User with email %s already exists", email));
+			}
+			Status status = enumValue(Status.class, record, "status");
+			User user = new User.Builder().buildFirstName(value(record, "firstName"))
+					.buildLastName(value(record, "lastName")).buildEmail(email)
+					.buildPhoneNumber(value(record, "phoneNumber")).buildBirthdate(date(record, "birthdate"))
+					.buildAddress(value(record, "street"), number(record, "number"), number(record, "postalcode"),
+							value(record, "city"))
+					.buildRole(enumValue(Role.class, record, "role"))
+					.buildStatus(status == null ? Status.ACTIEF : status).build();
+			user.setPassword(PasswordHasher.hash(password));
+			importedEmails.add(email);
+			return user;
+		});
+	}
+
+	@FunctionalInterface
+	private interface RowMapper<T>
+	{
+		T map(Map<String, String> record);
+	}
+
+	private <T> ImportResult runImport(Path file, int batchSize, Consumer<ImportProgress> progress,
+			GenericDao<T> repo, String message, RowMapper<T> mapper) throws IOException
+	{
+		if (batchSize < 1)
+		{
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		}
+		ImportFormat format = ImportFormat.fromFileName(file.getFileName().toString());
+		Batch<T> batch = new Batch<>(repo, batchSize, progress);
+
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+				RecordReader records = RecordReader.open(reader, format))
+		{
+			Map<String, String> record;
+			while ((record = records.readRecord()) != null)
+			{
+				long row = ++batch.rowsRead;
+				try
+				{
+					batch.add(row, mapper.map(record));
+				} catch (InformationRequired e)
+				{
+					batch.fail(row, e.getMessage() + ": " + e.getRequiredElements().keySet());
+				} catch (IllegalArgumentException | DateTimeParseException e)
+				{
+					batch.fail(row, e.getMessage());
+				}
+			}
+		}
+		batch.flush();
+		if (batch.imported > 0)
+		{
+			notifyObservers(message + batch.imported);
+		}
+		return new ImportResult(batch.imported, batch.failed, List.copyOf(batch.errors));
+	}
+
+	@Override
+	public void addObserver(Observer observer)
+	{
+		observers.add(observer);
+	}
+
+	@Override
+	public void removeObserver(Observer observer)
+	{
+		observers.remove(observer);
+	}
+
+	@Override
+	public void notifyObservers(String message)
+	{
+		observers.forEach(observer -> observer.update(message));
+	}
+
+	/**
+	 * Collects valid rows and writes them in one transaction once the batch is
+	 * full. If writing a batch fails, all of its rows are reported as failed.
+	 */
+	private static final class Batch<T>
+	{
+		private final GenericDao<T> repo;
+		private final int size;
+		private final Consumer<ImportProgress> progress;
+		private final List<T> entities;
+		private final List<Long> rows;
+		private final List<RowError> errors = new ArrayList<>();
+		private long rowsRead;
+		private long imported;
+		private long failed;
+
+		private Batch(GenericDao<T> repo, int size, Consumer<ImportProgress> progress)
+		{
+			this.repo = repo;
+			this.size = size;
+			this.progress = progress;
+			this.entities = new ArrayList<>(size);
+			this.rows = new ArrayList<>(size);
+		}
+
+		private void add(long row, T entity)
+		{
+			entities.add(entity);
+			rows.add(row);
+			if (entities.size() == size)
+			{
+				flush();
+			}
+		}
+
+		private void fail(long row, String message)
+		{
+			failed++;
+			if (errors.size() < MAX_REPORTED_ERRORS)
+			{
+				errors.add(new RowError(row, message));
+			}
+		}
+
+		private void flush()
+		{
+			if (!entities.isEmpty())
+			{
+				try
+				{
+					repo.insertAll(entities);
+					imported += entities.size();
+				} catch (RuntimeException e)
+				{
+					String message = "Batch rejected by the database: " + e.getMessage();
+					rows.forEach(row -> fail(row, message));
+				}
+				entities.clear();
+				rows.clear();
+			}
+			if (progress != null)
+			{
+				progress.accept(new ImportProgress(rowsRead, imported, failed));
+			}
+		}
+	}
+
+	/**
+	 * Remembers the sites and users looked up during one import, including the
+	 * names that did not match anything.
+	 */
+	private final class Lookups
+	{
+		private final Map<String, Optional<Site>> sites = new HashMap<>();
+		private final Map<String, Optional<User>> users = new HashMap<>();
+
+		private Site site(String siteName)
+		{
+			return sites.computeIfAbsent(siteName,
+					name -> siteRepo.findPage("id", null, 1, Map.of("siteName", name)).stream().findFirst())
+					.orElseThrow(() -> new IllegalArgumentException("Unknown site: " + siteName));
+		}
+
+		private User user(String email)
+		{
+			User user = findUser(email);
+			if (user == null)
+			{
+				throw new IllegalArgumentException("Unknown user: " + email);
+			}
+			return user;
+		}
+
+		private User findUser(String email)
+		{
+			return users.computeIfAbsent(email, e -> {
+				try
+				{
+					return Optional.ofNullable(userRepo.getByEmail(e));
+				} catch (UserNotFoundWithEmailException ex)
+				{
+					return Optional.empty();
+				}
+			}).orElse(null);
+		}
+	}
+
+	private static String value(Map<String, String> record, String field)
+	{
+		String value = record.get(field);
+		return value == null || value.isBlank() ? null : value.trim();
+	}
+
+	private static String required(Map<String, String> record, String field)
+	{
+		String value = value(record, field);
+		if (value == null)
+		{
+			throw new IllegalArgumentException("Missing value for " + field);
+		}
+		return value;
+	}
+
+	private static int number(Map<String, String> record, String field)
+	{
+		String value = required(record, field);
+		try
+		{
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException("Invalid number for " + field + ": " + value);
+		}
+	}
+
+	private static LocalDate date(Map<String, String> record, String field)
+	{
+		String value = value(record, field);
+		return value == null ? null : LocalDate.parse(value);
+	}
+
+	private static <E extends Enum<E>> E enumValue(Class<E> type, Map<String, String> record, String field)
+	{
+		String value = value(record, field);
+		if (value == null)
+		{
+			return null;
+		}
+		try
+		{
+			return Enum.valueOf(type, value.toUpperCase());
+		} catch (IllegalArgumentException e)
+		{
+			throw new IllegalArgumentException("Invalid value for " + field + ": " + value);
+		}
+	}
+}
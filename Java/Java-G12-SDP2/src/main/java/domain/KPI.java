@@ -3,6 +3,7 @@ package domain;
 import java.io.Serializable;
 import java.util.List;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
@@ -16,6 +17,8 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 import util.Grafiek;
 import util.Role;
 import util.RoleListConverter;
@@ -23,6 +26,8 @@ import util.RoleListConverter;
 @Entity
 @Getter
 @Setter
+@Cacheable
+@Cache(type = CacheType.SOFT_WEAK, size = 100, expiry = 30 * 60 * 1000)
 @Table(name = "kpis")
 public class KPI implements Serializable
 {
@@ -7,8 +7,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
@@ -17,7 +20,14 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "kpiwaarden", uniqueConstraints = { @UniqueConstraint(columnNames = { "kpi_id", "datum", "site_id" }) })
+@Table(name = "kpiwaarden", uniqueConstraints = {
+		@UniqueConstraint(columnNames = { "kpi_id", "datum", "site_id" }) }, indexes = {
+				@Index(name = "idx_kpiwaarden_latest", columnList = "kpi_id, site_id, datum") })
+@NamedQueries({ @NamedQuery(name = "KPIWaarde.findByKpi", query = """
+		SELECT w FROM KPIWaarde w
+		WHERE w.kpi.id = :kpiId
+		ORDER BY w.datum DESC
+		""") })
 public class KPIWaarde
 {
 
@@ -1,30 +1,49 @@
 package domain;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import repository.GenericDao;
-import repository.GenericDaoJpa;
+import repository.KPIWaardeDao;
+import repository.KPIWaardeDaoJpa;
 
 public class KPIWaardeController
 {
 
-	private final GenericDao<KPIWaarde> kpiWaardeDAO;
+	private final KPIWaardeDao kpiWaardeDAO;
 
 	public KPIWaardeController()
 	{
-		this.kpiWaardeDAO = new GenericDaoJpa<>(KPIWaarde.class);
+		this(new KPIWaardeDaoJpa());
 	}
 
-	protected GenericDao<KPIWaarde> getKPIWaardeController()
+	public KPIWaardeController(KPIWaardeDao kpiWaardeDAO)
+	{
+		this.kpiWaardeDAO = kpiWaardeDAO;
+	}
+
+	protected KPIWaardeDao getKPIWaardeController()
 	{
 		return kpiWaardeDAO;
 	}
 
 	public List<KPIWaarde> getWaardenByKPI(int id)
 	{
-		return kpiWaardeDAO.findAll().stream().filter((kpiWaarde) -> kpiWaarde.getKpi().getId() == id)
-				.collect(Collectors.toList());
+		return kpiWaardeDAO.findByKpi(id);
+	}
+
+	/**
+	 * Returns the latest value per site for each of the given KPIs, fetched in one
+	 * query.
+	 *
+	 * @param kpiIds the IDs of the KPIs
+	 * @return the latest values grouped by KPI ID; KPIs without values are absent
+	 */
+	public Map<Integer, List<KPIWaarde>> getLatestWaardenByKPIs(List<Integer> kpiIds)
+	{
+		return kpiWaardeDAO.findLatestByKpis(kpiIds).stream().collect(
+				Collectors.groupingBy(waarde -> waarde.getKpi().getId(), LinkedHashMap::new, Collectors.toList()));
 	}
 
 }
@@ -17,6 +17,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -43,7 +44,8 @@ import util.RequiredElementMachine;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "machines")
+@Table(name = "machines", indexes = {
+		@Index(name = "idx_machines_status", columnList = "MACHINESTATUS, PRODUCTIONSTATUS") })
 public class Machine implements Serializable, Subject
 {
 
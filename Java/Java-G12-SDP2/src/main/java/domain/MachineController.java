@@ -2,21 +2,29 @@ package domain;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import dto.MachineDTO;
+import dto.MachineRow;
 import dto.SiteDTOWithoutMachines;
 import dto.UserDTO;
 import exceptions.InformationRequiredExceptionMachine;
 import interfaces.Observer;
 import interfaces.Subject;
-import repository.GenericDaoJpa;
+import lombok.Getter;
+import repository.MachineDao;
+import repository.MachineDaoJpa;
+import repository.MachineFilter;
+import repository.SiteDaoJpa;
 import util.DTOMapper;
+import util.DTOMapper.MappingContext;
 import util.I18n;
 import util.MachineStatus;
 import util.ProductionStatus;
+import util.SnapshotCache;
 
 /**
  * Controller class for managing machine operations. Implements the Subject
@@ -25,17 +33,27 @@ import util.ProductionStatus;
  */
 public class MachineController implements Subject
 {
-	private GenericDaoJpa<Machine> machineRepo;
+	private MachineDao machineRepo;
+	private FacetService facetService;
 	private List<Observer> observers = new ArrayList<>();
 
+	/**
+	 * Snapshot of all machines, dropped whenever a machine is added or updated.
+	 */
+	@Getter
+	private final SnapshotCache<MachineDTO> machineCache = new SnapshotCache<>(this::loadMachineList);
+
 	/**
 	 * Constructs a new MachineController and initializes dependencies.
 	 * Automatically adds a NotificationObserver to observe changes.
 	 */
 	public MachineController()
 	{
-		machineRepo = new GenericDaoJpa<Machine>(Machine.class);
+		machineRepo = new MachineDaoJpa();
+		facetService = new FacetService(new SiteDaoJpa(), machineRepo);
 		addObserver(new NotificationObserver());
+		addObserver(machineCache);
+		addObserver(facetService);
 	}
 
 	/**
@@ -44,13 +62,43 @@ public class MachineController implements Subject
 	 * @return an unmodifiable list of MachineDTO objects
 	 */
 	public List<MachineDTO> getMachineList()
+	{
+		return machineCache.get();
+	}
+
+	private List<MachineDTO> loadMachineList()
 	{
 		List<Machine> machines = machineRepo.findAll();
 		if (machines == null)
 		{
 			return List.of();
 		}
-		return machines.stream().map(machine -> DTOMapper.toMachineDTO(machine)).toList();
+		MappingContext context = new MappingContext();
+		return machines.stream().map(context::toMachineDTO).toList();
+	}
+
+	/**
+	 * Retrieves one page of the machine overview, ordered by ID, starting after
+	 * the given ID. The rows are projected by a single query.
+	 * 
+	 * @param afterId the ID of the last machine of the previous page, or null for
+	 *                the first page
+	 * @param limit   the maximum number of machines to return
+	 * @return list of MachineRow objects on the requested page
+	 */
+	public List<MachineRow> getMachinePage(Integer afterId, int limit)
+	{
+		return machineRepo.findRowPage(afterId, limit);
+	}
+
+	/**
+	 * Retrieves the total number of machines.
+	 * 
+	 * @return the number of machines
+	 */
+	public long getMachineCount()
+	{
+		return machineRepo.count();
 	}
 
 	/**
@@ -189,9 +237,7 @@ public class MachineController implements Subject
 	 */
 	public Collection<? extends String> getAllProductionStatusses()
 	{
-		List<MachineDTO> allMachines = getMachineList();
-		return allMachines.stream().map(m -> m.productionStatus().toString()).distinct().sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(null).productionStatuses();
 	}
 
 	/**
@@ -201,9 +247,7 @@ public class MachineController implements Subject
 	 */
 	public Collection<? extends String> getAllMachineStatusses()
 	{
-		List<MachineDTO> allMachines = getMachineList();
-		return allMachines.stream().map(m -> m.machineStatus().toString()).distinct().sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(null).machineStatuses();
 	}
 
 	/**
@@ -212,21 +256,41 @@ public class MachineController implements Subject
 	 * @param searchFilter     general search term to filter by
 	 * @param selectedProdStat productionstatus to filter by
 	 * @param selectedMachStat machinestatus to filter by
-	 * @return List of filtered MachineDTOs
+	 * @return List of MachineRows of the matching machines
 	 */
-	public List<MachineDTO> getFilteredMachines(String searchFilter, String selectedProdStat, String selectedMachStat)
-	{
-		String lowerCaseSearchFilter = searchFilter == null ? "" : searchFilter.toLowerCase();
-
-		return getMachineList().stream()
-				.filter(machine -> selectedProdStat == null
-						|| I18n.convertStatus(machine.productionStatus().toString()).equals(I18n.convertStatus(selectedProdStat)))
-				.filter(machine -> selectedMachStat == null
-						|| I18n.convertStatus(machine.machineStatus().toString()).equals(I18n.convertStatus(selectedMachStat)))
-				.filter(machine -> machine.code().toLowerCase().contains(lowerCaseSearchFilter)
-						|| machine.location().toLowerCase().contains(lowerCaseSearchFilter)
-						|| machine.site().siteName().toLowerCase().contains(lowerCaseSearchFilter)
-						|| machine.productInfo().toLowerCase().contains(lowerCaseSearchFilter))
-				.collect(Collectors.toList());
+	public List<MachineRow> getFilteredMachines(String searchFilter, String selectedProdStat, String selectedMachStat)
+	{
+		Optional<ProductionStatus> productionStatus = findStatus(ProductionStatus.values(), selectedProdStat);
+		Optional<MachineStatus> machineStatus = findStatus(MachineStatus.values(), selectedMachStat);
+		if ((selectedProdStat != null && productionStatus.isEmpty())
+				|| (selectedMachStat != null && machineStatus.isEmpty()))
+		{
+			return List.of();
+		}
+
+		MachineFilter filter = new MachineFilter(searchFilter, machineStatus.orElse(null),
+				productionStatus.orElse(null));
+		return machineRepo.findFilteredRows(filter);
+	}
+
+	/**
+	 * Finds the status value whose (translated) name matches the selected filter
+	 * value.
+	 * 
+	 * @param <E>      the status enum type
+	 * @param values   all values of the status enum
+	 * @param selected the selected filter value, possibly translated
+	 * @return the matching status, or empty if nothing is selected or nothing
+	 *         matches
+	 */
+	private static <E extends Enum<E>> Optional<E> findStatus(E[] values, String selected)
+	{
+		if (selected == null)
+		{
+			return Optional.empty();
+		}
+		String convertedSelection = I18n.convertStatus(selected);
+		return Arrays.stream(values).filter(v -> I18n.convertStatus(v.toString()).equals(convertedSelection))
+				.findFirst();
 	}
 }
\ No newline at end of file
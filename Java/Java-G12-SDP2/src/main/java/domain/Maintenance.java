@@ -17,6 +17,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -33,7 +34,8 @@ import util.RequiredElementMaintenance;
  * execution date, technician, reason, and status.
  */
 @Entity
-@Table(name = "maintenances")
+@Table(name = "maintenances", indexes = {
+		@Index(name = "idx_maintenances_execution_date", columnList = "EXECUTIONDATE") })
 @NoArgsConstructor
 @Getter
 @Setter
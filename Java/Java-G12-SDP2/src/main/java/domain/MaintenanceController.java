@@ -3,17 +3,19 @@ package domain;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
-import dto.MachineDTO;
 import dto.MaintenanceDTO;
+import dto.MaintenanceRow;
 import dto.SiteDTOWithoutMachines;
-import dto.UserDTO;
 import exceptions.InformationRequiredExceptionMaintenance;
 import gui.AppServices;
 import lombok.Getter;
 import lombok.Setter;
 import repository.GenericDaoJpa;
+import repository.MaintenanceDao;
+import repository.MaintenanceDaoJpa;
 import repository.UserDao;
 import repository.UserDaoJpa;
 import util.DTOMapper;
@@ -25,7 +27,7 @@ import util.MaintenanceStatus;
  */
 public class MaintenanceController
 {
-	private GenericDaoJpa<Maintenance> maintenanceRepo;
+	private MaintenanceDao maintenanceRepo;
 	private GenericDaoJpa<Machine> machineRepo;
 	private UserDao userRepo;
 
@@ -34,7 +36,7 @@ public class MaintenanceController
 	 */
 	public MaintenanceController()
 	{
-		maintenanceRepo = new GenericDaoJpa<Maintenance>(Maintenance.class);
+		maintenanceRepo = new MaintenanceDaoJpa();
 		machineRepo = new GenericDaoJpa<Machine>(Machine.class);
 		userRepo = new UserDaoJpa();
 	}
@@ -45,11 +47,25 @@ public class MaintenanceController
 	 * 
 	 * @param maintenanceRepo the repository implementation to use
 	 */
-	public MaintenanceController(GenericDaoJpa<Maintenance> maintenanceRepo)
+	public MaintenanceController(MaintenanceDao maintenanceRepo)
+	{
+		this(maintenanceRepo, new GenericDaoJpa<Machine>(Machine.class), new UserDaoJpa());
+	}
+
+	/**
+	 * Constructs a new MaintenanceController with custom repositories (mainly for
+	 * testing).
+	 * 
+	 * @param maintenanceRepo the maintenance repository
+	 * @param machineRepo     the machine repository
+	 * @param userRepo        the user repository
+	 */
+	public MaintenanceController(MaintenanceDao maintenanceRepo, GenericDaoJpa<Machine> machineRepo,
+			UserDao userRepo)
 	{
 		this.maintenanceRepo = maintenanceRepo;
-		machineRepo = new GenericDaoJpa<Machine>(Machine.class);
-		userRepo = new UserDaoJpa();
+		this.machineRepo = machineRepo;
+		this.userRepo = userRepo;
 	}
 
 	/**
@@ -57,7 +73,7 @@ public class MaintenanceController
 	 * 
 	 * @return the maintenance repository
 	 */
-	public GenericDaoJpa<Maintenance> getMaintenanceDao()
+	public MaintenanceDao getMaintenanceDao()
 	{
 		return maintenanceRepo;
 	}
@@ -73,6 +89,51 @@ public class MaintenanceController
 		return makeMaintenanceDTOs(maintenances);
 	}
 
+	/**
+	 * Retrieves one page of the maintenance overview, ordered by ID, starting
+	 * after the given ID. The rows are projected by a single query.
+	 * 
+	 * @param machineId the ID of the machine to restrict the page to, or null for
+	 *                  all machines
+	 * @param afterId   the ID of the last record of the previous page, or null for
+	 *                  the first page
+	 * @param limit     the maximum number of records to return
+	 * @return list of MaintenanceRow objects on the requested page
+	 */
+	public List<MaintenanceRow> getMaintenancePage(Integer machineId, Integer afterId, int limit)
+	{
+		return maintenanceRepo.findRowPage(machineId, afterId, limit);
+	}
+
+	/**
+	 * Retrieves the overview rows of all maintenance records, ordered by ID.
+	 * 
+	 * @param machineId the ID of the machine to restrict the rows to, or null for
+	 *                  all machines
+	 * @return list of MaintenanceRow objects
+	 */
+	public List<MaintenanceRow> getMaintenanceRows(Integer machineId)
+	{
+		return maintenanceRepo.findRows(machineId);
+	}
+
+	/**
+	 * Retrieves the number of maintenance records.
+	 * 
+	 * @param machineId the ID of the machine to count the records of, or null for
+	 *                  all machines
+	 * @return the number of maintenance records
+	 */
+	public long getMaintenanceCount(Integer machineId)
+	{
+		return maintenanceRepo.count(machineFilter(machineId));
+	}
+
+	private static Map<String, Integer> machineFilter(Integer machineId)
+	{
+		return machineId == null ? Map.of() : Map.of("machine.id", machineId);
+	}
+
 	/**
 	 * Converts a list of Maintenance objects to MaintenanceDTOs.
 	 * 
@@ -159,31 +220,8 @@ public class MaintenanceController
 			int technicianId, String reason, String comments, MaintenanceStatus status, int machineId)
 			throws InformationRequiredExceptionMaintenance
 	{
-		
-		User technician = userRepo.get(technicianId);
-		Machine machine = machineRepo.get(machineId);
-		
-		Maintenance maintenance = new Maintenance.Builder()
-				.buildExecutionDate(executionDate)
-				.buildStartDate(startDate)
-				.buildEndDate(endDate)
-				.buildTechnician(technician)
-				.buildReason(reason)
-				.buildComments(comments)
-				.buildMaintenanceStatus(status)
-				.buildMachine(machine)
-				.build();
-
-		createMaintenance(maintenance);
-
-		if (status == MaintenanceStatus.VOLTOOID
-				&& (machine.getLastMaintenance() == null || executionDate.isAfter(machine.getLastMaintenance())))
-		{
-			machine.setLastMaintenance(executionDate);
-			updateMachine(machine);
-		}
-		
-		return makeMaintenanceDTO(maintenance);
+		return saveMaintenance(null, executionDate, startDate, endDate, technicianId, reason, comments, status,
+				machineId);
 	}
 
 	/**
@@ -220,74 +258,81 @@ public class MaintenanceController
 			LocalDateTime endDate, int technicianId, String reason, String comments, MaintenanceStatus status,
 			int machineId) throws InformationRequiredExceptionMaintenance
 	{
+		return saveMaintenance(maintenanceId, executionDate, startDate, endDate, technicianId, reason, comments,
+				status, machineId);
+	}
 
-		Maintenance existingMaintenance = getMaintenance(maintenanceId);
-		if (existingMaintenance == null)
+	/**
+	 * Inserts or updates a maintenance in one transaction. The technician and the
+	 * machine are set as references, so only the maintenance row is written, plus
+	 * the last maintenance date of the machine when a completed maintenance is
+	 * newer than it.
+	 */
+	private MaintenanceDTO saveMaintenance(Integer maintenanceId, LocalDate executionDate, LocalDateTime startDate,
+			LocalDateTime endDate, int technicianId, String reason, String comments, MaintenanceStatus status,
+			int machineId) throws InformationRequiredExceptionMaintenance
+	{
+		Maintenance maintenance;
+		boolean machineUpdated = false;
+		maintenanceRepo.startTransaction();
+		try
 		{
-			throw new IllegalArgumentException("Maintenance with ID " + maintenanceId + " not found");
-		}
-
-		User technician = getUserById(technicianId);
-		Machine machine = getMachineById(machineId);
+			if (maintenanceId != null && !maintenanceRepo.exists(maintenanceId))
+			{
+				throw new IllegalArgumentException("Maintenance with ID " + maintenanceId + " not found");
+			}
 
-		Maintenance maintenance = new Maintenance.Builder()
-				.buildExecutionDate(executionDate)
-				.buildStartDate(startDate)
-				.buildEndDate(endDate)
-				.buildTechnician(technician)
-				.buildReason(reason)
-				.buildComments(comments)
-				.buildMaintenanceStatus(status)
-				.buildMachine(machine)
-				.build();
+			Machine machine = machineRepo.getReference(machineId);
+			maintenance = new Maintenance.Builder()
+					.buildExecutionDate(executionDate)
+					.buildStartDate(startDate)
+					.buildEndDate(endDate)
+					.buildTechnician(userRepo.getReference(technicianId))
+					.buildReason(reason)
+					.buildComments(comments)
+					.buildMaintenanceStatus(status)
+					.buildMachine(machine)
+					.build();
 
-		maintenance.setId(existingMaintenance.getId());
-		updateMaintenance(maintenance);
+			if (maintenanceId == null)
+			{
+				maintenanceRepo.insert(maintenance);
+			} else
+			{
+				maintenance.setId(maintenanceId);
+				maintenanceRepo.update(maintenance);
+			}
 
-		if (status == MaintenanceStatus.VOLTOOID
-				&& (machine.getLastMaintenance() == null || executionDate.isAfter(machine.getLastMaintenance())))
+			if (status == MaintenanceStatus.VOLTOOID
+					&& (machine.getLastMaintenance() == null || executionDate.isAfter(machine.getLastMaintenance())))
+			{
+				machine.setLastMaintenance(executionDate);
+				machineUpdated = true;
+			}
+			maintenanceRepo.commitTransaction();
+		} catch (RuntimeException e)
 		{
-			machine.setLastMaintenance(executionDate);
-			updateMachine(machine);
+			maintenanceRepo.rollbackTransaction();
+			throw e;
 		}
 
+		if (machineUpdated)
+		{
+			machineUpdated(maintenance.getMachine());
+		}
 		return makeMaintenanceDTO(maintenance);
 	}
 
 	/**
-	 * Helper method to get a User by ID.
-	 * 
-	 * @param userId the ID of the user
-	 * @return the User object
-	 */
-	private User getUserById(int userId)
-	{
-		UserController uc = AppServices.getInstance().getUserController();
-		UserDTO userDTO = uc.getUserById(userId);
-		return DTOMapper.toUser(userDTO);
-	}
-
-	/**
-	 * Helper method to get a Machine by ID.
+	 * Lets the machine controller announce a change to a machine that was saved
+	 * here.
 	 * 
-	 * @param machineId the ID of the machine
-	 * @return the Machine object
+	 * @param machine the updated Machine object
 	 */
-	private Machine getMachineById(int machineId)
+	private void machineUpdated(Machine machine)
 	{
 		MachineController mc = AppServices.getInstance().getMachineController();
-		MachineDTO machine = mc.getMachineById(machineId);
-		return DTOMapper.toMachine(machine);
+		mc.notifyObservers("Machine bijgewerkt: " + machine.getCode());
 	}
 
-	/**
-	 * Helper method to update a Machine.
-	 * 
-	 * @param machine the Machine object to update
-	 */
-	private void updateMachine(Machine machine)
-	{
-		MachineController mc = AppServices.getInstance().getMachineController();
-		mc.updateMachine(machine);
-	}
 }
\ No newline at end of file
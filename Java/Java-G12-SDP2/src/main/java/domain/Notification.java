@@ -6,8 +6,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,12 +23,38 @@ import lombok.Setter;
 @Getter
 @Setter
 @AllArgsConstructor
+@Table(indexes = { @Index(name = "idx_notification_read_id", columnList = "ISREAD, ID"),
+		@Index(name = "idx_notification_read_time", columnList = "ISREAD, TIME") })
 @NamedQueries({ @NamedQuery(name = "Notification.getAllRead", query = """
 		SELECT n FROM Notification n
 		WHERE n.isRead = 1
 		"""), @NamedQuery(name = "Notification.getAllUnread", query = """
 		SELECT n FROM Notification n
 		WHERE n.isRead = 0
+		"""), @NamedQuery(name = "Notification.findUnreadAfter", query = """
+		SELECT n FROM Notification n
+		WHERE n.isRead = 0 AND n.id > :afterId
+		ORDER BY n.id
+		"""), @NamedQuery(name = "Notification.countUnread", query = """
+		SELECT COUNT(n) FROM Notification n
+		WHERE n.isRead = 0
+		"""), @NamedQuery(name = "Notification.findReadBefore", query = """
+		SELECT n FROM Notification n
+		WHERE n.isRead = 1 AND n.id < :beforeId
+		ORDER BY n.id DESC
+		"""), @NamedQuery(name = "Notification.markRangeAsRead", query = """
+		UPDATE Notification n SET n.isRead = 1
+		WHERE n.isRead = 0 AND n.id BETWEEN :fromId AND :toId
+		"""), @NamedQuery(name = "Notification.markAllAsRead", query = """
+		UPDATE Notification n SET n.isRead = 1
+		WHERE n.isRead = 0
+		"""), @NamedQuery(name = "Notification.findReadOlderThan", query = """
+		SELECT n FROM Notification n
+		WHERE n.isRead = 1 AND n.time < :cutoff
+		ORDER BY n.id
+		"""), @NamedQuery(name = "Notification.deleteByIds", query = """
+		DELETE FROM Notification n
+		WHERE n.id IN :ids
 		""") })
 public class Notification implements Serializable
 {
@@ -1,6 +1,10 @@
 package domain;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import dto.NotificationDTO;
 import repository.NotificationDao;
@@ -13,16 +17,52 @@ import repository.NotificationDaoJpa;
  */
 public class NotificationController
 {
+	/**
+	 * Maximum number of new notifications fetched by one feed update.
+	 */
+	public static final int FEED_LIMIT = 200;
+
+	/**
+	 * How long the unread count is reused before it is queried again. Marking a
+	 * notification as read drops it immediately.
+	 */
+	private static final long UNREAD_COUNT_TTL_MILLIS = 5_000;
+
+	/**
+	 * Number of notifications removed per transaction by
+	 * {@link #purgeReadNotifications(Duration, boolean)}.
+	 */
+	public static final int PURGE_BATCH_SIZE = 1_000;
+
 	private NotificationDao notificationRepo;
 	private List<Notification> notificationList;
 
+	/**
+	 * The unread notifications seen so far, by ID, and the highest ID seen.
+	 */
+	private final Map<Integer, NotificationDTO> unreadFeed = new LinkedHashMap<>();
+	private int lastSeenId;
+
+	private long unreadCount = -1;
+	private long unreadCountLoadedAt;
+
 	/**
 	 * Constructs a new NotificationController and initializes the notification
 	 * repository. Uses NotificationDaoJpa as the concrete implementation.
 	 */
 	public NotificationController()
 	{
-		notificationRepo = new NotificationDaoJpa();
+		this(new NotificationDaoJpa());
+	}
+
+	/**
+	 * Constructs a new NotificationController with the given repository.
+	 *
+	 * @param notificationRepo the notification repository
+	 */
+	public NotificationController(NotificationDao notificationRepo)
+	{
+		this.notificationRepo = notificationRepo;
 	}
 
 	/**
@@ -57,6 +97,70 @@ public class NotificationController
 		return new NotificationDTO(n.getId(), n.getTime(), n.getMessage(), n.isRead());
 	}
 
+	/**
+	 * Retrieves the unread notifications created after the given one, oldest
+	 * first, at most {@value #FEED_LIMIT} at a time.
+	 *
+	 * @param afterId the ID of the last notification already seen, 0 for all
+	 * @return the new unread notifications
+	 */
+	public List<NotificationDTO> getUnreadSince(int afterId)
+	{
+		return notificationRepo.findUnreadAfter(afterId, FEED_LIMIT).stream().map(this::toDTO).toList();
+	}
+
+	/**
+	 * Retrieves all unread notifications, newest first. Only notifications newer
+	 * than the last call are read from the database; the rest are remembered, and
+	 * notifications marked as read through this controller are removed.
+	 *
+	 * @return the unread notifications
+	 */
+	public synchronized List<NotificationDTO> getUnreadFeed()
+	{
+		List<NotificationDTO> news;
+		do
+		{
+			news = getUnreadSince(lastSeenId);
+			for (NotificationDTO dto : news)
+			{
+				unreadFeed.put(dto.id(), dto);
+				lastSeenId = Math.max(lastSeenId, dto.id());
+			}
+		} while (news.size() == FEED_LIMIT);
+		return unreadFeed.values().stream().sorted((a, b) -> Integer.compare(b.id(), a.id())).toList();
+	}
+
+	/**
+	 * Retrieves the number of unread notifications. The count is cached for a few
+	 * seconds, so it can be polled cheaply.
+	 *
+	 * @return the number of unread notifications
+	 */
+	public synchronized long getUnreadCount()
+	{
+		long now = System.currentTimeMillis();
+		if (unreadCount < 0 || now - unreadCountLoadedAt >= UNREAD_COUNT_TTL_MILLIS)
+		{
+			unreadCount = notificationRepo.countUnread();
+			unreadCountLoadedAt = now;
+		}
+		return unreadCount;
+	}
+
+	/**
+	 * Retrieves one page of read notifications, newest first.
+	 *
+	 * @param beforeId the ID of the last notification of the previous page, or
+	 *                 null for the first page
+	 * @param limit    the maximum number of notifications to return
+	 * @return the read notifications on the page
+	 */
+	public List<NotificationDTO> getReadPage(Integer beforeId, int limit)
+	{
+		return notificationRepo.findReadBefore(beforeId, limit).stream().map(this::toDTO).toList();
+	}
+
 	/**
 	 * Marks a specific notification as read in the repository.
 	 *
@@ -65,5 +169,66 @@ public class NotificationController
 	public void markAsRead(int id)
 	{
 		notificationRepo.markAsRead(id);
+		synchronized (this)
+		{
+			unreadFeed.remove(id);
+			unreadCount = -1;
+		}
+	}
+
+	/**
+	 * Marks every unread notification with an ID in the given range as read with
+	 * a single update.
+	 *
+	 * @param fromId the first ID of the range
+	 * @param toId   the last ID of the range
+	 * @return the number of notifications marked as read
+	 */
+	public int markRangeAsRead(int fromId, int toId)
+	{
+		int marked = notificationRepo.markRangeAsRead(fromId, toId);
+		synchronized (this)
+		{
+			unreadFeed.keySet().removeIf(id -> id >= fromId && id <= toId);
+			unreadCount = -1;
+		}
+		return marked;
+	}
+
+	/**
+	 * Marks every unread notification as read with a single update.
+	 *
+	 * @return the number of notifications marked as read
+	 */
+	public int markAllAsRead()
+	{
+		int marked = notificationRepo.markAllAsRead();
+		synchronized (this)
+		{
+			unreadFeed.clear();
+			unreadCount = -1;
+		}
+		return marked;
+	}
+
+	/**
+	 * Removes read notifications older than the given age, optionally moving them
+	 * to the archive table first. Rows are removed in batches of
+	 * {@value #PURGE_BATCH_SIZE}, each in its own transaction, so the table is not
+	 * locked for long.
+	 *
+	 * @param maxAge  how long read notifications are kept
+	 * @param archive whether to archive the notifications instead of only
+	 *                deleting them
+	 * @return the number of removed notifications
+	 * @throws IllegalArgumentException if the age is negative
+	 */
+	public int purgeReadNotifications(Duration maxAge, boolean archive)
+	{
+		if (maxAge.isNegative())
+		{
+			throw new IllegalArgumentException("The maximum age cannot be negative");
+		}
+		return notificationRepo.purgeReadBefore(LocalDateTime.now().minus(maxAge), PURGE_BATCH_SIZE, archive);
 	}
-}
\ No newline at end of file
+}
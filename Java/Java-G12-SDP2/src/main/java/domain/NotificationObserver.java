@@ -3,44 +3,47 @@ package domain;
 import java.time.LocalDateTime;
 
 import interfaces.Observer;
-import repository.NotificationDao;
-import repository.NotificationDaoJpa;
 
 /**
  * An observer implementation that handles notification creation when updates
- * occur. This class observes changes in subjects and persists notifications to
- * the database whenever an update is received.
+ * occur. This class observes changes in subjects and queues a notification for
+ * the {@link NotificationWriter} whenever an update is received.
  */
 public class NotificationObserver implements Observer
 {
-	private NotificationDao notificationRepo;
+	private final NotificationWriter writer;
 
 	/**
-	 * Constructs a new NotificationObserver and initializes the notification
-	 * repository. Uses NotificationDaoJpa as the concrete implementation for
-	 * database operations.
+	 * Constructs a new NotificationObserver that uses the shared
+	 * NotificationWriter.
 	 */
 	public NotificationObserver()
 	{
-		this.notificationRepo = new NotificationDaoJpa();
+		this(NotificationWriter.getInstance());
 	}
 
 	/**
-	 * Handles update notifications from observed subjects. Creates and persists a
-	 * new notification with the received message.
+	 * Constructs a new NotificationObserver with the given writer.
+	 *
+	 * @param writer the writer the notifications are queued on
+	 */
+	public NotificationObserver(NotificationWriter writer)
+	{
+		this.writer = writer;
+	}
+
+	/**
+	 * Handles update notifications from observed subjects. Creates a new
+	 * notification with the received message and queues it.
 	 * 
 	 * @param message the update message received from the observed subject
-	 * @implNote This method wraps the database operations in a transaction: 1.
-	 *           Starts a new transaction 2. Inserts the new notification 3. Commits
-	 *           the transaction
+	 * @implNote The notification is written to the database asynchronously, in a
+	 *           batch with other notifications, so it neither delays nor fails
+	 *           the change that triggered it.
 	 */
 	@Override
 	public void update(String message)
 	{
-		Notification notification = new Notification(false, message, LocalDateTime.now());
-
-		notificationRepo.startTransaction();
-		notificationRepo.insert(notification);
-		notificationRepo.commitTransaction();
+		writer.submit(new Notification(false, message, LocalDateTime.now()));
 	}
 }
\ No newline at end of file
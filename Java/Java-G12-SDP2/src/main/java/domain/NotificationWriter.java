@@ -0,0 +1,221 @@
+package domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import repository.NotificationDao;
+import repository.NotificationDaoJpa;
+
+/**
+ * Writes notifications to the database on a background thread. Notifications
+ * are queued in memory and inserted in batches of at most {@code batchSize},
+ * at the latest {@code flushIntervalMillis} after the first notification of a
+ * batch was queued. Queuing never blocks: if the queue is full the
+ * notification is dropped and counted, so a slow or failing notification table
+ * can never hold up or break the write that triggered it.
+ */
+public class NotificationWriter implements AutoCloseable
+{
+	public static final int DEFAULT_CAPACITY = 10_000;
+	public static final int DEFAULT_BATCH_SIZE = 100;
+	public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 500;
+
+	/**
+	 * How long {@link #close()} waits for the queued notifications to be written.
+	 */
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+	/**
+	 * Queued by {@link #close()} behind the last notification, so the writer
+	 * stops once everything before it has been written.
+	 */
+	private static final Notification SHUTDOWN = new Notification();
+
+	private final NotificationDao notificationRepo;
+	private final BlockingQueue<Notification> queue;
+	private final int batchSize;
+	private final long flushIntervalMillis;
+	private final Thread worker;
+	private volatile boolean running = true;
+
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	private static class SingletonHolder
+	{
+		private static final NotificationWriter instance = new NotificationWriter(new NotificationDaoJpa(),
+				DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL_MILLIS);
+	}
+
+	/**
+	 * Returns the writer shared by all NotificationObservers of the application.
+	 *
+	 * @return the shared writer
+	 */
+	public static NotificationWriter getInstance()
+	{
+		return SingletonHolder.instance;
+	}
+
+	/**
+	 * Constructs a new NotificationWriter and starts its background thread.
+	 *
+	 * @param notificationRepo    the repository the notifications are inserted
+	 *                            with
+	 * @param capacity            the maximum number of queued notifications
+	 * @param batchSize           the maximum number of notifications per insert
+	 * @param flushIntervalMillis the maximum time a notification waits for its
+	 *                            batch to fill up
+	 */
+	public NotificationWriter(NotificationDao notificationRepo, int capacity, int batchSize,
+			long flushIntervalMillis)
+	{
+		this.notificationRepo = notificationRepo;
+		this.queue = new LinkedBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.worker = new Thread(this::run, "notification-writer");
+		this.worker.setDaemon(true);
+		this.worker.start();
+	}
+
+	/**
+	 * Queues a notification for writing.
+	 *
+	 * @param notification the notification to write
+	 * @return true if the notification was queued, false if it was dropped
+	 *         because the queue is full or the writer has been closed
+	 */
+	public boolean submit(Notification notification)
+	{
+		if (running && queue.offer(notification))
+		{
+			return true;
+		}
+		dropped.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * @return the number of notifications waiting to be written
+	 */
+	public int getQueueDepth()
+	{
+		return queue.size();
+	}
+
+	/**
+	 * @return the number of notifications written so far
+	 */
+	public long getWrittenCount()
+	{
+		return written.get();
+	}
+
+	/**
+	 * @return the number of notifications dropped because the queue was full
+	 */
+	public long getDroppedCount()
+	{
+		return dropped.get();
+	}
+
+	/**
+	 * @return the number of notifications lost because their batch could not be
+	 *         written
+	 */
+	public long getFailedCount()
+	{
+		return failed.get();
+	}
+
+	private void run()
+	{
+		List<Notification> batch = new ArrayList<>(batchSize);
+		boolean stopping = false;
+		while (!stopping)
+		{
+			try
+			{
+				batch.add(queue.take());
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+				while (batch.size() < batchSize && batch.get(batch.size() - 1) != SHUTDOWN)
+				{
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() == batchSize || remaining <= 0)
+					{
+						break;
+					}
+					Notification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null)
+					{
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e)
+			{
+				stopping = true;
+			}
+			stopping |= batch.remove(SHUTDOWN);
+			write(batch);
+		}
+		// Flush on shutdown: write whatever was queued before the marker
+		while (!queue.isEmpty())
+		{
+			queue.drainTo(batch, batchSize);
+			batch.remove(SHUTDOWN);
+			write(batch);
+		}
+	}
+
+	private void write(List<Notification> batch)
+	{
+		if (batch.isEmpty())
+		{
+			return;
+		}
+		try
+		{
+			notificationRepo.insertAll(batch);
+			written.addAndGet(batch.size());
+		} catch (RuntimeException e)
+		{
+			failed.addAndGet(batch.size());
+			System.err.println("Could not write " + batch.size() + " notification(s): " + e.getMessage());
+		}
+		batch.clear();
+	}
+
+	/**
+	 * Stops accepting notifications, writes everything that is still queued and
+	 * stops the background thread. Waits at most ten seconds for the queue to
+	 * drain.
+	 */
+	@Override
+	public void close()
+	{
+		if (!running)
+		{
+			return;
+		}
+		running = false;
+		try
+		{
+			if (!queue.offer(SHUTDOWN, SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS))
+			{
+				worker.interrupt();
+			}
+			worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -3,6 +3,7 @@ package domain;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 import dto.MaintenanceDTO;
 import dto.ReportDTO;
@@ -137,9 +138,7 @@ public class ReportController
 	public List<Report> getReportsByTechnician(User technician)
 	{
 		validateTechnician(technician);
-		var query = GenericDaoJpa.em.createNamedQuery("Report.findByTechnieker", Report.class);
-		query.setParameter("technieker", technician);
-		return query.getResultList();
+		return reportDao.findByNamedQuery("Report.findByTechnieker", Map.of("technieker", technician));
 	}
 
 	/**
@@ -152,9 +151,7 @@ public class ReportController
 	public List<Report> getReportsBySite(Site site)
 	{
 		validateSite(site);
-		var query = GenericDaoJpa.em.createNamedQuery("Report.findBySite", Report.class);
-		query.setParameter("site", site);
-		return query.getResultList();
+		return reportDao.findByNamedQuery("Report.findBySite", Map.of("site", site));
 	}
 
 	/**
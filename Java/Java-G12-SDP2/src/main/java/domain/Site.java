@@ -13,6 +13,7 @@ import exceptions.InvalidInputException;
 import interfaces.Observer;
 import interfaces.RequiredElement;
 import interfaces.Subject;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -23,12 +24,19 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 import util.RequiredElementSite;
 import util.Status;
 
@@ -38,6 +46,13 @@ import util.Status;
  * functionality.
  */
 @Getter
+@NamedEntityGraph(name = Site.SUMMARY_GRAPH, attributeNodes = { @NamedAttributeNode("verantwoordelijke"),
+		@NamedAttributeNode("address") })
+@NamedEntityGraph(name = Site.WITH_MACHINES_GRAPH, attributeNodes = { @NamedAttributeNode("verantwoordelijke"),
+		@NamedAttributeNode("address"), @NamedAttributeNode(value = "machines", subgraph = "machine-technician") },
+		subgraphs = @NamedSubgraph(name = "machine-technician", attributeNodes = @NamedAttributeNode("technician")))
+@Cacheable
+@Cache(type = CacheType.SOFT_WEAK, size = 500, expiry = 10 * 60 * 1000)
 @Table(name = "sites")
 @Entity
 @NoArgsConstructor
@@ -45,6 +60,18 @@ public class Site implements Serializable, Subject
 {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * Entity graph for screens that show the site itself: the responsible user and
+	 * the address, without the machines.
+	 */
+	public static final String SUMMARY_GRAPH = "site-summary";
+
+	/**
+	 * Entity graph for screens that list the machines of a site, with their
+	 * technicians.
+	 */
+	public static final String WITH_MACHINES_GRAPH = "site-with-machines";
+
 	/**
 	 * Set of observers that are monitoring changes to this site. Marked as
 	 * transient as it doesn't need to be persisted.
@@ -84,10 +111,12 @@ public class Site implements Serializable, Subject
 
 	/**
 	 * Set of machines located at this site. Maintains a one-to-many bidirectional
-	 * relationship with Machine entity. Uses eager fetching to load machines when
-	 * the site is loaded.
+	 * relationship with Machine entity. Loaded lazily; load the site with
+	 * {@link #WITH_MACHINES_GRAPH} when the machines are needed. The machines of
+	 * all sites read by one query are then fetched together in a single query.
 	 */
-	@OneToMany(mappedBy = "site", fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "site", fetch = FetchType.LAZY)
+	@BatchFetch(BatchFetchType.IN)
 	private Set<Machine> machines = new HashSet<>();
 
 	/**
@@ -1,21 +1,29 @@
 package domain;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import dto.MachineDTO;
 import dto.SiteDTOWithMachines;
 import dto.SiteDTOWithoutMachines;
-import dto.UserDTO;
+import dto.SiteRow;
 import exceptions.InformationRequiredExceptionSite;
 import interfaces.Observer;
 import interfaces.Subject;
-import repository.GenericDaoJpa;
+import lombok.Getter;
+import repository.MachineDaoJpa;
+import repository.SiteDao;
+import repository.SiteDaoJpa;
+import repository.SiteFilter;
 import repository.UserDao;
 import repository.UserDaoJpa;
 import util.DTOMapper;
+import util.DTOMapper.MappingContext;
 import util.I18n;
+import util.SnapshotCache;
 import util.Status;
 
 /**
@@ -25,9 +33,23 @@ import util.Status;
  */
 public class SiteController implements Subject
 {
-	private GenericDaoJpa<Site> siteRepo;
+	private SiteDao siteRepo;
 	private List<Observer> observers = new ArrayList<>();
 	private UserDao userRepo;
+
+	/**
+	 * Filter values of the site and machine screens, dropped whenever a site or
+	 * machine changes.
+	 */
+	@Getter
+	private FacetService facetService;
+
+	/**
+	 * Snapshot of all sites with their machines, dropped whenever a site is
+	 * created or updated.
+	 */
+	@Getter
+	private final SnapshotCache<SiteDTOWithMachines> siteCache = new SnapshotCache<>(this::loadSites);
 	
 	/**
 	 * Constructs a new SiteController with default repository implementations.
@@ -36,8 +58,11 @@ public class SiteController implements Subject
 	public SiteController()
 	{
 		userRepo = new UserDaoJpa();
-		siteRepo = new GenericDaoJpa<Site>(Site.class);
+		siteRepo = new SiteDaoJpa();
+		facetService = new FacetService(siteRepo, new MachineDaoJpa());
 		addObserver(new NotificationObserver());
+		addObserver(siteCache);
+		addObserver(facetService);
 	}
 
 	/**
@@ -48,10 +73,22 @@ public class SiteController implements Subject
 	 */
 	public SiteDTOWithMachines getSite(int id)
 	{
-		Site site = siteRepo.get(id);
+		Site site = siteRepo.get(id, Site.WITH_MACHINES_GRAPH);
 		return DTOMapper.toSiteDTOWithMachines(site);
 	}
 
+	/**
+	 * Retrieves a site by its ID without loading its machines.
+	 * 
+	 * @param id the ID of the site to retrieve
+	 * @return SiteDTOWithoutMachines containing the site details
+	 */
+	public SiteDTOWithoutMachines getSiteSummary(int id)
+	{
+		Site site = siteRepo.get(id, Site.SUMMARY_GRAPH);
+		return DTOMapper.toSiteDTOWithoutMachines(site);
+	}
+
 	/**
 	 * Retrieves all sites with their machines as DTOs.
 	 * 
@@ -59,8 +96,39 @@ public class SiteController implements Subject
 	 */
 	public List<SiteDTOWithMachines> getSites()
 	{
-		List<Site> sites = siteRepo.findAll();
-		return sites.stream().map(site -> DTOMapper.toSiteDTOWithMachines(site)).toList();
+		return siteCache.get();
+	}
+
+	private List<SiteDTOWithMachines> loadSites()
+	{
+		List<Site> sites = siteRepo.findAll(Site.WITH_MACHINES_GRAPH);
+		MappingContext context = new MappingContext();
+		return sites.stream().map(context::toSiteDTOWithMachines).toList();
+	}
+
+	/**
+	 * Retrieves one page of the site overview, ordered by ID, starting after the
+	 * given ID. The machines of each site are counted by the query instead of
+	 * being loaded.
+	 * 
+	 * @param afterId the ID of the last site of the previous page, or null for the
+	 *                first page
+	 * @param limit   the maximum number of sites to return
+	 * @return List of SiteRow on the requested page
+	 */
+	public List<SiteRow> getSitePage(Integer afterId, int limit)
+	{
+		return siteRepo.findRowPage(afterId, limit);
+	}
+
+	/**
+	 * Retrieves the total number of sites.
+	 * 
+	 * @return the number of sites
+	 */
+	public long getSiteCount()
+	{
+		return siteRepo.count();
 	}
 
 	/**
@@ -93,30 +161,28 @@ public class SiteController implements Subject
 	 * @param verantwoordelijkeFilter responsible person to filter by
 	 * @param minMachinesFilter       minimum number of machines required
 	 * @param maxMachinesFilter       maximum number of machines allowed
-	 * @return List of filtered SiteDTOWithMachines
+	 * @return List of SiteRow of the matching sites
 	 */
-	public List<SiteDTOWithMachines> getFilteredSites(String searchFilter, String statusFilter, String siteNameFilter,
+	public List<SiteRow> getFilteredSites(String searchFilter, String statusFilter, String siteNameFilter,
 			String verantwoordelijkeFilter, Integer minMachinesFilter, Integer maxMachinesFilter)
 	{
 
-		String lowerCaseSearchFilter = searchFilter == null ? "" : searchFilter.toLowerCase();
-
-		int minMachines = minMachinesFilter != null ? minMachinesFilter : 0;
-		int maxMachines = maxMachinesFilter != null ? maxMachinesFilter : Integer.MAX_VALUE;
-
-		return getSites().stream().filter(site -> statusFilter == null || I18n.convertStatus(site.status().toString()).equals(I18n.convertStatus(statusFilter)))
-				.filter(site -> siteNameFilter == null
-						|| site.siteName().toLowerCase().contains(siteNameFilter.toLowerCase()))
-				.filter(site -> verantwoordelijkeFilter == null || (site.verantwoordelijke() != null
-						&& (site.verantwoordelijke().firstName() + " " + site.verantwoordelijke().lastName())
-								.equals(verantwoordelijkeFilter)))
-				.filter(site -> site.machines().size() >= minMachines && site.machines().size() <= maxMachines)
-				.filter(site -> site.siteName().toLowerCase().contains(lowerCaseSearchFilter)
-						|| (site.verantwoordelijke() != null && (site.verantwoordelijke().firstName().toLowerCase()
-								.contains(lowerCaseSearchFilter)
-								|| site.verantwoordelijke().lastName().toLowerCase().contains(lowerCaseSearchFilter)))
-						|| site.status().toString().toLowerCase().contains(lowerCaseSearchFilter))
-				.collect(Collectors.toList());
+		Optional<Status> status = statusFilter == null ? Optional.empty()
+				: Arrays.stream(Status.values())
+						.filter(s -> I18n.convertStatus(s.toString()).equals(I18n.convertStatus(statusFilter)))
+						.findFirst();
+		if (statusFilter != null && status.isEmpty())
+		{
+			return List.of();
+		}
+
+		// a minimum of zero or less and an unbounded maximum do not restrict the count
+		Integer minMachines = minMachinesFilter != null && minMachinesFilter > 0 ? minMachinesFilter : null;
+		Integer maxMachines = maxMachinesFilter != null && maxMachinesFilter != Integer.MAX_VALUE ? maxMachinesFilter
+				: null;
+
+		return siteRepo.findRows(new SiteFilter(searchFilter, status.orElse(null), siteNameFilter,
+				verantwoordelijkeFilter, minMachines, maxMachines));
 	}
 
 	/**
@@ -170,8 +236,7 @@ public class SiteController implements Subject
 	 */
 	public List<String> getAllStatusses()
 	{
-		List<SiteDTOWithMachines> allSites = getSites();
-		return allSites.stream().map(s -> s.status().toString()).distinct().sorted().collect(Collectors.toList());
+		return facetService.getSiteFacets().statuses();
 	}
 
 	/**
@@ -181,8 +246,7 @@ public class SiteController implements Subject
 	 */
 	public List<String> getAllSiteNames()
 	{
-		List<SiteDTOWithMachines> allSites = getSites();
-		return allSites.stream().map(SiteDTOWithMachines::siteName).distinct().sorted().collect(Collectors.toList());
+		return facetService.getSiteFacets().siteNames();
 	}
 
 	/**
@@ -193,10 +257,7 @@ public class SiteController implements Subject
 	 */
 	public List<String> getAllVerantwoordelijken()
 	{
-		List<SiteDTOWithMachines> allSites = getSites();
-		return allSites.stream().filter(s -> s.verantwoordelijke() != null)
-				.map(s -> s.verantwoordelijke().firstName() + " " + s.verantwoordelijke().lastName()).distinct()
-				.sorted().collect(Collectors.toList());
+		return facetService.getSiteFacets().verantwoordelijken();
 	}
 	
 	/**
@@ -206,13 +267,7 @@ public class SiteController implements Subject
 	 * @return List of unique location strings
 	 */
 	public List<String> getMachineLocations(int siteId) {
-		SiteDTOWithMachines site = getSite(siteId);
-		return site.machines().stream()
-				.map(MachineDTO::location)
-				.filter(loc -> loc != null && !loc.isEmpty())
-				.distinct()
-				.sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(siteId).locations();
 	}
 	
 	/**
@@ -222,12 +277,7 @@ public class SiteController implements Subject
 	 * @return List of unique machine status strings
 	 */
 	public List<String> getMachineStatuses(int siteId) {
-		SiteDTOWithMachines site = getSite(siteId);
-		return site.machines().stream()
-				.map(m -> m.machineStatus().toString())
-				.distinct()
-				.sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(siteId).machineStatuses();
 	}
 	
 	/**
@@ -237,12 +287,7 @@ public class SiteController implements Subject
 	 * @return List of unique production status strings
 	 */
 	public List<String> getProductionStatuses(int siteId) {
-		SiteDTOWithMachines site = getSite(siteId);
-		return site.machines().stream()
-				.map(m -> m.productionStatus().toString())
-				.distinct()
-				.sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(siteId).productionStatuses();
 	}
 	
 	/**
@@ -252,14 +297,7 @@ public class SiteController implements Subject
 	 * @return List of unique technician first names
 	 */
 	public List<String> getTechnicianNames(int siteId) {
-		SiteDTOWithMachines site = getSite(siteId);
-		return site.machines().stream()
-				.map(m -> m.technician())
-				.filter(t -> t != null && t.firstName() != null && !t.firstName().isEmpty())
-				.map(UserDTO::firstName)
-				.distinct()
-				.sorted()
-				.collect(Collectors.toList());
+		return facetService.getMachineFacets(siteId).technicianNames();
 	}
 
 	/**
@@ -269,12 +307,13 @@ public class SiteController implements Subject
 	 */
 	public List<SiteDTOWithoutMachines> getSitesWithoutMachines()
 	{
-		List<Site> sites = siteRepo.findAll();
+		List<Site> sites = siteRepo.findAll(Site.SUMMARY_GRAPH);
 		if (sites == null)
 		{
 			return new ArrayList<>();
 		}
-		return sites.stream().map(site -> DTOMapper.toSiteDTOWithoutMachines(site)).toList();
+		MappingContext context = new MappingContext();
+		return sites.stream().map(context::toSiteDTOWithoutMachines).toList();
 	}
 
 	/**
@@ -360,6 +399,7 @@ public class SiteController implements Subject
 		siteRepo.startTransaction();
 		siteRepo.update(updatedSite);
 		siteRepo.commitTransaction();
+		siteRepo.evict(siteId);
 
 		notifyObservers("Site bijgewerkt " + updatedSite.getId() + " " + updatedSite.getSiteName());
 
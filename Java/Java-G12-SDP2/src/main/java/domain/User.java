@@ -13,6 +13,7 @@ import exceptions.InformationRequiredExceptionUser;
 import interfaces.Observer;
 import interfaces.RequiredElement;
 import interfaces.Subject;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -20,6 +21,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedQueries;
@@ -30,6 +32,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.eclipse.persistence.annotations.Cache;
+import org.eclipse.persistence.annotations.CacheType;
 import util.RequiredElementUser;
 import util.Role;
 import util.Status;
@@ -43,11 +47,17 @@ import util.Status;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(type = CacheType.SOFT_WEAK, size = 1000, expiry = 10 * 60 * 1000)
+@Table(name = "users", indexes = { @Index(name = "uk_users_email", columnList = "EMAIL", unique = true),
+		@Index(name = "idx_users_name", columnList = "LASTNAME, FIRSTNAME") })
 @NamedQueries({
 		@NamedQuery(name = "User.getAllWithAddress", query = "SELECT u FROM User u JOIN u.address a ORDER BY u.id"),
 		@NamedQuery(name = "User.getAllTechniekers", query = "SELECT u FROM User u WHERE u.role = util.Role.TECHNIEKER"),
-		@NamedQuery(name = "User.getByEmail", query = "SELECT u FROM User u WHERE u.email = :email ORDER BY u.id") })
+		@NamedQuery(name = "User.getByEmail", query = "SELECT u FROM User u WHERE u.email = :email ORDER BY u.id"),
+		@NamedQuery(name = "User.findIdByEmail", query = "SELECT u.id FROM User u WHERE u.email = :email AND u.id <> :excludingId"),
+		@NamedQuery(name = "User.findByName", query = "SELECT u FROM User u WHERE u.lastName = :lastName AND u.firstName = :firstName ORDER BY u.id"),
+		@NamedQuery(name = "User.findRows", query = "SELECT NEW dto.UserRow(u.id, u.firstName, u.lastName, u.email, u.role, u.status) FROM User u ORDER BY u.id") })
 public class User implements Serializable, Subject
 {
 	private static final long serialVersionUID = 1L;
@@ -5,9 +5,14 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import dto.UserDTO;
+import dto.UserRow;
 import exceptions.InvalidInputException;
 import interfaces.Observer;
 import interfaces.Subject;
@@ -17,9 +22,11 @@ import repository.UserDao;
 import repository.UserDaoJpa;
 import util.AuthenticationUtil;
 import util.DTOMapper;
+import util.DTOMapper.MappingContext;
 import util.I18n;
 import util.PasswordHasher;
 import util.Role;
+import util.SnapshotCache;
 import util.Status;
 
 /**
@@ -35,6 +42,38 @@ public class UserController implements Subject
 
 	private List<Observer> observers = new ArrayList<>();
 
+	/**
+	 * Runs logins off the UI thread. The threads are daemons, so a login in
+	 * progress does not keep the application alive.
+	 */
+	private static final Executor LOGIN_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "login");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Snapshot of all users, dropped whenever a user is created or updated.
+	 */
+	private final SnapshotCache<UserDTO> userCache = new SnapshotCache<>(this::loadAllUsers);
+
+	/**
+	 * Snapshot of the user overview rows, dropped together with
+	 * {@link #userCache}.
+	 */
+	private final SnapshotCache<UserRow> userRowCache = new SnapshotCache<>(() -> userRepo.findRows());
+
+	/**
+	 * Drops every user snapshot of this controller. Registered on this controller
+	 * and on other subjects that change users, so a new snapshot only has to be
+	 * added here.
+	 */
+	@Getter
+	private final Observer cacheInvalidator = message -> {
+		userCache.invalidate();
+		userRowCache.invalidate();
+	};
+
 	/**
 	 * Constructs a new UserController with default dependencies. Initializes the
 	 * UserDaoJpa implementation and adds a default NotificationObserver.
@@ -43,7 +82,7 @@ public class UserController implements Subject
 	{
 		userRepo = new UserDaoJpa();
 		addObserver(new NotificationObserver());
-
+		addObserver(cacheInvalidator);
 	}
 
 	/**
@@ -59,6 +98,30 @@ public class UserController implements Subject
 		AuthenticationUtil.authenticate(email, password, userRepo);
 	}
 
+	/**
+	 * Authenticates a user on a background thread, so the caller (typically the UI
+	 * thread) is not blocked while the password hash is verified. The number of
+	 * hashes computed at the same time is capped by {@link PasswordHasher}.
+	 *
+	 * @param email    The user's email address
+	 * @param password The user's password
+	 * @return a future that completes when the user is logged in, or completes
+	 *         exceptionally with an {@link InvalidInputException} if the
+	 *         credentials are invalid
+	 */
+	public CompletableFuture<Void> authenticateAsync(String email, String password)
+	{
+		return CompletableFuture.runAsync(() -> {
+			try
+			{
+				authenticate(email, password);
+			} catch (InvalidInputException e)
+			{
+				throw new CompletionException(e);
+			}
+		}, LOGIN_EXECUTOR);
+	}
+
 	/**
 	 * Logs out the currently authenticated user.
 	 */
@@ -80,14 +143,32 @@ public class UserController implements Subject
 	}
 
 	/**
-	 * Retrieves all users in the system.
+	 * Retrieves all users in the system. The list is cached until a user is
+	 * created or updated.
 	 * 
 	 * @return List of UserDTO objects representing all users
 	 */
 	public List<UserDTO> getAllUsers()
+	{
+		return userCache.get();
+	}
+
+	/**
+	 * Retrieves the overview row of every user. The rows are projected by a single
+	 * query and cached until a user is created or updated.
+	 * 
+	 * @return List of UserRow objects of all users, ordered by ID
+	 */
+	public List<UserRow> getUserRows()
+	{
+		return userRowCache.get();
+	}
+
+	private List<UserDTO> loadAllUsers()
 	{
 		List<User> users = userRepo.findAll();
-		return users.stream().map(user -> DTOMapper.toUserDTO(user)).toList();
+		MappingContext context = new MappingContext();
+		return users.stream().map(context::toUserDTO).toList();
 	}
 
 	/**
@@ -130,9 +211,9 @@ public class UserController implements Subject
 		String firstname = parts[0];
 		String lastname = parts[1]; // everything after the first space
 
-		return getAllVerantwoordelijken().stream()
-				.filter(v -> v.firstName().equalsIgnoreCase(firstname) && v.lastName().equalsIgnoreCase(lastname))
-				.findFirst().orElse(null);
+		return userRepo.findByName(firstname, lastname).stream()
+				.filter(user -> user.getRole() == Role.VERANTWOORDELIJKE).findFirst().map(DTOMapper::toUserDTO)
+				.orElse(null);
 	}
 
 	/**
@@ -179,9 +260,7 @@ public class UserController implements Subject
 			String street, String houseNumber, String postalCode, String city, Role role)
 			throws IllegalArgumentException, NumberFormatException
 	{
-		User existingUserWithEmail = userRepo.findAll().stream().filter((u) -> u.getEmail().equals(email)).findFirst()
-				.orElse(null);
-		if (existingUserWithEmail != null)
+		if (userRepo.existsByEmail(email, null))
 		{
 			throw new IllegalArgumentException(String.format("User with email %s already exists", email));
 		}
@@ -243,9 +322,7 @@ public class UserController implements Subject
 			throw new IllegalArgumentException("User with ID " + userId + " not found");
 		}
 
-		User existingUserWithEmail = userRepo.findAll().stream()
-				.filter((u) -> u.getEmail().equals(email) && u.getId() != userId).findFirst().orElse(null);
-		if (existingUserWithEmail != null)
+		if (userRepo.existsByEmail(email, userId))
 		{
 			throw new IllegalArgumentException(String.format("User with email %s already exists", email));
 		}
@@ -275,6 +352,7 @@ public class UserController implements Subject
 			userRepo.rollbackTransaction();
 			throw new RuntimeException("Error updating user: " + e.getMessage(), e);
 		}
+		userRepo.evict(userId);
 
 		notifyObservers("Gebruiker bijgewerkt: " + updatedUser.getId() + " " + updatedUser.getFullName());
 
@@ -381,16 +459,36 @@ public class UserController implements Subject
 	 * @return List of UserDTO objects matching the filter criteria
 	 */
 	public List<UserDTO> getFilteredUsers(String searchFilter, String selectedStatus, String selectedRole)
+	{
+		return getAllUsers().stream().filter(user -> matches(user.firstName(), user.lastName(), user.status(),
+				user.role(), searchFilter, selectedStatus, selectedRole)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Retrieves the overview rows of the users matching the search criteria,
+	 * status, and role, with the same criteria as
+	 * {@link #getFilteredUsers(String, String, String)}.
+	 * 
+	 * @param searchFilter   The string to filter user names (case insensitive)
+	 * @param selectedStatus The status to filter by (null for no status filter)
+	 * @param selectedRole   The role to filter by (null for no role filter)
+	 * @return List of UserRow objects matching the filter criteria
+	 */
+	public List<UserRow> getFilteredUserRows(String searchFilter, String selectedStatus, String selectedRole)
+	{
+		return getUserRows().stream().filter(user -> matches(user.firstName(), user.lastName(), user.status(),
+				user.role(), searchFilter, selectedStatus, selectedRole)).collect(Collectors.toList());
+	}
+
+	private static boolean matches(String firstName, String lastName, Status status, Role role, String searchFilter,
+			String selectedStatus, String selectedRole)
 	{
 		String lowerCaseSearchFilter = searchFilter == null ? "" : searchFilter.toLowerCase();
-		return getAllUsers().stream()
-				.filter(user -> selectedStatus == null
-						|| I18n.convertStatus(user.status().toString()).equals(I18n.convertStatus(selectedStatus)))
-				.filter(user -> selectedRole == null
-						|| I18n.convertRole(user.role().toString()).equals(I18n.convertRole(selectedRole)))
-				.filter(user -> user.firstName().toLowerCase().contains(lowerCaseSearchFilter)
-						|| user.lastName().toLowerCase().contains(lowerCaseSearchFilter))
-				.collect(Collectors.toList());
+		return (selectedStatus == null
+				|| I18n.convertStatus(status.toString()).equals(I18n.convertStatus(selectedStatus)))
+				&& (selectedRole == null || I18n.convertRole(role.toString()).equals(I18n.convertRole(selectedRole)))
+				&& (firstName.toLowerCase().contains(lowerCaseSearchFilter)
+						|| lastName.toLowerCase().contains(lowerCaseSearchFilter));
 	}
 
 }
\ No newline at end of file
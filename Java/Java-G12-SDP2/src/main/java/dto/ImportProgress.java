@@ -0,0 +1,4 @@
+package dto;
+
+public record ImportProgress(long rowsRead, long imported, long failed) {
+}
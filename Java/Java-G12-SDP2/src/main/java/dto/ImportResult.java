@@ -0,0 +1,15 @@
+package dto;
+
+import java.util.List;
+
+public record ImportResult(long imported, long failed, List<RowError> errors) {
+
+	/**
+	 * A row that could not be imported.
+	 *
+	 * @param row     the 1-based number of the record in the file
+	 * @param message why the row was rejected
+	 */
+	public record RowError(long row, String message) {
+	}
+}
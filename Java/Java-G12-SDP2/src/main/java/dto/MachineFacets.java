@@ -0,0 +1,17 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * The distinct values offered by the filter bar of a machine overview, each
+ * list sorted.
+ *
+ * @param locations          the non-empty machine locations
+ * @param machineStatuses    the machine statuses in use
+ * @param productionStatuses the production statuses in use
+ * @param technicianNames    the first names of the assigned technicians
+ */
+public record MachineFacets(List<String> locations, List<String> machineStatuses, List<String> productionStatuses,
+		List<String> technicianNames)
+{
+}
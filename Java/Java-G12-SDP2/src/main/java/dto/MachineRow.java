@@ -0,0 +1,32 @@
+package dto;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import util.MachineStatus;
+import util.ProductionStatus;
+
+/**
+ * One row of the machine overview: only the columns the list shows, filled
+ * straight from a JPQL constructor expression.
+ */
+public record MachineRow(int id, String code, String location, String productInfo, MachineStatus machineStatus,
+		ProductionStatus productionStatus, LocalDate lastMaintenance, LocalDate futureMaintenance,
+		int numberDaysSinceLastMaintenance, String siteName, String technicianFirstName)
+{
+	/**
+	 * Calculates the uptime of the machine since its last maintenance, in hours,
+	 * the same way as {@code Machine.getUpTimeInHours()}.
+	 *
+	 * @return the uptime in hours, or 0.0 if {@code lastMaintenance} is null
+	 */
+	public double upTimeInHours()
+	{
+		if (lastMaintenance == null)
+		{
+			return 0.0;
+		}
+		return Duration.between(lastMaintenance.atStartOfDay(), LocalDateTime.now()).toHours();
+	}
+}
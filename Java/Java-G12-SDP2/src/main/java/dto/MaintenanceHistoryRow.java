@@ -0,0 +1,11 @@
+package dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import util.MaintenanceStatus;
+
+public record MaintenanceHistoryRow(int id, LocalDate executionDate, LocalDateTime startDate, LocalDateTime endDate,
+		MaintenanceStatus status, String reason, String comments, String machineCode, String machineLocation,
+		String siteName, String technicianName, String technicianEmail) {
+}
@@ -0,0 +1,15 @@
+package dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import util.MaintenanceStatus;
+
+/**
+ * One row of the maintenance overview, with the technician's name and the
+ * machine ID instead of the nested technician and machine.
+ */
+public record MaintenanceRow(int id, LocalDate executionDate, LocalDateTime startDate, LocalDateTime endDate,
+		String technicianFirstName, String technicianLastName, String reason, String comments,
+		MaintenanceStatus status, int machineId) {
+}
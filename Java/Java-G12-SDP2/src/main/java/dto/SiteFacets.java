@@ -0,0 +1,16 @@
+package dto;
+
+import java.util.List;
+
+/**
+ * The distinct values offered by the filter bar of the site overview, each list
+ * sorted.
+ *
+ * @param statuses           the site statuses in use
+ * @param siteNames          the site names
+ * @param verantwoordelijken the full names ("first last") of the responsible
+ *                           users
+ */
+public record SiteFacets(List<String> statuses, List<String> siteNames, List<String> verantwoordelijken)
+{
+}
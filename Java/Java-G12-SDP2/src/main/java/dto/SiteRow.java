@@ -0,0 +1,32 @@
+package dto;
+
+import util.MachineStatus;
+import util.Status;
+
+/**
+ * One row of the site overview. The machine count and the number of machines
+ * in each status are computed by the query, so the machines of the site are
+ * never loaded.
+ */
+public record SiteRow(int id, String siteName, String verantwoordelijkeFirstName, String verantwoordelijkeLastName,
+		Status status, long machineCount, long draaitCount, long manueelGestoptCount, long automatischGestoptCount,
+		long startbaarCount, long inOnderhoudCount)
+{
+	/**
+	 * Returns the number of machines of this site in the given status.
+	 *
+	 * @param machineStatus the status to count
+	 * @return the number of machines in that status
+	 */
+	public long machineCount(MachineStatus machineStatus)
+	{
+		return switch (machineStatus)
+		{
+		case DRAAIT -> draaitCount;
+		case MANUEEL_GESTOPT -> manueelGestoptCount;
+		case AUTOMATISCH_GESTOPT -> automatischGestoptCount;
+		case STARTBAAR -> startbaarCount;
+		case IN_ONDERHOUD -> inOnderhoudCount;
+		};
+	}
+}
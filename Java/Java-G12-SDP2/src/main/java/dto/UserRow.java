@@ -0,0 +1,10 @@
+package dto;
+
+import util.Role;
+import util.Status;
+
+/**
+ * One row of the user overview, without the address and password of the user.
+ */
+public record UserRow(int id, String firstName, String lastName, String email, Role role, Status status) {
+}
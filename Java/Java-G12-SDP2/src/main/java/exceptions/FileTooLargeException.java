@@ -0,0 +1,11 @@
+package exceptions;
+
+public class FileTooLargeException extends IllegalArgumentException
+{
+	private static final long serialVersionUID = 1L;
+
+	public FileTooLargeException(String message)
+	{
+		super(message);
+	}
+}
@@ -8,7 +8,7 @@ import java.util.stream.Collectors;
 import domain.SiteController;
 import domain.UserController;
 import dto.AddressDTO;
-import dto.SiteDTOWithMachines;
+import dto.SiteDTOWithoutMachines;
 import dto.UserDTO;
 import exceptions.InformationRequired;
 import exceptions.InformationRequiredExceptionSite;
@@ -28,7 +28,7 @@ import util.Status;
 
 public class AddOrEditSiteForm extends AddOrEditAbstract
 {
-    private SiteDTOWithMachines site;
+    private SiteDTOWithoutMachines site;
 
     private TextField siteNameField;
     private TextField streetField, houseNumberField, postalCodeField, cityField;
@@ -43,7 +43,7 @@ public class AddOrEditSiteForm extends AddOrEditAbstract
     public AddOrEditSiteForm(MainLayout mainLayout, int siteId)
     {
         super(mainLayout, false);
-        this.site = siteController.getSite(siteId);
+        this.site = siteController.getSiteSummary(siteId);
     }
 
     public AddOrEditSiteForm(MainLayout mainLayout)
@@ -1,6 +1,10 @@
 package gui;
 
+import java.nio.file.Path;
+
+import domain.DashboardController;
 import domain.FileInfoController;
+import domain.ImportController;
 import domain.KPIController;
 import domain.KPIWaardeController;
 import domain.MachineController;
@@ -10,6 +14,7 @@ import domain.ReportController;
 import domain.SiteController;
 import domain.UserController;
 import lombok.Getter;
+import repository.EntityManagerProvider;
 
 @Getter
 public class AppServices
@@ -23,6 +28,9 @@ public class AppServices
 	private final NotificationController notificationController;
 	private final KPIController kpiController;
 	private final KPIWaardeController kpiWaardeController;
+	private final DashboardController dashboardController;
+	private final ImportController importController;
+	private final ThumbnailService thumbnailService;
 
 	private AppServices()
 	{
@@ -35,7 +43,39 @@ public class AppServices
 		this.notificationController = new NotificationController();
 		this.kpiController = new KPIController();
 		this.kpiWaardeController = new KPIWaardeController();
+		this.dashboardController = new DashboardController(kpiController, kpiWaardeController);
+		this.importController = new ImportController();
+		this.thumbnailService = new ThumbnailService(fileInfoController,
+				ThumbnailService.cacheDirectory(Path.of(System.getProperty("java.io.tmpdir"), "shopfloor-thumbnails"),
+						EntityManagerProvider.getDatabaseUrl()));
+
+		linkSnapshotCaches();
+	}
 
+	/**
+	 * Every controller drops its own DTO snapshot when it announces a change. The
+	 * snapshots also embed DTOs of other aggregates (sites carry their machines
+	 * and verantwoordelijke, machines their site and technician), so they are
+	 * dropped on changes to those as well. The same goes for the filter values
+	 * of the site and machine screens, which include user names.
+	 */
+	private void linkSnapshotCaches()
+	{
+		linkSnapshotCaches(userController, siteController, machineController, importController);
+	}
+
+	static void linkSnapshotCaches(UserController userController, SiteController siteController,
+			MachineController machineController, ImportController importController)
+	{
+		userController.addObserver(siteController.getSiteCache());
+		userController.addObserver(machineController.getMachineCache());
+		userController.addObserver(siteController.getFacetService());
+		machineController.addObserver(siteController.getSiteCache());
+		siteController.addObserver(machineController.getMachineCache());
+		importController.addObserver(userController.getCacheInvalidator());
+		importController.addObserver(siteController.getSiteCache());
+		importController.addObserver(machineController.getMachineCache());
+		importController.addObserver(siteController.getFacetService());
 	}
 
 	public static class SingletonHolder
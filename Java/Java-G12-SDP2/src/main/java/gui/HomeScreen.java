@@ -1,11 +1,11 @@
 package gui;
 
 import java.util.List;
+import java.util.Map;
 
+import domain.DashboardController.DashboardData;
 import domain.KPI;
-import domain.KPIController;
 import domain.KPIWaarde;
-import domain.KPIWaardeController;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -23,14 +23,22 @@ import util.I18n;
 public class HomeScreen extends GridPane
 {
 	private final MainLayout mainLayout;
-	private final KPIWaardeController kpiWaardeController;
-	private final KPIController kpiController;
 
 	public HomeScreen(MainLayout mainLayout)
+	{
+		this(mainLayout, mainLayout.getServices().getDashboardController().loadDashboard());
+	}
+
+	/**
+	 * Constructs the home screen from dashboard data that has already been
+	 * loaded, e.g. prefetched during login.
+	 *
+	 * @param mainLayout the main layout
+	 * @param dashboard  the KPIs and their latest values
+	 */
+	public HomeScreen(MainLayout mainLayout, DashboardData dashboard)
 	{
 		this.mainLayout = mainLayout;
-		this.kpiWaardeController = mainLayout.getServices().getKpiWaardeController();
-		this.kpiController = mainLayout.getServices().getKpiController();
 
 		setHgap(20);
 		setVgap(20);
@@ -38,7 +46,7 @@ public class HomeScreen extends GridPane
 
 		this.setAlignment(Pos.CENTER);
 
-		setupLayout();
+		setupLayout(dashboard);
 	}
 	
 	private String convertToI18nSubject(String subject) {
@@ -62,15 +70,16 @@ public class HomeScreen extends GridPane
 		};
 	}
 
-	private void setupLayout()
+	private void setupLayout(DashboardData dashboard)
 	{
-		List<KPI> kpis = kpiController.getAllKPIs();
+		List<KPI> kpis = dashboard.kpis();
+		Map<Integer, List<KPIWaarde>> latestWaarden = dashboard.latestWaarden();
 
 		int row = 0;
 		int col = 0;
 		for (KPI kpi : kpis)
 		{
-			List<KPIWaarde> waarden = kpiWaardeController.getWaardenByKPI(kpi.getId());
+			List<KPIWaarde> waarden = latestWaarden.getOrDefault(kpi.getId(), List.of());
 
 			VBox kpiBox = new VBox(10);
 			kpiBox.getStyleClass().add("kpi-tile");
@@ -1,7 +1,12 @@
 package gui;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import domain.DashboardController.DashboardData;
 import domain.UserController;
 import exceptions.InvalidInputException;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -33,6 +38,7 @@ public class LoginPane extends VBox
 
 	private final Label emailValidationLabel = new Label();
 	private final Label passwordValidationLabel = new Label();
+	private final Button loginButton = new Button();
 
 	public LoginPane(MainLayout mainLayout)
 	{
@@ -151,7 +157,7 @@ public class LoginPane extends VBox
 		passwordValidationLabel.setVisible(false);
 		passwordValidationLabel.setText(I18n.get("login.password.required"));
 
-		Button loginButton = new Button(I18n.get("login.button").toUpperCase());
+		loginButton.setText(I18n.get("login.button").toUpperCase());
 		loginButton.getStyleClass().add("login-button");
 		loginButton.setOnAction(e -> handleLogin());
 		loginButton.setMaxWidth(Double.MAX_VALUE);
@@ -231,16 +237,26 @@ public class LoginPane extends VBox
 
 		if (isValid)
 		{
-			try
-			{
-				userController.authenticate(email, password);
-				errorLabel.setText("");
-				mainLayout.showHomeScreen();
-			} catch (InvalidInputException e)
-			{
-				errorLabel.setVisible(true);
-				errorLabel.setText(e.getMessage());
-			}
+			loginButton.setDisable(true);
+			// The dashboard does not depend on the user, so it is loaded while the
+			// password is verified and only shown once the login succeeded.
+			CompletableFuture<DashboardData> dashboard = mainLayout.getServices().getDashboardController()
+					.prefetch();
+			userController.authenticateAsync(email, password).whenComplete((result, error) -> Platform.runLater(() -> {
+				loginButton.setDisable(false);
+				if (error == null)
+				{
+					errorLabel.setText("");
+					mainLayout.showHomeScreen(dashboard);
+				} else
+				{
+					dashboard.cancel(true);
+					Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+					errorLabel.setVisible(true);
+					errorLabel.setText(cause instanceof InvalidInputException ? cause.getMessage()
+							: I18n.get("login.error"));
+				}
+			}));
 		}
 	}
 
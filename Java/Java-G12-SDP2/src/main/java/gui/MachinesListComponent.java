@@ -7,7 +7,7 @@ import java.util.stream.Collectors;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import domain.MachineController;
-import dto.MachineDTO;
+import dto.MachineRow;
 import interfaces.Observer;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
@@ -33,12 +33,13 @@ import javafx.scene.layout.VBox;
 import util.AuthenticationUtil;
 import util.CurrentPage;
 import util.I18n;
+import util.KeysetPaginator;
 import util.Role;
 
 public class MachinesListComponent extends GridPane implements Observer
 {
 
-	private TableView<MachineDTO> machineTable;
+	private TableView<MachineRow> machineTable;
 	private MachineController machineController;
 	private final MainLayout mainLayout;
 
@@ -46,8 +47,12 @@ public class MachinesListComponent extends GridPane implements Observer
 	private ComboBox<String> machStatFilter;
 	private ComboBox<String> prodStatFilter;
 
-	private List<MachineDTO> allMachines;
-	private List<MachineDTO> filteredMachines;
+	private KeysetPaginator<MachineRow> paginator;
+	/**
+	 * The machines matching the active filters, or null when no filter is active
+	 * and pages are fetched straight from the database.
+	 */
+	private List<MachineRow> filteredMachines;
 
 	private int itemsPerPage = 10;
 	private int currentPage = 0;
@@ -60,6 +65,7 @@ public class MachinesListComponent extends GridPane implements Observer
 	{
 		this.mainLayout = mainLayout;
 		this.machineController = mainLayout.getServices().getMachineController();
+		this.paginator = new KeysetPaginator<>(machineController::getMachinePage, MachineRow::id);
 		initializeGUI();
 		loadMachines();
 	}
@@ -70,14 +76,9 @@ public class MachinesListComponent extends GridPane implements Observer
 
 		this.getChildren().add(createTitleSection());
 
-		allMachines = machineController.getMachineList();
-		filteredMachines = allMachines;
-
 		machineTable = new TableView<>();
 		machineTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
-		buildColumns();
-
 		addButton = new Button(I18n.get("machine.add"));
 		addButton.getStyleClass().add("add-button");
 		addButton.setOnAction(e -> {
@@ -108,52 +109,52 @@ public class MachinesListComponent extends GridPane implements Observer
 
 		HBox filterBox = createTableHeaders();
 
-		TableColumn<MachineDTO, String> idCol = new TableColumn<>(I18n.get("machine.id"));
+		TableColumn<MachineRow, String> idCol = new TableColumn<>(I18n.get("machine.id"));
 		idCol.setCellValueFactory(data -> new SimpleStringProperty(String.valueOf(data.getValue().id())));
 
-		TableColumn<MachineDTO, String> siteCol = new TableColumn<>(I18n.get("machine.site"));
+		TableColumn<MachineRow, String> siteCol = new TableColumn<>(I18n.get("machine.site"));
 		siteCol.setCellValueFactory(data -> new SimpleStringProperty(
-				data.getValue().site() != null ? data.getValue().site().siteName() : I18n.get("machine.unknown")));
+				data.getValue().siteName() != null ? data.getValue().siteName() : I18n.get("machine.unknown")));
 
-		TableColumn<MachineDTO, String> technicianCol = new TableColumn<>(I18n.get("machine.technician"));
+		TableColumn<MachineRow, String> technicianCol = new TableColumn<>(I18n.get("machine.technician"));
 		technicianCol.setCellValueFactory(data -> new SimpleStringProperty(
-				data.getValue().technician() != null ? data.getValue().technician().firstName() : I18n.get("machine.unknown")));
+				data.getValue().technicianFirstName() != null ? data.getValue().technicianFirstName() : I18n.get("machine.unknown")));
 
-		TableColumn<MachineDTO, String> productInfoCol = new TableColumn<>(I18n.get("machine.product-info"));
+		TableColumn<MachineRow, String> productInfoCol = new TableColumn<>(I18n.get("machine.product-info"));
 		productInfoCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().productInfo()));
 
-		TableColumn<MachineDTO, String> lastMaintenanceCol = new TableColumn<>(I18n.get("machine.last-maintenance"));
+		TableColumn<MachineRow, String> lastMaintenanceCol = new TableColumn<>(I18n.get("machine.last-maintenance"));
 		lastMaintenanceCol.setCellValueFactory(data -> new SimpleStringProperty(
 				data.getValue().lastMaintenance() != null ? data.getValue().lastMaintenance().toString() : I18n.get("none")));
 
-		TableColumn<MachineDTO, String> daysSinceMaintenanceCol = new TableColumn<>(I18n.get("machine.days-since-last-maintenance"));
+		TableColumn<MachineRow, String> daysSinceMaintenanceCol = new TableColumn<>(I18n.get("machine.days-since-last-maintenance"));
 		daysSinceMaintenanceCol.setCellValueFactory(
 				data -> new SimpleStringProperty(String.valueOf(data.getValue().numberDaysSinceLastMaintenance())));
 
-		TableColumn<MachineDTO, String> uptimeCol = new TableColumn<>(I18n.get("machine.uptime"));
+		TableColumn<MachineRow, String> uptimeCol = new TableColumn<>(I18n.get("machine.uptime"));
 		uptimeCol.setCellValueFactory(
 				data -> new SimpleStringProperty(String.format("%.2f", data.getValue().upTimeInHours())));
 
-		TableColumn<MachineDTO, String> codeCol = new TableColumn<>(I18n.get("machine.code"));
+		TableColumn<MachineRow, String> codeCol = new TableColumn<>(I18n.get("machine.code"));
 		codeCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().code()));
 
-		TableColumn<MachineDTO, String> locationCol = new TableColumn<>(I18n.get("machine.location"));
+		TableColumn<MachineRow, String> locationCol = new TableColumn<>(I18n.get("machine.location"));
 		locationCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().location()));
 
-		TableColumn<MachineDTO, String> statusCol = new TableColumn<>(I18n.get("machine.machinestatus"));
+		TableColumn<MachineRow, String> statusCol = new TableColumn<>(I18n.get("machine.machinestatus"));
 		statusCol.setCellValueFactory(data -> new SimpleStringProperty(I18n.convertStatus(data.getValue().machineStatus().toString())));
 
-		TableColumn<MachineDTO, String> prodStatusCol = new TableColumn<>(I18n.get("machine.productionstatus"));
+		TableColumn<MachineRow, String> prodStatusCol = new TableColumn<>(I18n.get("machine.productionstatus"));
 		prodStatusCol
 				.setCellValueFactory(data -> new SimpleStringProperty(I18n.convertStatus(data.getValue().productionStatus().toString())));
 
-		TableColumn<MachineDTO, String> maintenanceCol = new TableColumn<>(I18n.get("machine.maintenance-planned"));
+		TableColumn<MachineRow, String> maintenanceCol = new TableColumn<>(I18n.get("machine.maintenance-planned"));
 		maintenanceCol
 				.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().futureMaintenance().toString()));
 
-		TableColumn<MachineDTO, Void> editCol = new TableColumn<>(I18n.get("edit"));
+		TableColumn<MachineRow, Void> editCol = new TableColumn<>(I18n.get("edit"));
 		editCol.setCellFactory(param -> {
-			TableCell<MachineDTO, Void> cell = new TableCell<MachineDTO, Void>()
+			TableCell<MachineRow, Void> cell = new TableCell<MachineRow, Void>()
 			{
 				private final Button editButton = new Button();
 
@@ -163,7 +164,7 @@ public class MachinesListComponent extends GridPane implements Observer
 					editButton.setGraphic(editIcon);
 					editButton.setBackground(Background.EMPTY);
 					editButton.setOnAction(event -> {
-						MachineDTO selectedMachine = getTableView().getItems().get(getIndex());
+						MachineRow selectedMachine = getTableView().getItems().get(getIndex());
 						openEditMachineForm(selectedMachine);
 					});
 				}
@@ -184,7 +185,7 @@ public class MachinesListComponent extends GridPane implements Observer
 			return cell;
 		});
 
-		TableColumn<MachineDTO, Void> onderhoudCol = new TableColumn<>(I18n.get("machine.maintenances"));
+		TableColumn<MachineRow, Void> onderhoudCol = new TableColumn<>(I18n.get("machine.maintenances"));
 		onderhoudCol.setCellFactory(param -> new TableCell<>()
 		{
 
@@ -196,8 +197,8 @@ public class MachinesListComponent extends GridPane implements Observer
 				onderhoudButton.setGraphic(wrenchIcon);
 				onderhoudButton.setBackground(Background.EMPTY);
 				onderhoudButton.setOnAction(event -> {
-					MachineDTO selectedMachine = getTableView().getItems().get(getIndex());
-					mainLayout.showMaintenanceList(selectedMachine);
+					MachineRow selectedMachine = getTableView().getItems().get(getIndex());
+					mainLayout.showMaintenanceList(machineController.getMachineById(selectedMachine.id()));
 				});
 				onderhoudButton.setStyle("-fx-background-color: transparent;");
 			}
@@ -226,9 +227,6 @@ public class MachinesListComponent extends GridPane implements Observer
 			machineTable.getColumns().add(editCol);
 		}
 
-		List<MachineDTO> dtos = machineController.getMachineList();
-		machineTable.getItems().setAll(dtos);
-
 		HBox paginationControls = new HBox(20);
 		pagination = createPagination();
 
@@ -246,15 +244,13 @@ public class MachinesListComponent extends GridPane implements Observer
 		updateTotalPages();
 		Pagination pagination = new Pagination(Math.max(1, totalPages), 0);
 		pagination.setPageFactory(this::createPage);
-		pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) -> {
-			currentPage = newIndex.intValue();
-			updateTableItems();
-		});
 		return pagination;
 	}
 
 	private HBox createPage(int pageIndex)
 	{
+		currentPage = pageIndex;
+		updateTableItems();
 		return new HBox();
 	}
 
@@ -315,7 +311,13 @@ public class MachinesListComponent extends GridPane implements Observer
 		String selectedProdStat = prodStatFilter.getValue();
 		String selectedMachStat = machStatFilter.getValue();
 
-		filteredMachines = machineController.getFilteredMachines(searchQuery, selectedProdStat, selectedMachStat);
+		if (searchQuery.isBlank() && selectedProdStat == null && selectedMachStat == null)
+		{
+			filteredMachines = null;
+		} else
+		{
+			filteredMachines = machineController.getFilteredMachines(searchQuery, selectedProdStat, selectedMachStat);
+		}
 
 		currentPage = 0;
 		updatePagination();
@@ -355,7 +357,7 @@ public class MachinesListComponent extends GridPane implements Observer
 		mainLayout.setContentAsync(() -> addMachineForm, true, false, CurrentPage.NONE);
 	}
 
-	private void openEditMachineForm(MachineDTO machine)
+	private void openEditMachineForm(MachineRow machine)
 	{
 		Parent editMachineForm = new AddOrEditMachineForm(mainLayout, machine.id());
 		mainLayout.setContentAsync(() -> editMachineForm, true, false, CurrentPage.NONE);
@@ -363,15 +365,9 @@ public class MachinesListComponent extends GridPane implements Observer
 
 	private void loadMachines()
 	{
-		allMachines = machineController.getMachineList();
-		filteredMachines = allMachines;
+		paginator.reset();
+		filteredMachines = null;
 		updateFilterOptions();
-		updateTable(allMachines);
-	}
-
-	private void updateTable(List<MachineDTO> machines)
-	{
-		filteredMachines = machines;
 		currentPage = 0;
 		updatePagination();
 		updateTableItems();
@@ -379,6 +375,12 @@ public class MachinesListComponent extends GridPane implements Observer
 
 	private void updateTableItems()
 	{
+		if (filteredMachines == null)
+		{
+			machineTable.getItems().setAll(paginator.getPage(currentPage, itemsPerPage));
+			return;
+		}
+
 		int fromIndex = currentPage * itemsPerPage;
 		int toIndex = Math.min(fromIndex + itemsPerPage, filteredMachines.size());
 
@@ -387,7 +389,7 @@ public class MachinesListComponent extends GridPane implements Observer
 			machineTable.getItems().clear();
 		} else
 		{
-			List<MachineDTO> currentPageItems = fromIndex < toIndex ? filteredMachines.subList(fromIndex, toIndex)
+			List<MachineRow> currentPageItems = fromIndex < toIndex ? filteredMachines.subList(fromIndex, toIndex)
 					: List.of();
 			machineTable.getItems().setAll(currentPageItems);
 		}
@@ -402,7 +404,8 @@ public class MachinesListComponent extends GridPane implements Observer
 
 	private void updateTotalPages()
 	{
-		totalPages = (int) Math.ceil((double) filteredMachines.size() / itemsPerPage);
+		long totalItems = filteredMachines == null ? machineController.getMachineCount() : filteredMachines.size();
+		totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
 	}
 
 	private void updateFilterOptions()
@@ -1,10 +1,13 @@
 package gui;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
+import domain.DashboardController.DashboardData;
 import dto.MachineDTO;
 import dto.MaintenanceDTO;
 import dto.NotificationDTO;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.scene.Parent;
@@ -99,6 +102,21 @@ public class MainLayout
 		HomeScreen choicePane = new HomeScreen(this);
 		setContentAsync(() -> choicePane, true, false, CurrentPage.HOME);
 	}
+
+	/**
+	 * Shows the home screen with dashboard data prefetched during login. If the
+	 * prefetch failed the data is loaded again.
+	 *
+	 * @param prefetched the prefetched dashboard data
+	 */
+	public void showHomeScreen(CompletableFuture<DashboardData> prefetched)
+	{
+		showLoadingOverlay();
+		prefetched.whenComplete((dashboard, error) -> Platform.runLater(() -> {
+			HomeScreen choicePane = error == null ? new HomeScreen(this, dashboard) : new HomeScreen(this);
+			setContentAsync(() -> choicePane, true, false, CurrentPage.HOME);
+		}));
+	}
 	
 	public void showPreferences()
 	{
@@ -1,19 +1,16 @@
 package gui;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import domain.FileInfo;
@@ -21,8 +18,8 @@ import domain.FileInfoController;
 import domain.Maintenance;
 import domain.MaintenanceController;
 import dto.MaintenanceDTO;
+import exceptions.FileTooLargeException;
 import javafx.application.Platform;
-import javafx.embed.swing.SwingFXUtils;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Alert;
@@ -53,6 +50,7 @@ public class MaintenanceDetailView extends BorderPane
 {
 	private MaintenanceController maintenanceController;
 	private FileInfoController fileInfoController;
+	private ThumbnailService thumbnailService;
 	private MaintenanceDTO currentMaintenance;
 	private Stage primaryStage;
 
@@ -76,6 +74,7 @@ public class MaintenanceDetailView extends BorderPane
 		this.mainLayout = mainLayout;
 		this.maintenanceController = mainLayout.getServices().getMaintenanceController();
 		this.fileInfoController = mainLayout.getServices().getFileInfoController();
+		this.thumbnailService = mainLayout.getServices().getThumbnailService();
 		this.primaryStage = (Stage) mainLayout.getMainScene().getWindow();
 
 		if (maintenance != null)
@@ -420,120 +419,15 @@ public class MaintenanceDetailView extends BorderPane
 
 		String fileType = fileInfo.getType();
 
-		if (fileType.equals("pdf"))
+		if (fileType.equals("pdf") || fileType.equals("image"))
 		{
-			try
-			{
-				byte[] pdfContent = fileInfoController.getFileContent(fileInfo);
-				if (pdfContent != null)
-				{
-					// Load the first page of the PDF
-					PDDocument document = Loader.loadPDF(pdfContent);
-					PDFRenderer pdfRenderer = new PDFRenderer(document);
-
-					BufferedImage image = pdfRenderer.renderImageWithDPI(0, 150); // Increased DPI for better quality
-
-					// Convert to JavaFX Image
-					Image pdfImage = SwingFXUtils.toFXImage(image, null);
-					ImageView pdfImageView = new ImageView(pdfImage);
-
-					// Create a container to center the image
-					StackPane imageContainer = new StackPane();
-					imageContainer.setStyle("-fx-background-color: white;");
-					imageContainer.setPrefSize(217, 160);
-
-					// Set dimensions while preserving aspect ratio
-					pdfImageView.setFitWidth(200); // Slightly smaller than container to allow for padding
-					pdfImageView.setFitHeight(140);
-					pdfImageView.setPreserveRatio(true);
-					pdfImageView.setSmooth(true);
-
-					StackPane.setAlignment(pdfImageView, Pos.CENTER);
-
-					imageContainer.getChildren().add(pdfImageView);
-
-					previewContainer.getChildren().add(imageContainer);
-
-					document.close();
-				} else
-				{
-					throw new IOException("No PDF content available");
-				}
-			} catch (Exception e)
-			{
-				// Fallback to icon if preview fails
-				VBox pdfPreview = new VBox(10);
-				pdfPreview.setAlignment(Pos.CENTER);
-
-				FontIcon pdfIcon = new FontIcon("fas-file-pdf");
-				pdfIcon.setIconSize(60);
-				pdfIcon.setIconColor(Color.web("#333333"));
-
-				Label pdfName = new Label(fileInfo.getName());
-				pdfName.setStyle("-fx-font-size: 14px; -fx-text-fill: #333;");
-				pdfName.setMaxWidth(200);
-				pdfName.setWrapText(true);
-
-				pdfPreview.getChildren().addAll(pdfIcon, pdfName);
-				previewContainer.getChildren().add(pdfPreview);
-			}
-		} else if (fileType.equals("image"))
-		{
-			try
-			{
-				byte[] imageContent = fileInfoController.getFileContent(fileInfo);
-				if (imageContent != null)
-				{
-					Image image = new Image(new ByteArrayInputStream(imageContent));
-					ImageView imageView = new ImageView(image);
-
-					imageView.setFitWidth(217);
-					imageView.setFitHeight(160);
-					imageView.setPreserveRatio(true);
-					imageView.setSmooth(true);
-
-					StackPane.setAlignment(imageView, Pos.CENTER);
-
-					previewContainer.getChildren().add(imageView);
-				} else
-				{
-					throw new IOException("No image content available");
-				}
-			} catch (Exception e)
-			{
-
-				VBox imagePreview = new VBox(10);
-				imagePreview.setAlignment(Pos.CENTER);
-
-				FontIcon imageIcon = new FontIcon("fas-image");
-				imageIcon.setIconSize(60);
-				imageIcon.setIconColor(Color.web("#333333"));
-
-				Label imageName = new Label(fileInfo.getName());
-				imageName.setStyle("-fx-font-size: 14px; -fx-text-fill: #333;");
-				imageName.setMaxWidth(200);
-				imageName.setWrapText(true);
-
-				imagePreview.getChildren().addAll(imageIcon, imageName);
-				previewContainer.getChildren().add(imagePreview);
-			}
+			boolean isPdf = fileType.equals("pdf");
+			previewContainer.getChildren().add(createIconPreview(isPdf ? "fas-file-pdf" : "fas-image", fileInfo));
+			thumbnailService.getThumbnail(fileInfo)
+					.thenAccept(image -> Platform.runLater(() -> showThumbnail(previewContainer, image, isPdf)));
 		} else
 		{
-
-			VBox genericPreview = new VBox(10);
-			genericPreview.setAlignment(Pos.CENTER);
-
-			FontIcon fileIcon = new FontIcon("fas-file");
-			fileIcon.setIconSize(60);
-			fileIcon.setIconColor(Color.web("#333333"));
-
-			Label fileName = new Label(fileInfo.getName());
-			fileName.setStyle("-fx-font-size: 14px; -fx-text-fill: #333;");
-			fileName.setMaxWidth(200);
-			fileName.setWrapText(true);
-
-			genericPreview.getChildren().addAll(fileIcon, fileName);
-			previewContainer.getChildren().add(genericPreview);
+			previewContainer.getChildren().add(createIconPreview("fas-file", fileInfo));
 		}
 
 		HBox fileActions = new HBox();
@@ -570,6 +464,50 @@ public class MaintenanceDetailView extends BorderPane
 		return fileBox;
 	}
 
+	private VBox createIconPreview(String iconLiteral, FileInfo fileInfo)
+	{
+		VBox iconPreview = new VBox(10);
+		iconPreview.setAlignment(Pos.CENTER);
+
+		FontIcon icon = new FontIcon(iconLiteral);
+		icon.setIconSize(60);
+		icon.setIconColor(Color.web("#333333"));
+
+		Label name = new Label(fileInfo.getName());
+		name.setStyle("-fx-font-size: 14px; -fx-text-fill: #333;");
+		name.setMaxWidth(200);
+		name.setWrapText(true);
+
+		iconPreview.getChildren().addAll(icon, name);
+		return iconPreview;
+	}
+
+	private void showThumbnail(StackPane previewContainer, Image image, boolean isPdf)
+	{
+		ImageView imageView = new ImageView(image);
+		imageView.setPreserveRatio(true);
+		imageView.setSmooth(true);
+		StackPane.setAlignment(imageView, Pos.CENTER);
+
+		if (isPdf)
+		{
+			// Center the page on a white background, slightly smaller than the
+			// container to allow for padding
+			imageView.setFitWidth(200);
+			imageView.setFitHeight(140);
+
+			StackPane imageContainer = new StackPane(imageView);
+			imageContainer.setStyle("-fx-background-color: white;");
+			imageContainer.setPrefSize(ThumbnailService.WIDTH, ThumbnailService.HEIGHT);
+			previewContainer.getChildren().setAll(imageContainer);
+		} else
+		{
+			imageView.setFitWidth(ThumbnailService.WIDTH);
+			imageView.setFitHeight(ThumbnailService.HEIGHT);
+			previewContainer.getChildren().setAll(imageView);
+		}
+	}
+
 	private Stage getStage()
 	{
 		return (Stage) getScene().getWindow();
@@ -644,7 +582,7 @@ public class MaintenanceDetailView extends BorderPane
 				} catch (Exception e)
 				{
 					String errorMessage = e.getMessage();
-					if (errorMessage.contains("Packet for query is too large"))
+					if (e instanceof FileTooLargeException || errorMessage.contains("Packet for query is too large"))
 					{
 						errorMessage = I18n.get("file-too-large");
 					}
@@ -729,9 +667,16 @@ public class MaintenanceDetailView extends BorderPane
 			try
 			{
 
-				byte[] content = fileInfoController.getFileContent(fileInfo);
-				if (content == null)
+				File targetFile = new File(selectedDirectory.getAbsolutePath() + File.separator + fileInfo.getName());
+
+				boolean written;
+				try (OutputStream out = new BufferedOutputStream(new FileOutputStream(targetFile)))
 				{
+					written = fileInfoController.writeFileContent(fileInfo, out);
+				}
+				if (!written)
+				{
+					targetFile.delete();
 					Alert errorAlert = new Alert(Alert.AlertType.WARNING);
 					errorAlert.setTitle(I18n.get("download-error"));
 					errorAlert.setHeaderText(I18n.get("file-unavailable"));
@@ -741,13 +686,6 @@ public class MaintenanceDetailView extends BorderPane
 					return;
 				}
 
-				File targetFile = new File(selectedDirectory.getAbsolutePath() + File.separator + fileInfo.getName());
-
-				try (FileOutputStream fos = new FileOutputStream(targetFile))
-				{
-					fos.write(content);
-				}
-
 				Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
 				successAlert.setTitle(I18n.get("download-successfull"));
 				successAlert.setHeaderText(I18n.get("file-downloaded"));
@@ -783,6 +721,7 @@ public class MaintenanceDetailView extends BorderPane
 			{
 
 				fileInfoController.deleteFile(fileInfo);
+				thumbnailService.evict(fileInfo);
 
 				currentFiles.remove(fileInfo);
 				refreshFilesSection();
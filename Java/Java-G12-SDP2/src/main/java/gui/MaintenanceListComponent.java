@@ -16,6 +16,7 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import domain.MaintenanceController;
 import dto.MachineDTO;
 import dto.MaintenanceDTO;
+import dto.MaintenanceRow;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.event.Event;
@@ -36,6 +37,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import util.AuthenticationUtil;
 import util.I18n;
+import util.KeysetPaginator;
 import util.MaintenanceStatus;
 import util.Role;
 
@@ -43,7 +45,7 @@ public class MaintenanceListComponent extends VBox
 {
 	private final MainLayout mainLayout;
 	private MaintenanceController mc;
-	private TableView<MaintenanceDTO> table;
+	private TableView<MaintenanceRow> table;
 
 	private TextField searchField;
 	private DatePicker executionDatePickerFilter;
@@ -53,8 +55,16 @@ public class MaintenanceListComponent extends VBox
 	private TextField commentsFilter;
 	private ComboBox<String> statusFilter;
 
-	private List<MaintenanceDTO> allMaintenances;
-	private List<MaintenanceDTO> filteredMaintenances;
+	private KeysetPaginator<MaintenanceRow> paginator;
+	/**
+	 * Every maintenance of this screen, only loaded once a filter is used.
+	 */
+	private List<MaintenanceRow> allMaintenances;
+	/**
+	 * The maintenances matching the active filters, or null when no filter is
+	 * active and pages are fetched straight from the database.
+	 */
+	private List<MaintenanceRow> filteredMaintenances;
 	private MachineDTO machineDTO;
 
 	private int itemsPerPage = 10;
@@ -83,9 +93,9 @@ public class MaintenanceListComponent extends VBox
 	{
 		this.getStylesheets().add(getClass().getResource("/css/tablePane.css").toExternalForm());
 
-		allMaintenances = machineDTO == null ? mc.getMaintenances()
-				: mc.getMaintenances().stream().filter((m) -> m.machine().equals(machineDTO)).toList();
-		filteredMaintenances = allMaintenances;
+		Integer machineId = machineDTO == null ? null : machineDTO.id();
+		paginator = new KeysetPaginator<>((afterId, limit) -> mc.getMaintenancePage(machineId, afterId, limit),
+				MaintenanceRow::id);
 
 		table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
@@ -95,7 +105,7 @@ public class MaintenanceListComponent extends VBox
 		this.setSpacing(20);
 
 		this.getChildren().addAll(titleSection, tableSection);
-		updateTable(filteredMaintenances);
+		updateTable(null);
 	}
 
 	private VBox createTitleSection()
@@ -153,8 +163,8 @@ public class MaintenanceListComponent extends VBox
 	{
 		HBox filterBox = createTableHeaders();
 
-		TableColumn<MaintenanceDTO, Void> editColumn = new TableColumn<>(I18n.get("edit"));
-		editColumn.setCellFactory(param -> new TableCell<MaintenanceDTO, Void>()
+		TableColumn<MaintenanceRow, Void> editColumn = new TableColumn<>(I18n.get("edit"));
+		editColumn.setCellFactory(param -> new TableCell<MaintenanceRow, Void>()
 		{
 			private final Button editButton = new Button();
 			{
@@ -164,10 +174,10 @@ public class MaintenanceListComponent extends VBox
 				editButton.setBackground(Background.EMPTY);
 				editButton.setOnAction(event ->
 				{
-					MaintenanceDTO maintenance = getTableRow().getItem();
+					MaintenanceRow maintenance = getTableRow().getItem();
 					if (maintenance != null)
 					{
-						goToEditMaintenanceForm(maintenance);
+						goToEditMaintenanceForm(mc.getMaintenanceDTO(maintenance.id()));
 					}
 				});
 			}
@@ -180,28 +190,28 @@ public class MaintenanceListComponent extends VBox
 			}
 		});
 
-		TableColumn<MaintenanceDTO, String> col1 = createColumn(I18n.get("maintenance.executiondate"), m -> m.executionDate().toString());
-		TableColumn<MaintenanceDTO, String> col2 = createColumn(I18n.get("maintenance.starttime"),
+		TableColumn<MaintenanceRow, String> col1 = createColumn(I18n.get("maintenance.executiondate"), m -> m.executionDate().toString());
+		TableColumn<MaintenanceRow, String> col2 = createColumn(I18n.get("maintenance.starttime"),
 				m -> m.startDate().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")).toString());
-		TableColumn<MaintenanceDTO, String> col3 = createColumn(I18n.get("maintenance.endtime"),
+		TableColumn<MaintenanceRow, String> col3 = createColumn(I18n.get("maintenance.endtime"),
 				m -> m.endDate().toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm")).toString());
-		TableColumn<MaintenanceDTO, String> col4 = createColumn(I18n.get("maintenance.technician-name"), m ->
+		TableColumn<MaintenanceRow, String> col4 = createColumn(I18n.get("maintenance.technician-name"), m ->
 		{
-			if (m.technician() == null)
+			if (m.technicianLastName() == null)
 				return I18n.get("maintenance.technician.unknown");
-			String first = m.technician().firstName();
-			String last = m.technician().lastName();
+			String first = m.technicianFirstName();
+			String last = m.technicianLastName();
 			String formattedLast = last.substring(0, 1).toUpperCase() + last.substring(1).toLowerCase();
 			return String.format("%s %s", first, formattedLast);
 		});
-		TableColumn<MaintenanceDTO, String> col5 = createColumn(I18n.get("maintenance.reason"), MaintenanceDTO::reason);
-		TableColumn<MaintenanceDTO, String> col6 = createColumn(I18n.get("maintenance.comments"), MaintenanceDTO::comments);
-		TableColumn<MaintenanceDTO, String> col7 = createColumn(I18n.get("maintenance.status"),
+		TableColumn<MaintenanceRow, String> col5 = createColumn(I18n.get("maintenance.reason"), MaintenanceRow::reason);
+		TableColumn<MaintenanceRow, String> col6 = createColumn(I18n.get("maintenance.comments"), MaintenanceRow::comments);
+		TableColumn<MaintenanceRow, String> col7 = createColumn(I18n.get("maintenance.status"),
 			    m -> I18n.convertStatus(m.status().toString()));
-		TableColumn<MaintenanceDTO, String> col8 = createColumn(I18n.get("machine"),
-				m -> String.format("%s %d", I18n.get("machine"), m.machine().id()));
+		TableColumn<MaintenanceRow, String> col8 = createColumn(I18n.get("machine"),
+				m -> String.format("%s %d", I18n.get("machine"), m.machineId()));
 
-		List<TableColumn<MaintenanceDTO, ?>> columns;
+		List<TableColumn<MaintenanceRow, ?>> columns;
 		if (machineDTO != null)
 		{
 			columns = new ArrayList<>(List.of(col1, col2, col3, col4, col5, col6, col7));
@@ -218,14 +228,14 @@ public class MaintenanceListComponent extends VBox
 
 		if (AuthenticationUtil.hasRole(Role.VERANTWOORDELIJKE) || AuthenticationUtil.hasRole(Role.ADMINISTRATOR))
 		{
-			TableColumn<MaintenanceDTO, Void> col9 = createDetailsButton();
+			TableColumn<MaintenanceRow, Void> col9 = createDetailsButton();
 			columns.add(col9);
 
 		}
 
 		if (AuthenticationUtil.hasRole(Role.TECHNIEKER) || AuthenticationUtil.hasRole(Role.ADMINISTRATOR))
 		{
-			TableColumn<MaintenanceDTO, Void> col10 = createAddReportButton();
+			TableColumn<MaintenanceRow, Void> col10 = createAddReportButton();
 			columns.add(col10);
 		}
 
@@ -346,12 +356,28 @@ public class MaintenanceListComponent extends VBox
 		String commentsQuery = commentsFilter.getText() != null ? commentsFilter.getText().toLowerCase().trim() : "";
 		String statusString = statusFilter.getValue() != null ? statusFilter.getValue() : "";
 
+		if (query.isEmpty() && selectedDate == null && selectedStartTime == null && selectedEndTime == null
+				&& technicianString == null && reasonQuery.isBlank() && commentsQuery.isBlank()
+				&& statusString.isBlank())
+		{
+			filteredMaintenances = null;
+			currentPage = 0;
+			updatePagination();
+			updateTableItems();
+			return;
+		}
+
+		if (allMaintenances == null)
+		{
+			allMaintenances = mc.getMaintenanceRows(machineDTO == null ? null : machineDTO.id());
+		}
+
 		filteredMaintenances = allMaintenances.stream().filter(m ->
 		{
 			boolean matchesQuery = query.isEmpty() || (m.reason() != null && m.reason().toLowerCase().contains(query))
 					|| (m.comments() != null && m.comments().toLowerCase().contains(query))
-					|| (m.technician() != null && m.technician().firstName().toLowerCase().contains(query))
-					|| (m.technician() != null && m.technician().lastName().toLowerCase().contains(query));
+					|| (m.technicianFirstName() != null && m.technicianFirstName().toLowerCase().contains(query))
+					|| (m.technicianLastName() != null && m.technicianLastName().toLowerCase().contains(query));
 
 			boolean matchesDate = selectedDate == null || selectedDate.equals(m.executionDate());
 
@@ -361,7 +387,7 @@ public class MaintenanceListComponent extends VBox
 					|| m.endDate() == LocalDateTime.of(m.executionDate(), selectedEndTime);
 
 			boolean matchesTechnician = technicianString == null
-					|| String.format("%s %s", m.technician().firstName(), m.technician().lastName()).toLowerCase()
+					|| String.format("%s %s", m.technicianFirstName(), m.technicianLastName()).toLowerCase()
 							.equals(technicianString.toLowerCase());
 
 			boolean matchesReason = reasonQuery.isBlank() || m.reason().toLowerCase().contains(reasonQuery);
@@ -380,16 +406,16 @@ public class MaintenanceListComponent extends VBox
 		updateTableItems();
 	}
 
-	private TableColumn<MaintenanceDTO, String> createColumn(String title, Function<MaintenanceDTO, String> mapper)
+	private TableColumn<MaintenanceRow, String> createColumn(String title, Function<MaintenanceRow, String> mapper)
 	{
-		TableColumn<MaintenanceDTO, String> col = new TableColumn<>(title);
+		TableColumn<MaintenanceRow, String> col = new TableColumn<>(title);
 		col.setCellValueFactory(data -> new SimpleStringProperty(mapper.apply(data.getValue())));
 		return col;
 	}
 
-	private TableColumn<MaintenanceDTO, Void> createDetailsButton()
+	private TableColumn<MaintenanceRow, Void> createDetailsButton()
 	{
-		TableColumn<MaintenanceDTO, Void> col = new TableColumn<>(I18n.get("details"));
+		TableColumn<MaintenanceRow, Void> col = new TableColumn<>(I18n.get("details"));
 
 		col.setCellFactory(param -> new TableCell<>()
 		{
@@ -400,8 +426,8 @@ public class MaintenanceListComponent extends VBox
 					if (AuthenticationUtil.hasRole(Role.ADMINISTRATOR)
 							|| AuthenticationUtil.hasRole(Role.VERANTWOORDELIJKE))
 					{
-						MaintenanceDTO selectedMaintenance = getTableView().getItems().get(getIndex());
-						goToDetails(mainLayout, selectedMaintenance);
+						MaintenanceRow selectedMaintenance = getTableView().getItems().get(getIndex());
+						goToDetails(mainLayout, mc.getMaintenanceDTO(selectedMaintenance.id()));
 					} else
 					{
 						mainLayout.showNotAllowedAlert();
@@ -423,9 +449,9 @@ public class MaintenanceListComponent extends VBox
 		return col;
 	}
 
-	private TableColumn<MaintenanceDTO, Void> createAddReportButton()
+	private TableColumn<MaintenanceRow, Void> createAddReportButton()
 	{
-		TableColumn<MaintenanceDTO, Void> col = new TableColumn<>(I18n.get("maintenance.add-report"));
+		TableColumn<MaintenanceRow, Void> col = new TableColumn<>(I18n.get("maintenance.add-report"));
 
 		col.setCellFactory(param -> new TableCell<>()
 		{
@@ -435,8 +461,8 @@ public class MaintenanceListComponent extends VBox
 				{
 					if (AuthenticationUtil.hasRole(Role.ADMINISTRATOR) || AuthenticationUtil.hasRole(Role.TECHNIEKER))
 					{
-						MaintenanceDTO selectedMaintenance = getTableView().getItems().get(getIndex());
-						goToAddReport(mainLayout, selectedMaintenance);
+						MaintenanceRow selectedMaintenance = getTableView().getItems().get(getIndex());
+						goToAddReport(mainLayout, mc.getMaintenanceDTO(selectedMaintenance.id()));
 
 					} else
 					{
@@ -464,16 +490,13 @@ public class MaintenanceListComponent extends VBox
 		updateTotalPages();
 		Pagination pagination = new Pagination(Math.max(1, totalPages), 0);
 		pagination.setPageFactory(this::createPage);
-		pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) ->
-		{
-			currentPage = newIndex.intValue();
-			updateTableItems();
-		});
 		return pagination;
 	}
 
 	private HBox createPage(int pageIndex)
 	{
+		currentPage = pageIndex;
+		updateTableItems();
 		return new HBox();
 	}
 
@@ -486,11 +509,20 @@ public class MaintenanceListComponent extends VBox
 
 	private void updateTotalPages()
 	{
-		totalPages = (int) Math.ceil((double) filteredMaintenances.size() / itemsPerPage);
+		long totalItems = filteredMaintenances == null
+				? mc.getMaintenanceCount(machineDTO == null ? null : machineDTO.id())
+				: filteredMaintenances.size();
+		totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
 	}
 
 	private void updateTableItems()
 	{
+		if (filteredMaintenances == null)
+		{
+			table.getItems().setAll(paginator.getPage(currentPage, itemsPerPage));
+			return;
+		}
+
 		int fromIndex = currentPage * itemsPerPage;
 		int toIndex = Math.min(fromIndex + itemsPerPage, filteredMaintenances.size());
 
@@ -499,14 +531,14 @@ public class MaintenanceListComponent extends VBox
 			table.getItems().clear();
 		} else
 		{
-			List<MaintenanceDTO> currentPageItems = fromIndex < toIndex
+			List<MaintenanceRow> currentPageItems = fromIndex < toIndex
 					? filteredMaintenances.subList(fromIndex, toIndex)
 					: List.of();
 			table.getItems().setAll(currentPageItems);
 		}
 	}
 
-	private void updateTable(List<MaintenanceDTO> list)
+	private void updateTable(List<MaintenanceRow> list)
 	{
 		filteredMaintenances = list;
 		updatePagination();
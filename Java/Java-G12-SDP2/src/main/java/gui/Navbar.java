@@ -7,6 +7,9 @@ import org.kordamp.ikonli.javafx.FontIcon;
 import domain.NotificationController;
 import domain.User;
 import dto.NotificationDTO;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
@@ -22,6 +25,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import util.AuthenticationUtil;
 import util.CurrentPage;
 import util.I18n;
@@ -29,6 +33,10 @@ import util.Role;
 
 public class Navbar extends HBox
 {
+	/**
+	 * How often the unread count on the bell is refreshed.
+	 */
+	private static final int BADGE_REFRESH_SECONDS = 15;
 
 	private Label userName;
 	private Label userRole;
@@ -72,7 +80,7 @@ public class Navbar extends HBox
 			{
 				notificationMenu.getItems().clear();
 
-				List<NotificationDTO> unread = notificationController.getAllUnread();
+				List<NotificationDTO> unread = notificationController.getUnreadFeed();
 
 				if (unread.isEmpty())
 				{
@@ -88,6 +96,7 @@ public class Navbar extends HBox
 
 						item.setOnAction(ev -> {
 							notificationController.markAsRead(dto.id());
+							updateBadge(notificationBtn);
 							mainLayout.showNotificationDetails(dto);
 							notificationMenu.hide();
 						});
@@ -109,6 +118,20 @@ public class Navbar extends HBox
 			}
 		});
 
+		updateBadge(notificationBtn);
+		Timeline badgeRefresh = new Timeline(
+				new KeyFrame(Duration.seconds(BADGE_REFRESH_SECONDS), e -> updateBadge(notificationBtn)));
+		badgeRefresh.setCycleCount(Animation.INDEFINITE);
+		sceneProperty().addListener((obs, oldScene, newScene) -> {
+			if (newScene == null)
+			{
+				badgeRefresh.stop();
+			} else
+			{
+				badgeRefresh.play();
+			}
+		});
+
 		Button logoutBtn = new Button(I18n.get("logout.button"));
 		logoutBtn.getStyleClass().add("logout-btn");
 		logoutBtn.setOnAction(e -> mainLayout.showLoginScreen());
@@ -154,6 +177,15 @@ public class Navbar extends HBox
 		this.getChildren().addAll(logoBtn, leftSpacer, navLinks, rightSpacer, rightElements);
 	}
 
+	/**
+	 * Shows the number of unread notifications next to the bell.
+	 */
+	private void updateBadge(Button notificationBtn)
+	{
+		long unread = notificationController.getUnreadCount();
+		notificationBtn.setText(unread == 0 ? "" : unread > 99 ? "99+" : String.valueOf(unread));
+	}
+
 	private Button createNavButton(String text, CurrentPage page, CurrentPage activePage,
 			EventHandler<ActionEvent> handler)
 	{
@@ -1,6 +1,9 @@
 package gui;
 
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import domain.NotificationController;
 import dto.NotificationDTO;
@@ -17,6 +20,10 @@ import util.I18n;
 
 public class NotificationListComponent extends VBox
 {
+	/**
+	 * Number of read notifications loaded at a time.
+	 */
+	private static final int READ_PAGE_SIZE = 50;
 
 	private ListView<NotificationDTO> notificationList;
 	private NotificationController nc;
@@ -48,7 +55,7 @@ public class NotificationListComponent extends VBox
 		unreadLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
 
 		ListView<NotificationDTO> unreadListView = new ListView<>();
-		unreadNotifications = FXCollections.observableArrayList(nc.getAllUnread());
+		unreadNotifications = FXCollections.observableArrayList(nc.getUnreadFeed());
 		unreadListView.setItems(unreadNotifications);
 		unreadListView.setMaxHeight(300);
 
@@ -73,7 +80,7 @@ public class NotificationListComponent extends VBox
 						{
 							nc.markAsRead(item.id());
 							unreadNotifications.remove(item);
-							readNotifications.add(item);
+							readNotifications.add(0, item);
 						}
 					});
 
@@ -121,7 +128,21 @@ public class NotificationListComponent extends VBox
 
 		unreadListView.setStyle("-fx-background-color: transparent;" + "-fx-background-insets: 0;" + "-fx-padding: 5;");
 
-		VBox unreadBox = new VBox(10, unreadLabel, unreadListView);
+		Button markAllButton = new Button(I18n.get("mark-all-as-read"));
+		markAllButton.setOnAction(e ->
+		{
+			if (unreadNotifications.isEmpty())
+			{
+				return;
+			}
+			int fromId = unreadNotifications.stream().mapToInt(NotificationDTO::id).min().getAsInt();
+			int toId = unreadNotifications.stream().mapToInt(NotificationDTO::id).max().getAsInt();
+			nc.markRangeAsRead(fromId, toId);
+			readNotifications.addAll(0, unreadNotifications);
+			unreadNotifications.clear();
+		});
+
+		VBox unreadBox = new VBox(10, unreadLabel, unreadListView, markAllButton);
 		unreadBox.setPadding(new Insets(15));
 		unreadBox.setStyle("-fx-background-color: #e8f4f8;" + "-fx-background-radius: 8px;"
 				+ "-fx-border-color: #d0e8f2;" + "-fx-border-radius: 8px;");
@@ -130,8 +151,11 @@ public class NotificationListComponent extends VBox
 		readLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
 
 		ListView<NotificationDTO> readListView = new ListView<>();
-		readNotifications = FXCollections.observableArrayList(nc.getAllRead());
+		readNotifications = FXCollections.observableArrayList();
 		readListView.setItems(readNotifications);
+		Button loadMoreButton = new Button(I18n.get("notifications-load-more"));
+		loadMoreButton.setOnAction(e -> loadReadPage(loadMoreButton));
+		loadReadPage(loadMoreButton);
 		readListView.setMaxHeight(300);
 
 		readListView.setCellFactory(lv ->
@@ -194,7 +218,7 @@ public class NotificationListComponent extends VBox
 		noReadPlaceholder.setStyle("-fx-text-fill: #777; -fx-font-style: italic;");
 		readListView.setPlaceholder(noReadPlaceholder);
 
-		VBox readBox = new VBox(10, readLabel, readListView);
+		VBox readBox = new VBox(10, readLabel, readListView, loadMoreButton);
 		readBox.setPadding(new Insets(15));
 		readBox.setStyle("-fx-background-color: #f9f9f9;" + "-fx-background-radius: 8px;" + "-fx-border-color: #e6e6e6;"
 				+ "-fx-border-radius: 8px;");
@@ -207,4 +231,18 @@ public class NotificationListComponent extends VBox
 		VBox.setMargin(unreadBox, new Insets(0, 0, 15, 0));
 		VBox.setMargin(separator, new Insets(5, 0, 15, 0));
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Appends the next page of read notifications, continuing after the oldest
+	 * one loaded so far. The button is hidden once there are no more.
+	 */
+	private void loadReadPage(Button loadMoreButton)
+	{
+		Integer beforeId = readNotifications.stream().map(NotificationDTO::id).min(Integer::compare).orElse(null);
+		List<NotificationDTO> page = nc.getReadPage(beforeId, READ_PAGE_SIZE);
+		Set<Integer> shown = readNotifications.stream().map(NotificationDTO::id).collect(Collectors.toSet());
+		page.stream().filter(dto -> !shown.contains(dto.id())).forEach(readNotifications::add);
+		loadMoreButton.setVisible(page.size() == READ_PAGE_SIZE);
+		loadMoreButton.setManaged(page.size() == READ_PAGE_SIZE);
+	}
+}
@@ -7,10 +7,11 @@ import java.util.stream.Collectors;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import domain.SiteController;
-import dto.SiteDTOWithMachines;
+import dto.SiteRow;
 import interfaces.Observer;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.geometry.Pos;
@@ -31,6 +32,8 @@ import javafx.scene.layout.VBox;
 import util.AuthenticationUtil;
 import util.CurrentPage;
 import util.I18n;
+import util.KeysetPaginator;
+import util.MachineStatus;
 import util.Role;
 
 public class SitesListComponent extends VBox implements Observer
@@ -38,7 +41,7 @@ public class SitesListComponent extends VBox implements Observer
 	private final MainLayout mainLayout;
 	private SiteController sc;
 
-	private TableView<SiteDTOWithMachines> table;
+	private TableView<SiteRow> table;
 	private TextField searchField;
 
 	private ComboBox<String> statusFilter;
@@ -46,8 +49,12 @@ public class SitesListComponent extends VBox implements Observer
 	private ComboBox<String> verantwoordelijkeFilter;
 	private TextField minMachinesField;
 	private TextField maxMachinesField;
-	private List<SiteDTOWithMachines> allSites;
-	private List<SiteDTOWithMachines> filteredSites;
+	private KeysetPaginator<SiteRow> paginator;
+	/**
+	 * The sites matching the active filters, or null when no filter is active and
+	 * pages are fetched straight from the database.
+	 */
+	private List<SiteRow> filteredSites;
 
 	private int itemsPerPage = 10;
 	private int currentPage = 0;
@@ -59,25 +66,22 @@ public class SitesListComponent extends VBox implements Observer
 		this.mainLayout = mainLayout;
 		this.sc = mainLayout.getServices().getSiteController();
 		this.table = new TableView<>();
+		this.paginator = new KeysetPaginator<>(sc::getSitePage, SiteRow::id);
 		initializeGUI();
 		loadSites();
 	}
 
 	private void loadSites()
 	{
-		allSites = sc.getSites();
-		filteredSites = allSites;
+		paginator.reset();
 		updateFilterOptions();
-		updateTable(allSites);
+		updateTable(null);
 	}
 
 	private void initializeGUI()
 	{
 		this.getStylesheets().add(getClass().getResource("/css/tablePane.css").toExternalForm());
 
-		allSites = sc.getSites();
-		filteredSites = allSites;
-
 		table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
 
 		VBox titleSection = createTitleSection();
@@ -86,8 +90,6 @@ public class SitesListComponent extends VBox implements Observer
 		this.setSpacing(20);
 		this.getChildren().addAll(titleSection, tableSection);
 
-		updateFilterOptions();
-		updateTable(filteredSites);
 		configureTableLayout();
 	}
 
@@ -145,8 +147,8 @@ public class SitesListComponent extends VBox implements Observer
 	{
 		HBox filterBox = createTableHeaders();
 
-		TableColumn<SiteDTOWithMachines, Void> editColumn = new TableColumn<>(I18n.get("edit"));
-		editColumn.setCellFactory(param -> new TableCell<SiteDTOWithMachines, Void>()
+		TableColumn<SiteRow, Void> editColumn = new TableColumn<>(I18n.get("edit"));
+		editColumn.setCellFactory(param -> new TableCell<SiteRow, Void>()
 		{
 			private final Button editButton = new Button();
 			{
@@ -156,7 +158,7 @@ public class SitesListComponent extends VBox implements Observer
 				editButton.setBackground(Background.EMPTY);
 				editButton.setOnAction(event ->
 				{
-					SiteDTOWithMachines site = getTableRow().getItem();
+					SiteRow site = getTableRow().getItem();
 					if (site != null)
 					{
 						openEditSiteForm(site.id());
@@ -172,37 +174,47 @@ public class SitesListComponent extends VBox implements Observer
 			}
 		});
 
-		TableColumn<SiteDTOWithMachines, Number> col1 = new TableColumn<>(I18n.get("number"));
+		TableColumn<SiteRow, Number> col1 = new TableColumn<>(I18n.get("number"));
 		col1.setMaxWidth(70);
 		col1.setMinWidth(70);
 		col1.setCellValueFactory(data -> new SimpleIntegerProperty(data.getValue().id()));
 
-		TableColumn<SiteDTOWithMachines, String> col2 = new TableColumn<>(I18n.get("site.name"));
+		TableColumn<SiteRow, String> col2 = new TableColumn<>(I18n.get("site.name"));
 		col2.setPrefWidth(200);
 		col2.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().siteName()));
 
-		TableColumn<SiteDTOWithMachines, String> col3 = new TableColumn<>(I18n.get("site.manager"));
+		TableColumn<SiteRow, String> col3 = new TableColumn<>(I18n.get("site.manager"));
 		col3.setPrefWidth(200);
-		col3.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().verantwoordelijke().firstName()));
+		col3.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().verantwoordelijkeFirstName()));
 
-		TableColumn<SiteDTOWithMachines, String> col4 = new TableColumn<>(I18n.get("site.status"));
+		TableColumn<SiteRow, String> col4 = new TableColumn<>(I18n.get("site.status"));
 		col4.setPrefWidth(100);
 		col4.setCellValueFactory(data -> new SimpleStringProperty(I18n.convertStatus(data.getValue().status().toString())));
 
-		TableColumn<SiteDTOWithMachines, Number> col5 = new TableColumn<>(I18n.get("site.machine-count"));
+		TableColumn<SiteRow, Number> col5 = new TableColumn<>(I18n.get("site.machine-count"));
 		col5.setPrefWidth(150);
-		col5.setCellValueFactory(data -> new SimpleIntegerProperty(data.getValue().machines().size()));
+		col5.setCellValueFactory(data -> new SimpleLongProperty(data.getValue().machineCount()));
+
+		TableColumn<SiteRow, Number> col6 = new TableColumn<>(I18n.get("running"));
+		col6.setPrefWidth(100);
+		col6.setCellValueFactory(
+				data -> new SimpleLongProperty(data.getValue().machineCount(MachineStatus.DRAAIT)));
+
+		TableColumn<SiteRow, Number> col7 = new TableColumn<>(I18n.get("under-maintenance"));
+		col7.setPrefWidth(100);
+		col7.setCellValueFactory(
+				data -> new SimpleLongProperty(data.getValue().machineCount(MachineStatus.IN_ONDERHOUD)));
 
-		TableColumn<SiteDTOWithMachines, String> showColumn = new TableColumn<>(I18n.get("details"));
+		TableColumn<SiteRow, String> showColumn = new TableColumn<>(I18n.get("details"));
 		showColumn.setMaxWidth(100);
 		showColumn.setMinWidth(100);
-		showColumn.setCellFactory(param -> new TableCell<SiteDTOWithMachines, String>()
+		showColumn.setCellFactory(param -> new TableCell<SiteRow, String>()
 		{
 			private final Button viewButton = new Button(I18n.get("details"));
 			{
 				viewButton.setOnAction(event ->
 				{
-					SiteDTOWithMachines site = getTableRow().getItem();
+					SiteRow site = getTableRow().getItem();
 					if (site != null)
 					{
 						openSiteDetails(site.id());
@@ -218,7 +230,7 @@ public class SitesListComponent extends VBox implements Observer
 			}
 		});
 
-		table.getColumns().addAll(col1, col2, col3, col4, col5);
+		table.getColumns().addAll(col1, col2, col3, col4, col5, col6, col7);
 		if (AuthenticationUtil.hasRole(Role.VERANTWOORDELIJKE) || AuthenticationUtil.hasRole(Role.ADMINISTRATOR))
 		{
 			table.getColumns().add(editColumn);
@@ -347,8 +359,15 @@ public class SitesListComponent extends VBox implements Observer
 
 		int minMachines = parseIntSafely(minMachinesField.getText(), Integer.MIN_VALUE);
 		int maxMachines = parseIntSafely(maxMachinesField.getText(), Integer.MAX_VALUE);
-		filteredSites = sc.getFilteredSites(searchQuery, selectedStatus, selectedName, selectedVerantwoordelijke,
-				minMachines, maxMachines);
+		if (searchQuery.isBlank() && selectedStatus == null && selectedName == null && selectedVerantwoordelijke == null
+				&& minMachines == Integer.MIN_VALUE && maxMachines == Integer.MAX_VALUE)
+		{
+			filteredSites = null;
+		} else
+		{
+			filteredSites = sc.getFilteredSites(searchQuery, selectedStatus, selectedName, selectedVerantwoordelijke,
+					minMachines, maxMachines);
+		}
 
 		currentPage = 0;
 		updatePagination();
@@ -375,16 +394,13 @@ public class SitesListComponent extends VBox implements Observer
 		updateTotalPages();
 		Pagination pagination = new Pagination(Math.max(1, totalPages), 0);
 		pagination.setPageFactory(this::createPage);
-		pagination.currentPageIndexProperty().addListener((obs, oldIndex, newIndex) ->
-		{
-			currentPage = newIndex.intValue();
-			updateTableItems();
-		});
 		return pagination;
 	}
 
 	private HBox createPage(int pageIndex)
 	{
+		currentPage = pageIndex;
+		updateTableItems();
 		return new HBox();
 	}
 
@@ -397,11 +413,18 @@ public class SitesListComponent extends VBox implements Observer
 
 	private void updateTotalPages()
 	{
-		totalPages = (int) Math.ceil((double) filteredSites.size() / itemsPerPage);
+		long totalItems = filteredSites == null ? sc.getSiteCount() : filteredSites.size();
+		totalPages = (int) Math.ceil((double) totalItems / itemsPerPage);
 	}
 
 	private void updateTableItems()
 	{
+		if (filteredSites == null)
+		{
+			table.getItems().setAll(paginator.getPage(currentPage, itemsPerPage));
+			return;
+		}
+
 		int fromIndex = currentPage * itemsPerPage;
 		int toIndex = Math.min(fromIndex + itemsPerPage, filteredSites.size());
 
@@ -410,13 +433,13 @@ public class SitesListComponent extends VBox implements Observer
 			table.getItems().clear();
 		} else
 		{
-			List<SiteDTOWithMachines> currentPageItems = fromIndex < toIndex ? filteredSites.subList(fromIndex, toIndex)
+			List<SiteRow> currentPageItems = fromIndex < toIndex ? filteredSites.subList(fromIndex, toIndex)
 					: List.of();
 			table.getItems().setAll(currentPageItems);
 		}
 	}
 
-	private void updateTable(List<SiteDTOWithMachines> sites)
+	private void updateTable(List<SiteRow> sites)
 	{
 		filteredSites = sites;
 		currentPage = 0;
@@ -445,12 +468,6 @@ public class SitesListComponent extends VBox implements Observer
 	@Override
 	public void update(String message)
 	{
-		Platform.runLater(() ->
-		{
-			allSites = sc.getSites();
-			filteredSites = new ArrayList<>(allSites);
-			updateFilterOptions();
-			updateTable(filteredSites);
-		});
+		Platform.runLater(this::loadSites);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,344 @@
+package gui;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import domain.FileInfo;
+import domain.FileInfoController;
+import javafx.scene.image.Image;
+
+/**
+ * Renders preview thumbnails of PDF and image attachments on a small
+ * background pool. Thumbnails are rendered at their display size, encoded as
+ * PNG and cached both in memory (least recently used first out, bounded by
+ * bytes) and on disk, keyed by the content hash of the file or, for inline
+ * content, by its ID, size and upload time. The disk cache lives in a
+ * directory of its own per database (see {@link #cacheDirectory(Path, String)}),
+ * so databases never share inline thumbnails.
+ */
+public class ThumbnailService
+{
+	/**
+	 * Size of the box thumbnails are scaled to fit in.
+	 */
+	public static final int WIDTH = 217;
+	public static final int HEIGHT = 160;
+
+	private static final int THREADS = 2;
+	private static final int QUEUE_CAPACITY = 64;
+	private static final long MEMORY_CACHE_BYTES = 32L * 1024 * 1024;
+
+	private final long memoryCacheBytes;
+
+	private final FileInfoController fileInfoController;
+	private final Path diskCacheDirectory;
+	private final ThreadPoolExecutor executor;
+
+	private final LinkedHashMap<String, byte[]> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+	private long memoryCacheSize;
+
+	private final Map<String, CompletableFuture<Image>> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new ThumbnailService.
+	 *
+	 * @param fileInfoController the controller used to load file content
+	 * @param diskCacheDirectory the directory rendered thumbnails are kept in
+	 */
+	public ThumbnailService(FileInfoController fileInfoController, Path diskCacheDirectory)
+	{
+		this(fileInfoController, diskCacheDirectory, QUEUE_CAPACITY, MEMORY_CACHE_BYTES);
+	}
+
+	ThumbnailService(FileInfoController fileInfoController, Path diskCacheDirectory, int queueCapacity,
+			long memoryCacheBytes)
+	{
+		this.fileInfoController = fileInfoController;
+		this.diskCacheDirectory = diskCacheDirectory;
+		this.memoryCacheBytes = memoryCacheBytes;
+		this.executor = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), daemonThreads());
+	}
+
+	/**
+	 * Returns the disk cache directory for a database: a subdirectory of the
+	 * given root named after the database URL.
+	 *
+	 * @param root        the directory all thumbnail caches live in
+	 * @param databaseUrl the JDBC URL of the database the attachments come from
+	 * @return the cache directory of that database
+	 */
+	public static Path cacheDirectory(Path root, String databaseUrl)
+	{
+		return root.resolve(UUID.nameUUIDFromBytes(databaseUrl.getBytes(StandardCharsets.UTF_8)).toString());
+	}
+
+	/**
+	 * Returns the thumbnail of a PDF or image file. A cached thumbnail is returned
+	 * right away; otherwise it is rendered in the background. The future completes
+	 * on a background thread, so UI updates must go through
+	 * {@code Platform.runLater}.
+	 *
+	 * @param fileInfo the file
+	 * @return the thumbnail; completes exceptionally if it cannot be rendered or
+	 *         too many thumbnails are already waiting
+	 */
+	public CompletableFuture<Image> getThumbnail(FileInfo fileInfo)
+	{
+		String key = cacheKey(fileInfo);
+		byte[] cached = fromMemory(key);
+		if (cached != null)
+		{
+			return CompletableFuture.completedFuture(toImage(cached));
+		}
+
+		CompletableFuture<Image> future = new CompletableFuture<>();
+		CompletableFuture<Image> existing = pending.putIfAbsent(key, future);
+		if (existing != null)
+		{
+			return existing;
+		}
+		try
+		{
+			executor.execute(() -> {
+				try
+				{
+					future.complete(toImage(load(key, fileInfo)));
+				} catch (Exception e)
+				{
+					future.completeExceptionally(e);
+				} finally
+				{
+					pending.remove(key, future);
+				}
+			});
+		} catch (RejectedExecutionException e)
+		{
+			pending.remove(key, future);
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Drops the cached thumbnail of a deleted file. Thumbnails keyed by content
+	 * hash are kept, other files may share the content.
+	 *
+	 * @param fileInfo the deleted file
+	 */
+	public void evict(FileInfo fileInfo)
+	{
+		if (fileInfo.getContentHash() != null)
+		{
+			return;
+		}
+		String key = cacheKey(fileInfo);
+		synchronized (memoryCache)
+		{
+			byte[] removed = memoryCache.remove(key);
+			if (removed != null)
+			{
+				memoryCacheSize -= removed.length;
+			}
+		}
+		try
+		{
+			Files.deleteIfExists(diskCacheDirectory.resolve(key + ".png"));
+		} catch (IOException e)
+		{
+			// A stale thumbnail of a deleted file is never looked up again.
+		}
+	}
+
+	private byte[] load(String key, FileInfo fileInfo) throws IOException
+	{
+		Path cachedFile = diskCacheDirectory.resolve(key + ".png");
+		byte[] png;
+		if (Files.exists(cachedFile))
+		{
+			png = Files.readAllBytes(cachedFile);
+		} else
+		{
+			byte[] content = fileInfoController.getFileContent(fileInfo);
+			if (content == null)
+			{
+				throw new IOException("No content available for " + fileInfo.getName());
+			}
+			BufferedImage image = "pdf".equals(fileInfo.getType()) ? renderPdf(content) : renderImage(content);
+			png = encodePng(image);
+			writeToDisk(cachedFile, png);
+		}
+		putInMemory(key, png);
+		return png;
+	}
+
+	private static BufferedImage renderPdf(byte[] content) throws IOException
+	{
+		try (PDDocument document = Loader.loadPDF(content))
+		{
+			PDRectangle page = document.getPage(0).getCropBox();
+			float scale = Math.min(WIDTH / page.getWidth(), HEIGHT / page.getHeight());
+			return new PDFRenderer(document).renderImage(0, scale);
+		}
+	}
+
+	/**
+	 * Large images are subsampled while they are decoded, so a photo of many
+	 * megapixels is never held in memory at full resolution.
+	 */
+	private static BufferedImage renderImage(byte[] content) throws IOException
+	{
+		try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content)))
+		{
+			Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+			if (!readers.hasNext())
+			{
+				throw new IOException("Unsupported image format");
+			}
+			ImageReader reader = readers.next();
+			try
+			{
+				reader.setInput(input);
+				int step = Math.max(1, Math.min(reader.getWidth(0) / WIDTH, reader.getHeight(0) / HEIGHT));
+				ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(step, step, 0, 0);
+				return scaleToFit(reader.read(0, param));
+			} finally
+			{
+				reader.dispose();
+			}
+		}
+	}
+
+	private static BufferedImage scaleToFit(BufferedImage image)
+	{
+		double ratio = Math.min((double) WIDTH / image.getWidth(), (double) HEIGHT / image.getHeight());
+		if (ratio >= 1)
+		{
+			return image;
+		}
+		int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+		int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+		BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = scaled.createGraphics();
+		try
+		{
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.drawImage(image, 0, 0, width, height, null);
+		} finally
+		{
+			graphics.dispose();
+		}
+		return scaled;
+	}
+
+	private static byte[] encodePng(BufferedImage image) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Failing to write the disk cache only costs a re-render next time.
+	 */
+	private void writeToDisk(Path target, byte[] png)
+	{
+		try
+		{
+			Files.createDirectories(diskCacheDirectory);
+			Path temp = Files.createTempFile(diskCacheDirectory, "thumbnail-", ".tmp");
+			Files.write(temp, png);
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	private byte[] fromMemory(String key)
+	{
+		synchronized (memoryCache)
+		{
+			return memoryCache.get(key);
+		}
+	}
+
+	private void putInMemory(String key, byte[] png)
+	{
+		synchronized (memoryCache)
+		{
+			byte[] previous = memoryCache.put(key, png);
+			memoryCacheSize += png.length - (previous == null ? 0 : previous.length);
+			Iterator<byte[]> eldest = memoryCache.values().iterator();
+			while (memoryCacheSize > memoryCacheBytes && eldest.hasNext())
+			{
+				memoryCacheSize -= eldest.next().length;
+				eldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * Inline files have no content hash. Their ID alone is not enough: after the
+	 * database is reset the same ID belongs to another file, so the size and the
+	 * upload time are part of the key as well.
+	 */
+	static String cacheKey(FileInfo fileInfo)
+	{
+		if (fileInfo.getContentHash() != null)
+		{
+			return fileInfo.getContentHash();
+		}
+		LocalDateTime uploaded = fileInfo.getUploadDate();
+		return "file-" + fileInfo.getId() + "-" + fileInfo.getSize() + "-"
+				+ (uploaded == null ? 0 : uploaded.toInstant(ZoneOffset.UTC).toEpochMilli());
+	}
+
+	private static Image toImage(byte[] png)
+	{
+		return new Image(new ByteArrayInputStream(png));
+	}
+
+	private static ThreadFactory daemonThreads()
+	{
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "thumbnail-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
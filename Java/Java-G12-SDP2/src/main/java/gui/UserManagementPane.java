@@ -7,7 +7,7 @@ import java.util.stream.Collectors;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import domain.UserController;
-import dto.UserDTO;
+import dto.UserRow;
 import interfaces.Observer;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -40,14 +40,14 @@ import util.Role;
 public class UserManagementPane extends GridPane implements Observer
 {
 
-	private TableView<UserDTO> userTable;
+	private TableView<UserRow> userTable;
 	private Button addButton;
 
 	private TextField searchField;
 	private ComboBox<String> statusFilter;
 	private ComboBox<String> roleFilter;
-	private List<UserDTO> allUsers;
-	private List<UserDTO> filteredUsers;
+	private List<UserRow> allUsers;
+	private List<UserRow> filteredUsers;
 
 	private final MainLayout mainLayout;
 
@@ -67,7 +67,7 @@ public class UserManagementPane extends GridPane implements Observer
 	{
 		this.getStylesheets().add(getClass().getResource("/css/tablePane.css").toExternalForm());
 
-		allUsers = uc.getAllUsers();
+		allUsers = uc.getUserRows();
 		filteredUsers = allUsers;
 
 		this.getChildren().add(createTitleSection());
@@ -133,18 +133,18 @@ public class UserManagementPane extends GridPane implements Observer
 		String selectedStatus = statusFilter.getValue();
 		String selectedRole = roleFilter.getValue();
 
-		filteredUsers = uc.getFilteredUsers(searchQuery, selectedStatus, selectedRole);
+		filteredUsers = uc.getFilteredUserRows(searchQuery, selectedStatus, selectedRole);
 
 		updateTableItems();
 	}
 
-	private void updateTable(List<UserDTO> filteredUsers2)
+	private void updateTable(List<UserRow> filteredUsers2)
 	{
 		String searchQuery = searchField.getText().toLowerCase();
 		String selectedStatus = statusFilter.getValue();
 		String selectedRole = roleFilter.getValue();
 
-		filteredUsers = uc.getFilteredUsers(searchQuery, selectedStatus, selectedRole);
+		filteredUsers = uc.getFilteredUserRows(searchQuery, selectedStatus, selectedRole);
 
 		updateTableItems();
 	}
@@ -206,26 +206,26 @@ public class UserManagementPane extends GridPane implements Observer
 	{
 		userTable.getColumns().clear();
 
-		TableColumn<UserDTO, Integer> idColumn = new TableColumn<>(I18n.get("user.id"));
+		TableColumn<UserRow, Integer> idColumn = new TableColumn<>(I18n.get("user.id"));
 		idColumn.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().id()).asObject());
 
-		TableColumn<UserDTO, String> firstnameColumn = new TableColumn<>(I18n.get("user.name"));
+		TableColumn<UserRow, String> firstnameColumn = new TableColumn<>(I18n.get("user.name"));
 		firstnameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().firstName()));
 
-		TableColumn<UserDTO, String> lastnameColumn = new TableColumn<>(I18n.get("user.lastname"));
+		TableColumn<UserRow, String> lastnameColumn = new TableColumn<>(I18n.get("user.lastname"));
 		lastnameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().lastName()));
 
-		TableColumn<UserDTO, String> emailColumn = new TableColumn<>(I18n.get("user.email"));
+		TableColumn<UserRow, String> emailColumn = new TableColumn<>(I18n.get("user.email"));
 		emailColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().email()));
 
-		TableColumn<UserDTO, String> roleColumn = new TableColumn<>(I18n.get("user.role"));
+		TableColumn<UserRow, String> roleColumn = new TableColumn<>(I18n.get("user.role"));
 		roleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(I18n.convertRole(cellData.getValue().role().toString())));
 
-		TableColumn<UserDTO, String> statusColumn = new TableColumn<>(I18n.get("user.status"));
+		TableColumn<UserRow, String> statusColumn = new TableColumn<>(I18n.get("user.status"));
 		statusColumn.setCellValueFactory(cellData -> new SimpleStringProperty(I18n.convertStatus(cellData.getValue().status().toString())));
 
-		TableColumn<UserDTO, Void> editColumn = new TableColumn<>(I18n.get("edit"));
-		editColumn.setCellFactory(param -> new TableCell<UserDTO, Void>()
+		TableColumn<UserRow, Void> editColumn = new TableColumn<>(I18n.get("edit"));
+		editColumn.setCellFactory(param -> new TableCell<UserRow, Void>()
 		{
 			private final Button editButton = new Button();
 
@@ -268,7 +268,7 @@ public class UserManagementPane extends GridPane implements Observer
 
 	private void loadUsers()
 	{
-		userTable.getItems().setAll(uc.getAllUsers());
+		userTable.getItems().setAll(uc.getUserRows());
 	}
 
 	private void openAddUserForm()
@@ -0,0 +1,46 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import domain.FileInfoController;
+import repository.AttachmentBlobDaoJpa;
+import repository.AttachmentStore;
+import repository.DiskAttachmentStore;
+import repository.EntityManagerProvider;
+import repository.FileInfoDaoJpa;
+import repository.InlineAttachmentStore;
+
+/**
+ * Command line tool that moves attachment content between the inline BLOB
+ * store and the on-disk store.
+ * <p>
+ * Usage: {@code AttachmentMigration to-disk|to-inline <directory>}
+ */
+public class AttachmentMigration
+{
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length != 2 || !List.of("to-disk", "to-inline").contains(args[0]))
+		{
+			System.err.println("Usage: AttachmentMigration to-disk|to-inline <directory>");
+			System.exit(1);
+		}
+
+		FileInfoDaoJpa fileInfoDao = new FileInfoDaoJpa();
+		AttachmentStore disk = new DiskAttachmentStore(Path.of(args[1]), fileInfoDao, new AttachmentBlobDaoJpa());
+		AttachmentStore inline = new InlineAttachmentStore(fileInfoDao);
+		AttachmentStore target = args[0].equals("to-disk") ? disk : inline;
+
+		try
+		{
+			int moved = new FileInfoController(fileInfoDao, List.of(disk, inline)).migrateAttachments(target);
+			System.out.println("Moved " + moved + " attachment(s) " + args[0].replace('-', ' '));
+		} finally
+		{
+			EntityManagerProvider.close();
+		}
+	}
+}
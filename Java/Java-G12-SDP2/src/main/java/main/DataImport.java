@@ -0,0 +1,65 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import domain.ImportController;
+import dto.ImportProgress;
+import dto.ImportResult;
+import repository.EntityManagerProvider;
+
+/**
+ * Command line tool that imports machines, sites or users from a CSV or JSON
+ * file. Prints the progress after every batch and the rows that were rejected.
+ * <p>
+ * Usage: {@code DataImport machines|sites|users <file.csv|file.json> [batchSize]}
+ */
+public class DataImport
+{
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 2 || args.length > 3 || !List.of("machines", "sites", "users").contains(args[0]))
+		{
+			System.err.println("Usage: DataImport machines|sites|users <file.csv|file.json> [batchSize]");
+			System.exit(1);
+		}
+
+		Path file = Path.of(args[1]);
+		int batchSize = args.length == 3 ? Integer.parseInt(args[2]) : ImportController.DEFAULT_BATCH_SIZE;
+
+		try
+		{
+			ImportController controller = new ImportController();
+			ImportResult result;
+			if (args[0].equals("machines"))
+			{
+				result = controller.importMachines(file, batchSize, DataImport::printProgress);
+			} else if (args[0].equals("sites"))
+			{
+				result = controller.importSites(file, batchSize, DataImport::printProgress);
+			} else
+			{
+				result = controller.importUsers(file, batchSize, DataImport::printProgress);
+			}
+
+			result.errors().forEach(error -> System.out.println("Row " + error.row() + ": " + error.message()));
+			if (result.failed() > result.errors().size())
+			{
+				System.out.println("... " + (result.failed() - result.errors().size()) + " more rejected row(s)");
+			}
+			System.out.println("Imported " + result.imported() + " " + args[0] + ", rejected " + result.failed()
+					+ " row(s)");
+		} finally
+		{
+			EntityManagerProvider.close();
+		}
+	}
+
+	private static void printProgress(ImportProgress progress)
+	{
+		System.out.println("Read " + progress.rowsRead() + " row(s), imported " + progress.imported() + ", rejected "
+				+ progress.failed());
+	}
+}
@@ -0,0 +1,46 @@
+package main;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import domain.ExportController;
+import repository.EntityManagerProvider;
+
+/**
+ * Command line tool that exports the maintenance history to a CSV or XLSX file.
+ * Use {@code -} to leave a filter out.
+ * <p>
+ * Usage:
+ * {@code MaintenanceHistoryExport <file.csv|file.xlsx> [siteId|-] [from|-] [to|-]}
+ */
+public class MaintenanceHistoryExport
+{
+
+	public static void main(String[] args) throws IOException
+	{
+		if (args.length < 1 || args.length > 4)
+		{
+			System.err.println("Usage: MaintenanceHistoryExport <file.csv|file.xlsx> [siteId|-] [from|-] [to|-]");
+			System.exit(1);
+		}
+
+		Integer siteId = argument(args, 1) == null ? null : Integer.valueOf(argument(args, 1));
+		LocalDate from = argument(args, 2) == null ? null : LocalDate.parse(argument(args, 2));
+		LocalDate to = argument(args, 3) == null ? null : LocalDate.parse(argument(args, 3));
+
+		try
+		{
+			long exported = new ExportController().exportMaintenanceHistory(Path.of(args[0]), siteId, from, to);
+			System.out.println("Exported " + exported + " maintenance(s) to " + args[0]);
+		} finally
+		{
+			EntityManagerProvider.close();
+		}
+	}
+
+	private static String argument(String[] args, int index)
+	{
+		return index < args.length && !args[index].equals("-") ? args[index] : null;
+	}
+}
@@ -0,0 +1,39 @@
+package main;
+
+import java.time.Duration;
+
+import domain.NotificationController;
+import repository.EntityManagerProvider;
+
+/**
+ * Command line tool that removes read notifications older than a number of
+ * days. With {@code --archive} they are moved to the archive table instead of
+ * only being deleted. Meant to be run periodically, e.g. from cron.
+ * <p>
+ * Usage: {@code NotificationRetentionJob <days> [--archive]}
+ */
+public class NotificationRetentionJob
+{
+
+	public static void main(String[] args)
+	{
+		if (args.length < 1 || args.length > 2 || (args.length == 2 && !args[1].equals("--archive")))
+		{
+			System.err.println("Usage: NotificationRetentionJob <days> [--archive]");
+			System.exit(1);
+		}
+
+		Duration maxAge = Duration.ofDays(Long.parseLong(args[0]));
+		boolean archive = args.length == 2;
+
+		try
+		{
+			int removed = new NotificationController().purgeReadNotifications(maxAge, archive);
+			System.out.println((archive ? "Archived " : "Deleted ") + removed + " read notification(s) older than "
+					+ args[0] + " day(s)");
+		} finally
+		{
+			EntityManagerProvider.close();
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package main;
+
+import util.PasswordHasher;
+import util.PasswordHasher.CostProfile;
+
+/**
+ * Command line tool that measures how many Argon2 iterations this machine can
+ * do within a time budget, and prints the system properties to start the
+ * application with that profile.
+ * <p>
+ * Usage: {@code PasswordCostCalibration [maxMillis] [memoryKiB] [parallelism]}
+ */
+public class PasswordCostCalibration
+{
+
+	public static void main(String[] args)
+	{
+		if (args.length > 3)
+		{
+			System.err.println("Usage: PasswordCostCalibration [maxMillis] [memoryKiB] [parallelism]");
+			System.exit(1);
+		}
+
+		long maxMillis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+		int memoryKiB = args.length > 1 ? Integer.parseInt(args[1]) : PasswordHasher.DEFAULT_PROFILE.memoryKiB();
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2])
+				: PasswordHasher.DEFAULT_PROFILE.parallelism();
+
+		CostProfile profile = PasswordHasher.calibrate(maxMillis, memoryKiB, parallelism);
+		System.out.printf("At most %d ms per hash with %d KiB and %d lane(s): %d iteration(s)%n", maxMillis,
+				memoryKiB, parallelism, profile.iterations());
+		System.out.printf("-Dpassword.argon2.iterations=%d -Dpassword.argon2.memory=%d -Dpassword.argon2.parallelism=%d%n",
+				profile.iterations(), profile.memoryKiB(), profile.parallelism());
+	}
+}
@@ -1,9 +1,11 @@
 package main;
 
+import domain.NotificationWriter;
 import gui.MainLayout;
 import javafx.application.Application;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import repository.EntityManagerProvider;
 
 public class StartUpGUI extends Application
 {
@@ -25,4 +27,11 @@ public class StartUpGUI extends Application
 
 	}
 
+	@Override
+	public void stop()
+	{
+		NotificationWriter.getInstance().close();
+		EntityManagerProvider.close();
+	}
+
 }
\ No newline at end of file
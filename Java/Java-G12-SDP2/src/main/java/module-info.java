@@ -2,6 +2,8 @@ module be.hogent.Java_G12_SDP_22
 {
 	requires javafx.controls;
 	requires jakarta.persistence;
+	requires org.eclipse.persistence.core;
+	requires java.sql;
 	requires lombok;
 	requires org.kordamp.ikonli.javafx;
 	requires org.kordamp.ikonli.bootstrapicons;
@@ -0,0 +1,19 @@
+package repository;
+
+import domain.AttachmentBlob;
+
+/**
+ * Data Access Object interface for AttachmentBlob entities.
+ */
+public interface AttachmentBlobDao extends GenericDao<AttachmentBlob>
+{
+	/**
+	 * Retrieves a blob and locks its row until the current transaction ends, so
+	 * concurrent uploads and deletes of the same content update the reference
+	 * count one at a time. Must be called within a transaction.
+	 *
+	 * @param hash the hash of the content
+	 * @return the blob, or null if no content with this hash is stored
+	 */
+	AttachmentBlob getForUpdate(String hash);
+}
@@ -0,0 +1,24 @@
+package repository;
+
+import domain.AttachmentBlob;
+import jakarta.persistence.LockModeType;
+
+/**
+ * JPA implementation of the AttachmentBlobDao interface.
+ */
+public class AttachmentBlobDaoJpa extends GenericDaoJpa<AttachmentBlob> implements AttachmentBlobDao
+{
+	/**
+	 * Constructs a new AttachmentBlobDaoJpa instance.
+	 */
+	public AttachmentBlobDaoJpa()
+	{
+		super(AttachmentBlob.class);
+	}
+
+	@Override
+	public AttachmentBlob getForUpdate(String hash)
+	{
+		return withEntityManager(em -> em.find(AttachmentBlob.class, hash, LockModeType.PESSIMISTIC_WRITE));
+	}
+}
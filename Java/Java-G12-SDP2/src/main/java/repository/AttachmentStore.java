@@ -0,0 +1,78 @@
+package repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import domain.FileInfo;
+
+/**
+ * Storage backend for the content of maintenance attachments. The metadata of
+ * a file always lives in its {@link FileInfo} row; a store decides where the
+ * bytes go. Methods that change anything must be called within a transaction on
+ * the FileInfo DAO.
+ */
+public interface AttachmentStore
+{
+	/**
+	 * Returns whether this store holds the content of the given file.
+	 *
+	 * @param fileInfo the file
+	 * @return true if the content of the file is kept in this store
+	 */
+	boolean contains(FileInfo fileInfo);
+
+	/**
+	 * Stores the content of a file that has already been inserted (possibly
+	 * earlier in the same transaction). A reference to the same file held by
+	 * another store is left alone; that store's {@link #remove(FileInfo)} releases
+	 * it.
+	 *
+	 * @param fileInfo the file to store the content for
+	 * @param content  the stream to read the content from
+	 * @param length   the number of bytes in the stream
+	 * @throws IOException if the content cannot be read or stored
+	 */
+	void write(FileInfo fileInfo, InputStream content, long length) throws IOException;
+
+	/**
+	 * Writes the content of a file to the given stream.
+	 *
+	 * @param fileInfo the file
+	 * @param out      the stream to write the content to
+	 * @return false if the store has no content for the file
+	 * @throws IOException if the content cannot be read or written
+	 */
+	boolean copyContent(FileInfo fileInfo, OutputStream out) throws IOException;
+
+	/**
+	 * Reads the whole content of a file, e.g. to render a preview.
+	 *
+	 * @param fileInfo the file
+	 * @return the content, or null if the store has no content for the file
+	 * @throws IOException if the content cannot be read
+	 */
+	byte[] readContent(FileInfo fileInfo) throws IOException;
+
+	/**
+	 * Releases the content of a file, because the file is deleted or its content
+	 * was moved to another store. Content that is no longer referenced stays
+	 * readable until {@link #purge(String)}, so rolling back the transaction
+	 * leaves the file intact.
+	 *
+	 * @param fileInfo the file
+	 * @throws IOException if the content cannot be removed
+	 */
+	void remove(FileInfo fileInfo) throws IOException;
+
+	/**
+	 * Deletes content released by {@link #remove(FileInfo)} if nothing refers to
+	 * it anymore. Call it after the transaction of the remove has committed, in a
+	 * transaction of its own.
+	 *
+	 * @param contentHash the hash of the released content, as it was before the
+	 *                    remove
+	 * @throws IOException if the content cannot be deleted
+	 */
+	void purge(String contentHash) throws IOException;
+}
@@ -0,0 +1,211 @@
+package repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import domain.AttachmentBlob;
+import domain.FileInfo;
+
+/**
+ * Keeps attachment content on local disk, addressed by its SHA-256 hash. Files
+ * with identical content share a single copy; an {@link AttachmentBlob} row
+ * counts the references and the copy is deleted after the last one has gone
+ * away.
+ * Content is written and read through fixed-size buffers and memory-mapped
+ * windows, so the memory used does not depend on the size of a file.
+ * <p>
+ * Layout: {@code <root>/<first two hex digits>/<hash>}.
+ */
+public class DiskAttachmentStore implements AttachmentStore
+{
+	/**
+	 * Largest region of a file mapped at once.
+	 */
+	private static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+	private final Path root;
+	private final FileInfoDao fileInfoDao;
+	private final AttachmentBlobDao blobDao;
+
+	/**
+	 * Constructs a new DiskAttachmentStore.
+	 *
+	 * @param root        the directory the content is stored under
+	 * @param fileInfoDao the DAO used to point files at their content
+	 * @param blobDao     the DAO used to keep the reference counts
+	 */
+	public DiskAttachmentStore(Path root, FileInfoDao fileInfoDao, AttachmentBlobDao blobDao)
+	{
+		this.root = root;
+		this.fileInfoDao = fileInfoDao;
+		this.blobDao = blobDao;
+	}
+
+	@Override
+	public boolean contains(FileInfo fileInfo)
+	{
+		return fileInfo.getContentHash() != null;
+	}
+
+	/**
+	 * The content is hashed while it is copied to a temporary file, so it is read
+	 * only once. If the same content is already stored the temporary file is
+	 * dropped and only the reference count goes up.
+	 */
+	@Override
+	public void write(FileInfo fileInfo, InputStream content, long length) throws IOException
+	{
+		Files.createDirectories(root);
+		Path temp = Files.createTempFile(root, "upload-", ".tmp");
+		try
+		{
+			MessageDigest digest = sha256();
+			long copied;
+			try (InputStream in = new DigestInputStream(content, digest);
+					OutputStream out = Files.newOutputStream(temp))
+			{
+				copied = in.transferTo(out);
+			}
+			if (copied != length)
+			{
+				throw new IOException("Expected " + length + " bytes but read " + copied);
+			}
+			String hash = HexFormat.of().formatHex(digest.digest());
+
+			AttachmentBlob blob = blobDao.getForUpdate(hash);
+			if (blob == null)
+			{
+				blobDao.insert(new AttachmentBlob(hash, copied));
+			} else
+			{
+				blob.setRefCount(blob.getRefCount() + 1);
+				blobDao.update(blob);
+			}
+			Path target = pathFor(hash);
+			if (!Files.exists(target))
+			{
+				Files.createDirectories(target.getParent());
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+			}
+			fileInfoDao.setContentHash(fileInfo, hash);
+			fileInfo.setContentHash(hash);
+			fileInfo.setContent(null);
+		} finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public boolean copyContent(FileInfo fileInfo, OutputStream out) throws IOException
+	{
+		Path path = pathFor(fileInfo.getContentHash());
+		if (!Files.exists(path))
+		{
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			WritableByteChannel target = Channels.newChannel(out);
+			long size = channel.size();
+			for (long position = 0; position < size; position += MAP_WINDOW)
+			{
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+						Math.min(MAP_WINDOW, size - position));
+				while (buffer.hasRemaining())
+				{
+					target.write(buffer);
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public byte[] readContent(FileInfo fileInfo) throws IOException
+	{
+		Path path = pathFor(fileInfo.getContentHash());
+		if (!Files.exists(path))
+		{
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+			{
+				throw new IOException("File too large to read into memory: " + size + " bytes");
+			}
+			byte[] content = new byte[(int) size];
+			channel.map(FileChannel.MapMode.READ_ONLY, 0, size).get(content);
+			return content;
+		}
+	}
+
+	/**
+	 * Only the reference count is changed here; the on-disk copy is deleted by
+	 * {@link #purge(String)} once the deletion has been committed.
+	 */
+	@Override
+	public void remove(FileInfo fileInfo) throws IOException
+	{
+		String hash = fileInfo.getContentHash();
+		if (hash == null)
+		{
+			return;
+		}
+		AttachmentBlob blob = blobDao.getForUpdate(hash);
+		if (blob != null && blob.getRefCount() > 1)
+		{
+			blob.setRefCount(blob.getRefCount() - 1);
+			blobDao.update(blob);
+		} else if (blob != null)
+		{
+			blobDao.delete(blob);
+		}
+		fileInfo.setContentHash(null);
+	}
+
+	/**
+	 * The on-disk copy is deleted while the (missing) blob row is locked, so an
+	 * upload of the same content cannot slip in between the check and the file
+	 * being removed.
+	 */
+	@Override
+	public void purge(String contentHash) throws IOException
+	{
+		if (blobDao.getForUpdate(contentHash) == null)
+		{
+			Files.deleteIfExists(pathFor(contentHash));
+		}
+	}
+
+	private Path pathFor(String hash)
+	{
+		return root.resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	private static MessageDigest sha256()
+	{
+		try
+		{
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package repository;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often {@link GenericDaoJpa#get(Object)} finds an entity in the
+ * shared entity cache (a hit) or has to load it from the database (a miss).
+ * Only entity types marked {@code @Cacheable} are counted.
+ */
+public final class EntityCacheStatistics
+{
+	/**
+	 * The hit and miss counts of one entity type.
+	 *
+	 * @param hits   the number of lookups served from the cache
+	 * @param misses the number of lookups that went to the database
+	 */
+	public record Counts(long hits, long misses)
+	{
+		/**
+		 * @return the fraction of lookups served from the cache, or 0 if there were
+		 *         none
+		 */
+		public double hitRatio()
+		{
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+
+	private static final Map<Class<?>, LongAdder[]> counters = new ConcurrentHashMap<>();
+
+	private EntityCacheStatistics()
+	{
+	}
+
+	static void record(Class<?> type, boolean hit)
+	{
+		counters.computeIfAbsent(type, t -> new LongAdder[] { new LongAdder(), new LongAdder() })[hit ? 0 : 1]
+				.increment();
+	}
+
+	/**
+	 * Returns the counts of one entity type.
+	 *
+	 * @param type the entity class
+	 * @return the hits and misses since start-up or the last reset
+	 */
+	public static Counts get(Class<?> type)
+	{
+		LongAdder[] adders = counters.get(type);
+		return adders == null ? new Counts(0, 0) : new Counts(adders[0].sum(), adders[1].sum());
+	}
+
+	/**
+	 * Returns the counts of every entity type that has been looked up.
+	 *
+	 * @return the counts by entity name, sorted by name
+	 */
+	public static Map<String, Counts> snapshot()
+	{
+		Map<String, Counts> snapshot = new TreeMap<>();
+		counters.keySet().forEach(type -> snapshot.put(type.getSimpleName(), get(type)));
+		return snapshot;
+	}
+
+	/**
+	 * Resets all counts to zero.
+	 */
+	public static void reset()
+	{
+		counters.clear();
+	}
+}
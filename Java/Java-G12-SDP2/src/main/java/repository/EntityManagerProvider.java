@@ -0,0 +1,271 @@
+package repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+/**
+ * Hands out thread-confined {@link EntityManager} instances to the DAO layer.
+ * <p>
+ * Every thread gets its own EntityManager for the duration of a unit of work:
+ * either a single DAO call, or everything between {@code startTransaction()}
+ * and {@code commitTransaction()}/{@code rollbackTransaction()}. When the unit
+ * of work ends the persistence context is cleared and the EntityManager is
+ * returned to a small pool of idle instances, so screens loading on background
+ * threads never share a persistence context and managed entities do not pile
+ * up over time.
+ */
+public final class EntityManagerProvider
+{
+	private static final String PU_NAME = "shopfloor-app";
+
+	/**
+	 * Maximum number of idle EntityManagers kept around for reuse. Anything above
+	 * this is closed when it is released.
+	 */
+	private static final int MAX_IDLE = 8;
+
+	/**
+	 * Properties passed on top of persistence.xml. Prepared statements are cached
+	 * per connection and prepared on the server, so the fixed-shape queries of the
+	 * DAOs are only prepared once. Writes are grouped into JDBC batches, which the driver rewrites into
+	 * multi-row statements. Only entities marked {@code @Cacheable} (the rarely
+	 * written reference data) are kept in the shared cache, with the size and
+	 * expiry set on the entity.
+	 */
+	private static final Map<String, Object> properties = new HashMap<>(
+			Map.of("eclipselink.jdbc.cache-statements", "true", "eclipselink.jdbc.cache-statements.size", "200",
+					"eclipselink.jdbc.property.useServerPrepStmts", "true", "eclipselink.jdbc.batch-writing", "JDBC",
+					"eclipselink.jdbc.batch-writing.size", "100",
+					"eclipselink.jdbc.property.rewriteBatchedStatements", "true",
+					"jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE"));
+
+	private static volatile EntityManagerFactory emf;
+
+	private static final BlockingDeque<EntityManager> idle = new LinkedBlockingDeque<>(MAX_IDLE);
+	private static final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+	private EntityManagerProvider()
+	{
+	}
+
+	/**
+	 * Tracks the EntityManager bound to the current thread and how many nested
+	 * units of work are using it.
+	 */
+	private static final class Scope
+	{
+		private final EntityManager em;
+		private int depth;
+
+		private Scope(EntityManager em)
+		{
+			this.em = em;
+		}
+	}
+
+	/**
+	 * Overrides persistence unit properties, e.g. the JDBC url. Only has effect
+	 * before the first EntityManager is handed out.
+	 *
+	 * @param overrides the properties to add or replace
+	 * @throws IllegalStateException if the factory has already been created
+	 */
+	public static synchronized void configure(Map<String, ?> overrides)
+	{
+		if (emf != null)
+		{
+			throw new IllegalStateException("The EntityManagerFactory has already been created");
+		}
+		properties.putAll(overrides);
+	}
+
+	/**
+	 * Returns the shared EntityManagerFactory. It is created on first use, so
+	 * merely loading a DAO class (for example when it is mocked in a test) does not
+	 * open a database connection.
+	 *
+	 * @return the factory for the "shopfloor-app" persistence unit
+	 */
+	public static EntityManagerFactory getEntityManagerFactory()
+	{
+		EntityManagerFactory factory = emf;
+		if (factory == null)
+		{
+			synchronized (EntityManagerProvider.class)
+			{
+				if (emf == null)
+				{
+					emf = Persistence.createEntityManagerFactory(PU_NAME, properties);
+				}
+				factory = emf;
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * Returns the JDBC URL of the database the persistence unit connects to.
+	 *
+	 * @return the URL, or "default" if the factory does not expose it
+	 */
+	public static String getDatabaseUrl()
+	{
+		Map<String, Object> factoryProperties = getEntityManagerFactory().getProperties();
+		Object url = factoryProperties.getOrDefault("jakarta.persistence.jdbc.url",
+				factoryProperties.get("javax.persistence.jdbc.url"));
+		return url == null ? "default" : url.toString();
+	}
+
+	/**
+	 * Binds an EntityManager to the current thread (reusing the one already bound,
+	 * if any) and enters a new unit of work. Every call must be paired with
+	 * {@link #release()}.
+	 *
+	 * @return the EntityManager bound to the current thread
+	 */
+	public static EntityManager acquire()
+	{
+		Scope scope = current.get();
+		if (scope == null)
+		{
+			scope = new Scope(borrow());
+			current.set(scope);
+		}
+		scope.depth++;
+		return scope.em;
+	}
+
+	/**
+	 * Leaves the current unit of work. When the outermost unit of work ends and no
+	 * transaction is active anymore, the persistence context is cleared and the
+	 * EntityManager goes back to the pool.
+	 */
+	public static void release()
+	{
+		Scope scope = current.get();
+		if (scope == null)
+		{
+			return;
+		}
+		if (scope.depth > 0)
+		{
+			scope.depth--;
+		}
+		if (scope.depth == 0 && !isTransactionActive(scope.em))
+		{
+			current.remove();
+			giveBack(scope.em);
+		}
+	}
+
+	/**
+	 * Returns the EntityManager bound to the current thread without entering a new
+	 * unit of work.
+	 *
+	 * @return the bound EntityManager, or null if the thread has none
+	 */
+	public static EntityManager currentOrNull()
+	{
+		Scope scope = current.get();
+		return scope == null ? null : scope.em;
+	}
+
+	/**
+	 * Runs a piece of work inside its own unit of work and releases the
+	 * EntityManager afterwards.
+	 *
+	 * @param <R>  the type of the result
+	 * @param work the work to execute
+	 * @return the result of the work
+	 */
+	public static <R> R withEntityManager(Function<EntityManager, R> work)
+	{
+		EntityManager em = acquire();
+		try
+		{
+			return work.apply(em);
+		} finally
+		{
+			release();
+		}
+	}
+
+	/**
+	 * Closes all pooled EntityManagers and the factory. Used when the application
+	 * shuts down.
+	 */
+	public static void close()
+	{
+		EntityManager em;
+		while ((em = idle.pollFirst()) != null)
+		{
+			closeQuietly(em);
+		}
+		EntityManager bound = currentOrNull();
+		current.remove();
+		if (bound != null)
+		{
+			closeQuietly(bound);
+		}
+		synchronized (EntityManagerProvider.class)
+		{
+			if (emf != null && emf.isOpen())
+			{
+				emf.close();
+			}
+			emf = null;
+		}
+	}
+
+	private static EntityManager borrow()
+	{
+		EntityManager em;
+		while ((em = idle.pollFirst()) != null)
+		{
+			if (em.isOpen())
+			{
+				return em;
+			}
+		}
+		return getEntityManagerFactory().createEntityManager();
+	}
+
+	private static void giveBack(EntityManager em)
+	{
+		if (!em.isOpen())
+		{
+			return;
+		}
+		em.clear();
+		if (!idle.offerFirst(em))
+		{
+			closeQuietly(em);
+		}
+	}
+
+	private static boolean isTransactionActive(EntityManager em)
+	{
+		return em.isOpen() && em.getTransaction().isActive();
+	}
+
+	private static void closeQuietly(EntityManager em)
+	{
+		try
+		{
+			if (em.isOpen())
+			{
+				em.close();
+			}
+		} catch (RuntimeException e)
+		{
+			// Closing during shutdown, nothing left to recover.
+		}
+	}
+}
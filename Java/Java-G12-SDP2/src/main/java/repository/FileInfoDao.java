@@ -0,0 +1,83 @@
+package repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+import domain.FileInfo;
+
+/**
+ * Data Access Object interface for FileInfo entities. Separates listing the
+ * attachments of a maintenance from loading their (potentially large) content.
+ */
+public interface FileInfoDao extends GenericDao<FileInfo>
+{
+	/**
+	 * Retrieves the metadata (id, name, type, size and upload date) of all files
+	 * of a maintenance, without their content.
+	 *
+	 * @param maintenanceId the ID of the maintenance
+	 * @return the files of the maintenance, or an empty list if there are none
+	 */
+	List<FileInfo> findMetadataByMaintenance(int maintenanceId);
+
+	/**
+	 * Retrieves the content of a single file.
+	 *
+	 * @param fileId the ID of the file
+	 * @return the content, or null if the file does not exist
+	 */
+	byte[] findContent(int fileId);
+
+	/**
+	 * Retrieves the metadata of all files, without their content.
+	 *
+	 * @return all files, ordered by ID
+	 */
+	List<FileInfo> findAllMetadata();
+
+	/**
+	 * Writes the content of a file from a stream into its row and clears its
+	 * content hash. MySQL receives the content as one packet, so it is limited by
+	 * the server's max_allowed_packet and the driver may hold all of it in memory
+	 * while sending. The file may have been
+	 * inserted earlier in the same transaction. Must be called within a
+	 * transaction.
+	 *
+	 * @param fileInfo the file to store the content for
+	 * @param content  the stream to read the content from
+	 * @param length   the number of bytes to read from the stream
+	 * @throws exceptions.FileTooLargeException if the content is larger than the
+	 *                                          database accepts in one statement
+	 */
+	void writeContent(FileInfo fileInfo, InputStream content, long length);
+
+	/**
+	 * Points a file at content kept in an on-disk store and clears its inline
+	 * content. The file may have been inserted earlier in the same transaction.
+	 * Must be called within a transaction.
+	 *
+	 * @param fileInfo the file to update
+	 * @param hash     the hash of the content
+	 */
+	void setContentHash(FileInfo fileInfo, String hash);
+
+	/**
+	 * Writes the content of a file to the given stream, streaming it from the
+	 * database in a single query.
+	 *
+	 * @param fileId the ID of the file
+	 * @param out    the stream to write the content to
+	 * @return false if the file does not exist or has no content
+	 * @throws IOException if writing to the stream fails
+	 */
+	boolean copyContent(int fileId, OutputStream out) throws IOException;
+
+	/**
+	 * Deletes a file by its ID without loading it first.
+	 *
+	 * @param fileId the ID of the file
+	 */
+	void deleteById(int fileId);
+}
@@ -0,0 +1,206 @@
+package repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import domain.FileInfo;
+import exceptions.FileTooLargeException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * JPA implementation of the FileInfoDao interface.
+ */
+public class FileInfoDaoJpa extends GenericDaoJpa<FileInfo> implements FileInfoDao
+{
+	/**
+	 * Room left in a packet for the statement text around the streamed content.
+	 */
+	private static final long PACKET_OVERHEAD = 1024;
+
+	private static final String UPDATE_CONTENT_SQL = "UPDATE maintenance_files SET CONTENT = ?, content_hash = NULL WHERE ID = ?";
+	private static final String SELECT_CONTENT_SQL = "SELECT CONTENT FROM maintenance_files WHERE ID = ?";
+
+	/**
+	 * The max_allowed_packet of the server, read on the first upload.
+	 */
+	private volatile Long maxAllowedPacket;
+
+	/**
+	 * Constructs a new FileInfoDaoJpa instance.
+	 */
+	public FileInfoDaoJpa()
+	{
+		super(FileInfo.class);
+	}
+
+	@Override
+	public List<FileInfo> findMetadataByMaintenance(int maintenanceId)
+	{
+		return withEntityManager(em -> em.createNamedQuery("FileInfo.findMetadataByMaintenance", FileInfo.class)
+				.setParameter("maintenanceId", maintenanceId).getResultList());
+	}
+
+	@Override
+	public byte[] findContent(int fileId)
+	{
+		return withEntityManager(em -> em.createNamedQuery("FileInfo.findContent", byte[].class)
+				.setParameter("id", fileId).getResultStream().findFirst().orElse(null));
+	}
+
+	@Override
+	public List<FileInfo> findAllMetadata()
+	{
+		return withEntityManager(
+				em -> em.createNamedQuery("FileInfo.findAllMetadata", FileInfo.class).getResultList());
+	}
+
+	/**
+	 * Pending inserts are flushed first so the row (and its generated ID) exists,
+	 * then the content is bound as a stream on the same connection. MySQL receives
+	 * the content as a single packet, so the driver may hold all of it in memory
+	 * and content larger than the server's max_allowed_packet is rejected up
+	 * front.
+	 *
+	 * @throws FileTooLargeException if the content does not fit in one packet
+	 */
+	@Override
+	public void writeContent(FileInfo fileInfo, InputStream content, long length)
+	{
+		withEntityManager(em -> {
+			em.flush();
+			Connection connection = em.unwrap(Connection.class);
+			try
+			{
+				long limit = maxAllowedPacket(connection) - PACKET_OVERHEAD;
+				if (length > limit)
+				{
+					throw new FileTooLargeException(
+							"File of " + length + " bytes exceeds the database limit of " + limit + " bytes");
+				}
+				try (PreparedStatement statement = connection.prepareStatement(UPDATE_CONTENT_SQL))
+				{
+					statement.setBinaryStream(1, content, length);
+					statement.setInt(2, fileInfo.getId());
+					statement.executeUpdate();
+				}
+			} catch (SQLException e)
+			{
+				throw new PersistenceException(e);
+			}
+			return null;
+		});
+	}
+
+	private long maxAllowedPacket(Connection connection) throws SQLException
+	{
+		Long limit = maxAllowedPacket;
+		if (limit == null)
+		{
+			try (Statement statement = connection.createStatement();
+					ResultSet result = statement.executeQuery("SELECT @@max_allowed_packet"))
+			{
+				result.next();
+				limit = result.getLong(1);
+			}
+			maxAllowedPacket = limit;
+		}
+		return limit;
+	}
+
+	@Override
+	public void setContentHash(FileInfo fileInfo, String hash)
+	{
+		withEntityManager(em -> {
+			em.flush();
+			return em.createNamedQuery("FileInfo.setContentHash").setParameter("hash", hash)
+					.setParameter("id", fileInfo.getId()).executeUpdate();
+		});
+	}
+
+	/**
+	 * The content is selected once, with a streaming result set so no other rows
+	 * are buffered, and copied from the driver's binary stream. Connector/J still
+	 * reads the whole row, so memory use grows with the size of the file. The
+	 * connection is only handed out within a transaction, so a
+	 * read-only one is opened if the caller has none.
+	 */
+	@Override
+	public boolean copyContent(int fileId, OutputStream out) throws IOException
+	{
+		EntityManager bound = EntityManagerProvider.currentOrNull();
+		boolean ownTransaction = bound == null || !bound.getTransaction().isActive();
+		if (ownTransaction)
+		{
+			startTransaction();
+		}
+		try
+		{
+			boolean copied = withEntityManager(em -> {
+				Connection connection = em.unwrap(Connection.class);
+				try (PreparedStatement statement = connection.prepareStatement(SELECT_CONTENT_SQL,
+						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+				{
+					statement.setFetchSize(Integer.MIN_VALUE);
+					statement.setInt(1, fileId);
+					try (ResultSet result = statement.executeQuery())
+					{
+						if (!result.next())
+						{
+							return false;
+						}
+						try (InputStream in = result.getBinaryStream(1))
+						{
+							if (in == null)
+							{
+								return false;
+							}
+							in.transferTo(out);
+							return true;
+						}
+					}
+				} catch (SQLException e)
+				{
+					throw new PersistenceException(e);
+				} catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			});
+			if (ownTransaction)
+			{
+				commitTransaction();
+			}
+			return copied;
+		} catch (UncheckedIOException e)
+		{
+			if (ownTransaction)
+			{
+				rollbackTransaction();
+			}
+			throw e.getCause();
+		} catch (RuntimeException e)
+		{
+			if (ownTransaction)
+			{
+				rollbackTransaction();
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void deleteById(int fileId)
+	{
+		invalidateCountsAfterCommit();
+		withEntityManager(em -> em.createNamedQuery("FileInfo.deleteById").setParameter("id", fileId).executeUpdate());
+	}
+}
@@ -1,15 +1,28 @@
 package repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface GenericDao<T> {
-	
-    public List<T> findAll();  
+
+    public List<T> findAll();
+    public List<T> findAll(String entityGraph);
+    public List<T> findByNamedQuery(String queryName, Map<String, ?> parameters);
+    public List<T> findPage(String sortAttribute, Object afterKey, int limit);
+    public List<T> findPage(String sortAttribute, Object afterKey, int limit, Map<String, ?> filters);
+    public long count();
+    public long count(Map<String, ?> filters);
     public <U> T get(U id);
+    public <U> T get(U id, String entityGraph);
+    public <U> T getReference(U id);
     public T update(T object);
     public void delete(T object);
     public void insert(T object);
+    public void insertAll(Collection<? extends T> objects);
+    public List<T> updateAll(Collection<? extends T> objects);
     public <U> boolean exists(U id);
+    public <U> void evict(U id);
     public void closePersistency();
     public void startTransaction();
     public void commitTransaction();
@@ -1,49 +1,139 @@
 package repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.EntityType;
 
 public class GenericDaoJpa<T> implements GenericDao<T>
 {
 
-	private static final String PU_NAME = "shopfloor-app";
-	private static final EntityManagerFactory emf = Persistence.createEntityManagerFactory(PU_NAME);
-	public static final EntityManager em = emf.createEntityManager();
+	/**
+	 * Attribute paths are concatenated into JPQL, so only plain (dotted)
+	 * identifiers are accepted.
+	 */
+	private static final Pattern ATTRIBUTE_PATH = Pattern.compile("[A-Za-z_]\\w*(\\.[A-Za-z_]\\w*)*");
+
+	/**
+	 * How long a cached row count stays valid. Writes through any DAO of the same
+	 * entity type drop the cached counts once their transaction has committed;
+	 * the timeout covers rows written by other clients of the database.
+	 */
+	private static final long COUNT_TTL_MILLIS = 30_000;
+
+	/**
+	 * Number of rows written by {@link #insertAll(Collection)} and
+	 * {@link #updateAll(Collection)} before the persistence context is flushed and
+	 * cleared. Matches the JDBC batch size configured in
+	 * {@link EntityManagerProvider}.
+	 */
+	static final int BULK_FLUSH_SIZE = 100;
+
+	private static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
+
+	private static final Map<Class<?>, Map<Map<String, ?>, CachedCount>> countCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Entity types written in the transaction of the current thread. Their counts
+	 * are dropped when that transaction ends, not before the write, so a count
+	 * read by another thread in between cannot cache the old total again.
+	 */
+	private static final ThreadLocal<Set<Class<?>>> pendingCountInvalidations = ThreadLocal
+			.withInitial(HashSet::new);
+
+	private record CachedCount(long value, long loadedAt)
+	{
+		boolean isFresh()
+		{
+			return System.currentTimeMillis() - loadedAt < COUNT_TTL_MILLIS;
+		}
+	}
+
 	private final Class<T> type;
+	private final boolean cacheable;
 
 	public GenericDaoJpa(Class<T> type)
 	{
 		this.type = type;
+		this.cacheable = type.isAnnotationPresent(Cacheable.class);
+	}
+
+	/**
+	 * Runs the given work with the EntityManager of the current unit of work. If no
+	 * transaction is open the persistence context is cleared afterwards, so reads
+	 * return detached entities and nothing stays managed between calls.
+	 *
+	 * @param <R>  the type of the result
+	 * @param work the work to execute
+	 * @return the result of the work
+	 */
+	protected <R> R withEntityManager(Function<EntityManager, R> work)
+	{
+		return EntityManagerProvider.withEntityManager(work);
 	}
 
 	@Override
 	public void closePersistency()
 	{
-		em.close();
-		emf.close();
+		EntityManagerProvider.close();
 	}
 
 	@Override
 	public void startTransaction()
 	{
-		em.getTransaction().begin();
+		EntityManager em = EntityManagerProvider.acquire();
+		try
+		{
+			em.getTransaction().begin();
+		} catch (RuntimeException e)
+		{
+			EntityManagerProvider.release();
+			throw e;
+		}
 	}
 
 	@Override
 	public void commitTransaction()
 	{
-		em.getTransaction().commit();
+		EntityManager em = EntityManagerProvider.currentOrNull();
+		if (em == null)
+		{
+			throw new IllegalStateException("No transaction has been started on this thread");
+		}
+		try
+		{
+			em.getTransaction().commit();
+		} finally
+		{
+			dropPendingCounts();
+			EntityManagerProvider.release();
+		}
 	}
 
 	@Override
 	public void rollbackTransaction()
 	{
-		if (em.getTransaction().isActive())
+		EntityManager em = EntityManagerProvider.currentOrNull();
+		if (em != null && em.getTransaction().isActive())
 		{
-			em.getTransaction().rollback();
+			try
+			{
+				em.getTransaction().rollback();
+			} finally
+			{
+				pendingCountInvalidations.get().clear();
+				EntityManagerProvider.release();
+			}
 		}
 	}
 
@@ -51,39 +141,360 @@ public class GenericDaoJpa<T> implements GenericDao<T>
 	public List<T> findAll()
 	{
 		// return em.createNamedQuery(type.getName()+".findAll", type).getResultList();
-		return em.createQuery("select entity from " + type.getSimpleName() + " entity", type).getResultList();
+		return withEntityManager(
+				em -> em.createQuery("select entity from " + type.getSimpleName() + " entity", type).getResultList());
+	}
+
+	/**
+	 * Retrieves all entities, loading the relationships of the given named entity
+	 * graph. Relationships outside the graph keep their mapped fetch type, so a
+	 * lazy collection is only read when the graph names it.
+	 *
+	 * @param entityGraph the name of an entity graph declared on the entity
+	 */
+	@Override
+	public List<T> findAll(String entityGraph)
+	{
+		return withEntityManager(
+				em -> em.createQuery("select entity from " + type.getSimpleName() + " entity", type)
+						.setHint(LOAD_GRAPH, em.getEntityGraph(entityGraph)).getResultList());
+	}
+
+	@Override
+	public List<T> findByNamedQuery(String queryName, Map<String, ?> parameters)
+	{
+		return withEntityManager(em -> {
+			TypedQuery<T> query = em.createNamedQuery(queryName, type);
+			parameters.forEach(query::setParameter);
+			return query.getResultList();
+		});
+	}
+
+	@Override
+	public List<T> findPage(String sortAttribute, Object afterKey, int limit)
+	{
+		return findPage(sortAttribute, afterKey, limit, Map.of());
+	}
+
+	@Override
+	public List<T> findPage(String sortAttribute, Object afterKey, int limit, Map<String, ?> filters)
+	{
+		checkAttributePath(sortAttribute);
+		List<Object> values = new ArrayList<>();
+		StringBuilder jpql = new StringBuilder("select entity from ").append(type.getSimpleName()).append(" entity");
+		appendFilters(jpql, filters, values);
+		if (afterKey != null)
+		{
+			values.add(afterKey);
+			jpql.append(values.size() == 1 ? " where " : " and ").append("entity.").append(sortAttribute)
+					.append(" > ?").append(values.size());
+		}
+		jpql.append(" order by entity.").append(sortAttribute);
+
+		return withEntityManager(em -> {
+			TypedQuery<T> query = em.createQuery(jpql.toString(), type).setMaxResults(limit);
+			for (int i = 0; i < values.size(); i++)
+			{
+				query.setParameter(i + 1, values.get(i));
+			}
+			return query.getResultList();
+		});
+	}
+
+	@Override
+	public long count()
+	{
+		return count(Map.of());
+	}
+
+	@Override
+	public long count(Map<String, ?> filters)
+	{
+		Map<Map<String, ?>, CachedCount> counts = countCache.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+		CachedCount cached = counts.get(filters);
+		if (cached != null && cached.isFresh())
+		{
+			return cached.value();
+		}
+
+		List<Object> values = new ArrayList<>();
+		StringBuilder jpql = new StringBuilder("select count(entity) from ").append(type.getSimpleName())
+				.append(" entity");
+		appendFilters(jpql, filters, values);
+
+		long count = withEntityManager(em -> {
+			TypedQuery<Long> query = em.createQuery(jpql.toString(), Long.class);
+			for (int i = 0; i < values.size(); i++)
+			{
+				query.setParameter(i + 1, values.get(i));
+			}
+			return query.getSingleResult();
+		});
+		counts.put(Map.copyOf(filters), new CachedCount(count, System.currentTimeMillis()));
+		return count;
+	}
+
+	/**
+	 * Drops every cached row count of this DAO's entity type. A count that is
+	 * still running keeps its result to itself, because it is stored in the map
+	 * removed here.
+	 */
+	protected void invalidateCounts()
+	{
+		countCache.remove(type);
+	}
+
+	/**
+	 * Drops the cached row counts of this DAO's entity type after the current
+	 * transaction commits, or right away if no transaction is open.
+	 */
+	protected void invalidateCountsAfterCommit()
+	{
+		if (isTransactionActive())
+		{
+			pendingCountInvalidations.get().add(type);
+		} else
+		{
+			invalidateCounts();
+		}
+	}
+
+	/**
+	 * Drops the cached row counts of every entity type written in the
+	 * transaction that just ended on this thread.
+	 */
+	static void dropPendingCounts()
+	{
+		Set<Class<?>> pending = pendingCountInvalidations.get();
+		pending.forEach(countCache::remove);
+		pending.clear();
+	}
+
+	private static void appendFilters(StringBuilder jpql, Map<String, ?> filters, List<Object> values)
+	{
+		for (Map.Entry<String, ?> filter : filters.entrySet())
+		{
+			checkAttributePath(filter.getKey());
+			values.add(filter.getValue());
+			jpql.append(values.size() == 1 ? " where " : " and ").append("entity.").append(filter.getKey())
+					.append(" = ?").append(values.size());
+		}
+	}
+
+	/**
+	 * Escapes the LIKE wildcards in a search text, for patterns declared with
+	 * {@code ESCAPE '!'}.
+	 *
+	 * @param text the text to search for
+	 * @return the text with {@code !}, {@code %} and {@code _} escaped
+	 */
+	protected static String escapeLike(String text)
+	{
+		return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+	}
+
+	private static void checkAttributePath(String attributePath)
+	{
+		if (attributePath == null || !ATTRIBUTE_PATH.matcher(attributePath).matches())
+		{
+			throw new IllegalArgumentException("Invalid attribute path: " + attributePath);
+		}
 	}
 
+	/**
+	 * For entity types marked {@code @Cacheable} the lookup is counted as a hit or
+	 * miss of the shared cache in {@link EntityCacheStatistics}.
+	 */
 	@Override
 	public <U> T get(U id)
 	{
-		T entity = em.find(type, id);
-		return entity;
+		if (cacheable && id != null)
+		{
+			EntityCacheStatistics.record(type,
+					EntityManagerProvider.getEntityManagerFactory().getCache().contains(type, id));
+		}
+		return withEntityManager(em -> em.find(type, id));
+	}
+
+	/**
+	 * Looks up the entity like {@link #get(Object)}, loading the relationships of
+	 * the given named entity graph.
+	 *
+	 * @param entityGraph the name of an entity graph declared on the entity
+	 */
+	@Override
+	public <U> T get(U id, String entityGraph)
+	{
+		if (cacheable && id != null)
+		{
+			EntityCacheStatistics.record(type,
+					EntityManagerProvider.getEntityManagerFactory().getCache().contains(type, id));
+		}
+		return withEntityManager(em -> em.find(type, id, Map.of(LOAD_GRAPH, em.getEntityGraph(entityGraph))));
+	}
+
+	/**
+	 * Returns a reference to the entity with the given ID without copying its
+	 * state, for setting an association of an entity saved in the same
+	 * transaction. Must be called within a transaction: the reference is managed
+	 * by that transaction's persistence context, so merging the owning entity
+	 * leaves the referenced row untouched.
+	 *
+	 * @throws jakarta.persistence.EntityNotFoundException if no entity with this
+	 *                                                     ID exists
+	 */
+	@Override
+	public <U> T getReference(U id)
+	{
+		return withEntityManager(em -> em.getReference(type, id));
+	}
+
+	/**
+	 * Removes the entity from the shared cache, so the next lookup reads it from
+	 * the database.
+	 */
+	@Override
+	public <U> void evict(U id)
+	{
+		if (cacheable)
+		{
+			EntityManagerProvider.getEntityManagerFactory().getCache().evict(type, id);
+		}
 	}
 
 	@Override
 	public T update(T object)
 	{
-		return em.merge(object);
+		invalidateCountsAfterCommit();
+		return withEntityManager(em -> em.merge(object));
 	}
 
 	@Override
 	public void delete(T object)
 	{
-		em.remove(em.merge(object));
+		invalidateCountsAfterCommit();
+		withEntityManager(em -> {
+			em.remove(em.merge(object));
+			return null;
+		});
 	}
 
 	@Override
 	public void insert(T object)
 	{
-		em.persist(object);
+		invalidateCountsAfterCommit();
+		withEntityManager(em -> {
+			em.persist(object);
+			return null;
+		});
+	}
+
+	/**
+	 * Inserts all objects in a single transaction. If the current thread already
+	 * has a transaction open the objects join it; otherwise a transaction is
+	 * started and committed (or rolled back on failure) here. Every
+	 * {@value #BULK_FLUSH_SIZE} objects the pending inserts are flushed as one JDBC
+	 * batch and, in a transaction of its own, the persistence context is cleared
+	 * so memory use does not grow with the number of objects.
+	 */
+	@Override
+	public void insertAll(Collection<? extends T> objects)
+	{
+		runInBulk(objects, (em, object) -> {
+			em.persist(object);
+			return object;
+		});
+	}
+
+	/**
+	 * Merges all objects in a single transaction, flushing in batches like
+	 * {@link #insertAll(Collection)}.
+	 *
+	 * @return the merged objects, in the order they were given
+	 */
+	@Override
+	public List<T> updateAll(Collection<? extends T> objects)
+	{
+		return runInBulk(objects, (em, object) -> em.merge(object));
+	}
+
+	private List<T> runInBulk(Collection<? extends T> objects, BulkWrite<T> write)
+	{
+		boolean ownTransaction = !isTransactionActive();
+		if (ownTransaction)
+		{
+			startTransaction();
+		}
+		try
+		{
+			invalidateCountsAfterCommit();
+			List<T> written = withEntityManager(em -> {
+				List<T> results = new ArrayList<>(objects.size());
+				int pending = 0;
+				for (T object : objects)
+				{
+					results.add(write.apply(em, object));
+					if (++pending == BULK_FLUSH_SIZE)
+					{
+						em.flush();
+						if (ownTransaction)
+						{
+							em.clear();
+						}
+						pending = 0;
+					}
+				}
+				return results;
+			});
+			if (ownTransaction)
+			{
+				commitTransaction();
+			}
+			return written;
+		} catch (RuntimeException e)
+		{
+			if (ownTransaction)
+			{
+				rollbackTransaction();
+			}
+			throw e;
+		}
 	}
 
+	/**
+	 * Checks whether the current thread has a transaction open.
+	 *
+	 * @return true if a transaction is active on the bound EntityManager
+	 */
+	protected boolean isTransactionActive()
+	{
+		EntityManager bound = EntityManagerProvider.currentOrNull();
+		return bound != null && bound.getTransaction().isActive();
+	}
+
+	@FunctionalInterface
+	private interface BulkWrite<T>
+	{
+		T apply(EntityManager em, T object);
+	}
+
+	/**
+	 * Counts the rows with the given ID instead of loading the entity, so no
+	 * relationships are read.
+	 */
 	@Override
 	public <U> boolean exists(U id)
 	{
-		T entity = em.find(type, id);
-		return entity != null;
+		if (id == null)
+		{
+			return false;
+		}
+		return withEntityManager(em -> {
+			EntityType<T> entityType = em.getMetamodel().entity(type);
+			String idAttribute = entityType.getId(entityType.getIdType().getJavaType()).getName();
+			return em.createQuery("select count(entity) from " + type.getSimpleName() + " entity where entity."
+					+ idAttribute + " = :id", Long.class).setParameter("id", id).getSingleResult() > 0;
+		});
 	}
 
 }
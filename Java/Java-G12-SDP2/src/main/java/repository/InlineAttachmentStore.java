@@ -0,0 +1,69 @@
+package repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import domain.FileInfo;
+
+/**
+ * Keeps attachment content inline in the BLOB column of
+ * {@code maintenance_files}. Content is sent and received as a single packet,
+ * so it is limited by the server's max_allowed_packet and the driver may hold a
+ * whole file in memory. Use {@link DiskAttachmentStore} for large files.
+ */
+public class InlineAttachmentStore implements AttachmentStore
+{
+	private final FileInfoDao fileInfoDao;
+
+	/**
+	 * Constructs a new InlineAttachmentStore.
+	 *
+	 * @param fileInfoDao the DAO used to read and write the content column
+	 */
+	public InlineAttachmentStore(FileInfoDao fileInfoDao)
+	{
+		this.fileInfoDao = fileInfoDao;
+	}
+
+	@Override
+	public boolean contains(FileInfo fileInfo)
+	{
+		return fileInfo.getContentHash() == null;
+	}
+
+	@Override
+	public void write(FileInfo fileInfo, InputStream content, long length)
+	{
+		fileInfoDao.writeContent(fileInfo, content, length);
+	}
+
+	@Override
+	public boolean copyContent(FileInfo fileInfo, OutputStream out) throws IOException
+	{
+		return fileInfoDao.copyContent(fileInfo.getId(), out);
+	}
+
+	@Override
+	public byte[] readContent(FileInfo fileInfo)
+	{
+		return fileInfoDao.findContent(fileInfo.getId());
+	}
+
+	/**
+	 * Nothing to do: the content goes away with the row, or has already been
+	 * cleared when another store took it over.
+	 */
+	@Override
+	public void remove(FileInfo fileInfo)
+	{
+	}
+
+	/**
+	 * Nothing to do: inline content has no hash and is never shared.
+	 */
+	@Override
+	public void purge(String contentHash)
+	{
+	}
+}
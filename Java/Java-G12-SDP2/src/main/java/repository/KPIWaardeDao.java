@@ -0,0 +1,32 @@
+package repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import domain.KPIWaarde;
+
+/**
+ * Data Access Object interface for KPIWaarde entities. Extends the generic DAO
+ * interface with queries on the KPI time series.
+ */
+public interface KPIWaardeDao extends GenericDao<KPIWaarde>
+{
+	/**
+	 * Retrieves all values of a single KPI, newest first.
+	 *
+	 * @param kpiId the ID of the KPI
+	 * @return the values of the KPI, or an empty list if there are none
+	 */
+	List<KPIWaarde> findByKpi(int kpiId);
+
+	/**
+	 * Retrieves only the most recent value per site for each of the given KPIs, in
+	 * a single query whose cost depends on the number of KPIs and sites, not on
+	 * the length of their history.
+	 *
+	 * @param kpiIds the IDs of the KPIs
+	 * @return the latest values, ordered by KPI and site, or an empty list if
+	 *         {@code kpiIds} is empty
+	 */
+	List<KPIWaarde> findLatestByKpis(Collection<Integer> kpiIds);
+}
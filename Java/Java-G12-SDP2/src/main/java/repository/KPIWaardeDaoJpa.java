@@ -0,0 +1,69 @@
+package repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import domain.KPIWaarde;
+import jakarta.persistence.Query;
+
+/**
+ * JPA implementation of the KPIWaardeDao interface.
+ */
+public class KPIWaardeDaoJpa extends GenericDaoJpa<KPIWaarde> implements KPIWaardeDao
+{
+	private static final String FIND_LATEST_SQL = """
+			SELECT w.* FROM kpiwaarden w
+			JOIN (SELECT kpi_id, site_id, MAX(datum) AS datum FROM kpiwaarden
+				WHERE kpi_id IN (%s)
+				GROUP BY kpi_id, site_id) latest
+			ON latest.kpi_id = w.kpi_id AND latest.site_id <=> w.site_id AND latest.datum = w.datum
+			ORDER BY w.kpi_id, w.site_id
+			""";
+
+	/**
+	 * Constructs a new KPIWaardeDaoJpa instance.
+	 */
+	public KPIWaardeDaoJpa()
+	{
+		super(KPIWaarde.class);
+	}
+
+	@Override
+	public List<KPIWaarde> findByKpi(int kpiId)
+	{
+		return withEntityManager(em -> em.createNamedQuery("KPIWaarde.findByKpi", KPIWaarde.class)
+				.setParameter("kpiId", kpiId).getResultList());
+	}
+
+	/**
+	 * The latest date per (KPI, site) is computed once in a grouped derived table,
+	 * which MySQL answers with a loose scan of the (kpi_id, site_id, datum) index
+	 * that reads one entry per group. The rows themselves are then found by an
+	 * index lookup per group, so the cost grows with the number of KPIs and sites
+	 * rather than with the stored history. The null-safe {@code <=>} comparison
+	 * keeps the join on site_id indexable for KPIs without a site.
+	 */
+	@Override
+	public List<KPIWaarde> findLatestByKpis(Collection<Integer> kpiIds)
+	{
+		if (kpiIds.isEmpty())
+		{
+			return List.of();
+		}
+		List<Integer> ids = List.copyOf(kpiIds);
+		String placeholders = IntStream.rangeClosed(1, ids.size()).mapToObj(i -> "?" + i)
+				.collect(Collectors.joining(", "));
+		return withEntityManager(em -> {
+			Query query = em.createNativeQuery(String.format(FIND_LATEST_SQL, placeholders), KPIWaarde.class);
+			for (int i = 0; i < ids.size(); i++)
+			{
+				query.setParameter(i + 1, ids.get(i));
+			}
+			@SuppressWarnings("unchecked")
+			List<KPIWaarde> latest = query.getResultList();
+			return latest;
+		});
+	}
+}
@@ -0,0 +1,54 @@
+package repository;
+
+import java.util.List;
+
+import domain.Machine;
+import dto.MachineFacets;
+import dto.MachineRow;
+
+/**
+ * Data Access Object interface for Machine entities. Extends the generic DAO
+ * interface with machine-specific queries.
+ */
+public interface MachineDao extends GenericDao<Machine>
+{
+	/**
+	 * Retrieves all machines matching the given criteria, ordered by ID. The
+	 * filtering is done by the database in a single query.
+	 *
+	 * @param filter the criteria to match
+	 * @return the matching machines, or an empty list if none match
+	 */
+	List<Machine> findFiltered(MachineFilter filter);
+
+	/**
+	 * Retrieves one page of overview rows, ordered by ID, starting after the given
+	 * ID. Site name and technician are joined into the same query, so a page costs
+	 * one round trip and no entities are built.
+	 *
+	 * @param afterId the ID of the last machine of the previous page, or null for
+	 *                the first page
+	 * @param limit   the maximum number of rows to return
+	 * @return the rows on the requested page
+	 */
+	List<MachineRow> findRowPage(Integer afterId, int limit);
+
+	/**
+	 * Retrieves the overview rows of all machines matching the given criteria,
+	 * ordered by ID, with the same filtering as {@link #findFiltered(MachineFilter)}.
+	 *
+	 * @param filter the criteria to match
+	 * @return the matching rows, or an empty list if none match
+	 */
+	List<MachineRow> findFilteredRows(MachineFilter filter);
+
+	/**
+	 * Computes the distinct values of the machine overview filters in one SELECT
+	 * DISTINCT query.
+	 *
+	 * @param siteId the ID of the site whose machines to look at, or null for all
+	 *               machines
+	 * @return the sorted locations, statuses and technician names
+	 */
+	MachineFacets findFacets(Integer siteId);
+}
@@ -0,0 +1,133 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import domain.Machine;
+import dto.MachineFacets;
+import dto.MachineRow;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * JPA implementation of the MachineDao interface.
+ */
+public class MachineDaoJpa extends GenericDaoJpa<Machine> implements MachineDao
+{
+	private static final String SEARCH_CLAUSE = "(LOWER(m.code) LIKE :search ESCAPE '!'"
+			+ " OR LOWER(m.location) LIKE :search ESCAPE '!'" + " OR LOWER(s.siteName) LIKE :search ESCAPE '!'"
+			+ " OR LOWER(m.productInfo) LIKE :search ESCAPE '!')";
+
+	private static final String ROW_SELECT = "SELECT NEW dto.MachineRow(m.id, m.code, m.location, m.productInfo,"
+			+ " m.machineStatus, m.productionStatus, m.lastMaintenance, m.futureMaintenance,"
+			+ " m.numberDaysSinceLastMaintenance, s.siteName, t.firstName)"
+			+ " FROM Machine m LEFT JOIN m.site s LEFT JOIN m.technician t";
+
+	/**
+	 * Constructs a new MachineDaoJpa instance.
+	 */
+	public MachineDaoJpa()
+	{
+		super(Machine.class);
+	}
+
+	/**
+	 * Builds the query out of fixed fragments, so each combination of criteria
+	 * always yields the same JPQL and SQL text. That keeps the parsed query and the
+	 * prepared statement cached across keystrokes.
+	 */
+	@Override
+	public List<Machine> findFiltered(MachineFilter filter)
+	{
+		return findFiltered("SELECT m FROM Machine m LEFT JOIN m.site s", Machine.class, filter);
+	}
+
+	@Override
+	public List<MachineRow> findRowPage(Integer afterId, int limit)
+	{
+		return withEntityManager(
+				em -> em.createQuery(ROW_SELECT + " WHERE m.id > :afterId ORDER BY m.id", MachineRow.class)
+						.setParameter("afterId", afterId == null ? 0 : afterId).setMaxResults(limit)
+						.getResultList());
+	}
+
+	@Override
+	public List<MachineRow> findFilteredRows(MachineFilter filter)
+	{
+		return findFiltered(ROW_SELECT, MachineRow.class, filter);
+	}
+
+	@Override
+	public MachineFacets findFacets(Integer siteId)
+	{
+		String jpql = "SELECT DISTINCT m.location, m.machineStatus, m.productionStatus, t.firstName"
+				+ " FROM Machine m LEFT JOIN m.technician t" + (siteId == null ? "" : " WHERE m.site.id = :siteId");
+		List<Object[]> combinations = withEntityManager(em -> {
+			TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+			if (siteId != null)
+			{
+				query.setParameter("siteId", siteId);
+			}
+			return query.getResultList();
+		});
+
+		Set<String> locations = new TreeSet<>();
+		Set<String> machineStatuses = new TreeSet<>();
+		Set<String> productionStatuses = new TreeSet<>();
+		Set<String> technicianNames = new TreeSet<>();
+		for (Object[] combination : combinations)
+		{
+			addIfPresent(locations, combination[0]);
+			addIfPresent(machineStatuses, combination[1]);
+			addIfPresent(productionStatuses, combination[2]);
+			addIfPresent(technicianNames, combination[3]);
+		}
+		return new MachineFacets(List.copyOf(locations), List.copyOf(machineStatuses),
+				List.copyOf(productionStatuses), List.copyOf(technicianNames));
+	}
+
+	private static void addIfPresent(Set<String> values, Object value)
+	{
+		if (value != null && !value.toString().isEmpty())
+		{
+			values.add(value.toString());
+		}
+	}
+
+	private <R> List<R> findFiltered(String select, Class<R> resultType, MachineFilter filter)
+	{
+		List<String> clauses = new ArrayList<>();
+		if (filter.machineStatus() != null)
+		{
+			clauses.add("m.machineStatus = :machineStatus");
+		}
+		if (filter.productionStatus() != null)
+		{
+			clauses.add("m.productionStatus = :productionStatus");
+		}
+		if (filter.hasSearchText())
+		{
+			clauses.add(SEARCH_CLAUSE);
+		}
+
+		String jpql = select + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses)) + " ORDER BY m.id";
+
+		return withEntityManager(em -> {
+			TypedQuery<R> query = em.createQuery(jpql, resultType);
+			if (filter.machineStatus() != null)
+			{
+				query.setParameter("machineStatus", filter.machineStatus());
+			}
+			if (filter.productionStatus() != null)
+			{
+				query.setParameter("productionStatus", filter.productionStatus());
+			}
+			if (filter.hasSearchText())
+			{
+				query.setParameter("search", "%" + escapeLike(filter.searchText().trim().toLowerCase()) + "%");
+			}
+			return query.getResultList();
+		});
+	}
+}
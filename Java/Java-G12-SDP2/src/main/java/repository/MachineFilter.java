@@ -0,0 +1,26 @@
+package repository;
+
+import util.MachineStatus;
+import util.ProductionStatus;
+
+/**
+ * Search criteria for machines. Criteria that are null (or a blank search text)
+ * are not applied.
+ *
+ * @param searchText       text to look for in the code, location, site name and
+ *                         product info of a machine (case insensitive)
+ * @param machineStatus    the machine status to match
+ * @param productionStatus the production status to match
+ */
+public record MachineFilter(String searchText, MachineStatus machineStatus, ProductionStatus productionStatus)
+{
+	/**
+	 * Checks whether a search text has been given.
+	 *
+	 * @return true if the search text is neither null nor blank
+	 */
+	public boolean hasSearchText()
+	{
+		return searchText != null && !searchText.isBlank();
+	}
+}
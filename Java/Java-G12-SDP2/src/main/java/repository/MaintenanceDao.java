@@ -0,0 +1,61 @@
+package repository;
+
+import java.io.IOException;
+import java.util.List;
+
+import domain.Maintenance;
+import dto.MaintenanceHistoryRow;
+import dto.MaintenanceRow;
+
+/**
+ * Data Access Object interface for Maintenance entities. Extends the generic DAO
+ * interface with a streaming read of the maintenance history and the
+ * projections of the maintenance overview.
+ */
+public interface MaintenanceDao extends GenericDao<Maintenance>
+{
+	/**
+	 * Receives the rows of the maintenance history one at a time.
+	 */
+	@FunctionalInterface
+	interface HistoryRowHandler
+	{
+		void handle(MaintenanceHistoryRow row) throws IOException;
+	}
+
+	/**
+	 * Reads the maintenance history matching the filter, ordered by ID, and hands
+	 * every row to the handler as soon as it is read. The rows are flat
+	 * projections (no entities are built) and are not collected, so the history
+	 * can be processed with constant memory regardless of its size.
+	 *
+	 * @param filter  the criteria to match
+	 * @param handler receives every matching row
+	 * @return the number of rows handled
+	 * @throws IOException if the handler fails
+	 */
+	long forEachHistoryRow(MaintenanceHistoryFilter filter, HistoryRowHandler handler) throws IOException;
+
+	/**
+	 * Retrieves one page of overview rows, ordered by ID, starting after the given
+	 * ID. The technician's name is joined into the same query, so a page costs one
+	 * round trip and no entities are built.
+	 *
+	 * @param machineId the ID of the machine to restrict the page to, or null for
+	 *                  all machines
+	 * @param afterId   the ID of the last record of the previous page, or null for
+	 *                  the first page
+	 * @param limit     the maximum number of rows to return
+	 * @return the rows on the requested page
+	 */
+	List<MaintenanceRow> findRowPage(Integer machineId, Integer afterId, int limit);
+
+	/**
+	 * Retrieves the overview rows of all maintenance records, ordered by ID.
+	 *
+	 * @param machineId the ID of the machine to restrict the rows to, or null for
+	 *                  all machines
+	 * @return the matching rows
+	 */
+	List<MaintenanceRow> findRows(Integer machineId);
+}
@@ -0,0 +1,171 @@
+package repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import domain.Maintenance;
+import dto.MaintenanceHistoryRow;
+import dto.MaintenanceRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import util.MaintenanceStatus;
+
+/**
+ * JPA implementation of the MaintenanceDao interface.
+ */
+public class MaintenanceDaoJpa extends GenericDaoJpa<Maintenance> implements MaintenanceDao
+{
+	private static final String HISTORY_SQL = """
+			SELECT m.ID, m.EXECUTIONDATE, m.STARTDATE, m.ENDDATE, m.STATUS, m.REASON, m.COMMENTS,
+				ma.CODE, ma.LOCATION, s.SITENAME, u.FIRSTNAME, u.LASTNAME, u.EMAIL
+			FROM maintenances m
+			JOIN machines ma ON ma.ID = m.machine_id
+			LEFT JOIN sites s ON s.ID = ma.SITE_ID
+			LEFT JOIN users u ON u.ID = m.technician_id
+			""";
+
+	private static final String ROW_SELECT = "SELECT NEW dto.MaintenanceRow(m.id, m.executionDate, m.startDate,"
+			+ " m.endDate, t.firstName, t.lastName, m.reason, m.comments, m.status, ma.id)"
+			+ " FROM Maintenance m JOIN m.machine ma LEFT JOIN m.technician t";
+
+	/**
+	 * Constructs a new MaintenanceDaoJpa instance.
+	 */
+	public MaintenanceDaoJpa()
+	{
+		super(Maintenance.class);
+	}
+
+	/**
+	 * The query runs over JDBC on the connection of the current transaction (one
+	 * is started and rolled back here if the caller has none). The statement is
+	 * forward-only and read-only with the MySQL streaming fetch size, so the
+	 * driver hands out rows as they arrive instead of buffering the whole result.
+	 */
+	@Override
+	public long forEachHistoryRow(MaintenanceHistoryFilter filter, HistoryRowHandler handler) throws IOException
+	{
+		List<Object> values = new ArrayList<>();
+		StringBuilder sql = new StringBuilder(HISTORY_SQL);
+		appendCondition(sql, values, "ma.SITE_ID = ?", filter.siteId());
+		appendCondition(sql, values, "m.EXECUTIONDATE >= ?", filter.from() == null ? null : Date.valueOf(filter.from()));
+		appendCondition(sql, values, "m.EXECUTIONDATE <= ?", filter.to() == null ? null : Date.valueOf(filter.to()));
+		sql.append("ORDER BY m.ID");
+
+		EntityManager bound = EntityManagerProvider.currentOrNull();
+		boolean ownTransaction = bound == null || !bound.getTransaction().isActive();
+		if (ownTransaction)
+		{
+			startTransaction();
+		}
+		try
+		{
+			return withEntityManager(em -> {
+				Connection connection = em.unwrap(Connection.class);
+				try (PreparedStatement statement = connection.prepareStatement(sql.toString(),
+						ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))
+				{
+					statement.setFetchSize(Integer.MIN_VALUE);
+					for (int i = 0; i < values.size(); i++)
+					{
+						statement.setObject(i + 1, values.get(i));
+					}
+					long count = 0;
+					try (ResultSet rs = statement.executeQuery())
+					{
+						while (rs.next())
+						{
+							handler.handle(toRow(rs));
+							count++;
+						}
+					}
+					return count;
+				} catch (SQLException e)
+				{
+					throw new PersistenceException(e);
+				} catch (IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e)
+		{
+			throw e.getCause();
+		} finally
+		{
+			if (ownTransaction)
+			{
+				rollbackTransaction();
+			}
+		}
+	}
+
+	@Override
+	public List<MaintenanceRow> findRowPage(Integer machineId, Integer afterId, int limit)
+	{
+		return findRows(machineId, afterId, limit);
+	}
+
+	@Override
+	public List<MaintenanceRow> findRows(Integer machineId)
+	{
+		return findRows(machineId, null, null);
+	}
+
+	private List<MaintenanceRow> findRows(Integer machineId, Integer afterId, Integer limit)
+	{
+		String jpql = ROW_SELECT + " WHERE m.id > :afterId" + (machineId == null ? "" : " AND ma.id = :machineId")
+				+ " ORDER BY m.id";
+		return withEntityManager(em -> {
+			TypedQuery<MaintenanceRow> query = em.createQuery(jpql, MaintenanceRow.class)
+					.setParameter("afterId", afterId == null ? 0 : afterId);
+			if (machineId != null)
+			{
+				query.setParameter("machineId", machineId);
+			}
+			if (limit != null)
+			{
+				query.setMaxResults(limit);
+			}
+			return query.getResultList();
+		});
+	}
+
+	private static void appendCondition(StringBuilder sql, List<Object> values, String condition, Object value)
+	{
+		if (value != null)
+		{
+			sql.append(values.isEmpty() ? "WHERE " : "AND ").append(condition).append('\n');
+			values.add(value);
+		}
+	}
+
+	private static MaintenanceHistoryRow toRow(ResultSet rs) throws SQLException
+	{
+		Date executionDate = rs.getDate(2);
+		String status = rs.getString(5);
+		String firstName = rs.getString(11);
+		String lastName = rs.getString(12);
+		String technicianName = firstName == null && lastName == null ? null
+				: ((firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName)).trim();
+		return new MaintenanceHistoryRow(rs.getInt(1), executionDate == null ? null : executionDate.toLocalDate(),
+				toLocalDateTime(rs.getTimestamp(3)), toLocalDateTime(rs.getTimestamp(4)),
+				status == null ? null : MaintenanceStatus.valueOf(status), rs.getString(6), rs.getString(7),
+				rs.getString(8), rs.getString(9), rs.getString(10), technicianName, rs.getString(13));
+	}
+
+	private static LocalDateTime toLocalDateTime(Timestamp timestamp)
+	{
+		return timestamp == null ? null : timestamp.toLocalDateTime();
+	}
+}
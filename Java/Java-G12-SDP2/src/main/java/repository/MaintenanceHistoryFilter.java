@@ -0,0 +1,22 @@
+package repository;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria for exporting the maintenance history. Criteria that are null are
+ * not applied.
+ *
+ * @param siteId the ID of the site whose machines' maintenances are exported
+ * @param from   the first execution date to include
+ * @param to     the last execution date to include
+ */
+public record MaintenanceHistoryFilter(Integer siteId, LocalDate from, LocalDate to)
+{
+	public MaintenanceHistoryFilter
+	{
+		if (from != null && to != null && from.isAfter(to))
+		{
+			throw new IllegalArgumentException("The start date must not be after the end date");
+		}
+	}
+}
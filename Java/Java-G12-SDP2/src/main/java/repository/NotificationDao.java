@@ -1,5 +1,6 @@
 package repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import domain.Notification;
@@ -8,4 +9,62 @@ public interface NotificationDao extends GenericDao<Notification>{
 	public List<Notification> getAllRead();
 	public List<Notification> getAllUnread();
 	void markAsRead(int notificationId);
+
+	/**
+	 * Marks every unread notification with an ID in the given range as read, in a
+	 * single statement.
+	 *
+	 * @param fromId the first ID of the range
+	 * @param toId   the last ID of the range
+	 * @return the number of notifications marked as read
+	 */
+	int markRangeAsRead(int fromId, int toId);
+
+	/**
+	 * Marks every unread notification as read, in a single statement.
+	 *
+	 * @return the number of notifications marked as read
+	 */
+	int markAllAsRead();
+
+	/**
+	 * Removes read notifications created before the given moment, in batches of
+	 * at most {@code batchSize} rows with one transaction per batch. When
+	 * {@code archive} is true every removed notification is first copied to the
+	 * archive table in the same transaction.
+	 *
+	 * @param cutoff    notifications older than this are removed
+	 * @param batchSize the maximum number of rows per transaction
+	 * @param archive   whether to archive the notifications before removing them
+	 * @return the number of removed notifications
+	 */
+	int purgeReadBefore(LocalDateTime cutoff, int batchSize, boolean archive);
+
+	/**
+	 * Retrieves the unread notifications with an ID greater than the given one,
+	 * oldest first.
+	 *
+	 * @param afterId the ID of the last notification already seen, 0 for all
+	 * @param limit   the maximum number of notifications to return
+	 * @return the new unread notifications
+	 */
+	List<Notification> findUnreadAfter(int afterId, int limit);
+
+	/**
+	 * Counts the unread notifications.
+	 *
+	 * @return the number of unread notifications
+	 */
+	long countUnread();
+
+	/**
+	 * Retrieves one page of read notifications, newest first, with an ID smaller
+	 * than the given one.
+	 *
+	 * @param beforeId the ID of the last notification of the previous page, or
+	 *                 null for the first page
+	 * @param limit    the maximum number of notifications to return
+	 * @return the read notifications on the page
+	 */
+	List<Notification> findReadBefore(Integer beforeId, int limit);
 }
@@ -1,8 +1,12 @@
 package repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
+import domain.ArchivedNotification;
 import domain.Notification;
+import jakarta.persistence.EntityManager;
 
 public class NotificationDaoJpa extends GenericDaoJpa<Notification> implements NotificationDao {
 
@@ -12,21 +16,87 @@ public class NotificationDaoJpa extends GenericDaoJpa<Notification> implements N
 
 	@Override
 	public List<Notification> getAllRead() {
-		return em.createNamedQuery("Notification.getAllRead", Notification.class).getResultList();
+		return withEntityManager(em -> em.createNamedQuery("Notification.getAllRead", Notification.class).getResultList());
 	}
 
 	@Override
 	public List<Notification> getAllUnread() {
-		return em.createNamedQuery("Notification.getAllUnread", Notification.class).getResultList();
+		return withEntityManager(em -> em.createNamedQuery("Notification.getAllUnread", Notification.class).getResultList());
+	}
+
+	@Override
+	public List<Notification> findUnreadAfter(int afterId, int limit) {
+		return withEntityManager(em -> em.createNamedQuery("Notification.findUnreadAfter", Notification.class)
+				.setParameter("afterId", afterId).setMaxResults(limit).getResultList());
+	}
+
+	@Override
+	public long countUnread() {
+		return withEntityManager(
+				em -> em.createNamedQuery("Notification.countUnread", Long.class).getSingleResult());
+	}
+
+	@Override
+	public List<Notification> findReadBefore(Integer beforeId, int limit) {
+		return withEntityManager(em -> em.createNamedQuery("Notification.findReadBefore", Notification.class)
+				.setParameter("beforeId", beforeId == null ? Integer.MAX_VALUE : beforeId).setMaxResults(limit)
+				.getResultList());
 	}
 
 	@Override
 	public void markAsRead(int notificationId) {
-		Notification notification = em.find(Notification.class, notificationId);
-		if (notification != null && !notification.isRead()) {
-			em.getTransaction().begin();
-			notification.setRead(true);
-			em.getTransaction().commit();
+		markRangeAsRead(notificationId, notificationId);
+	}
+
+	@Override
+	public int markRangeAsRead(int fromId, int toId) {
+		return executeUpdate(em -> em.createNamedQuery("Notification.markRangeAsRead")
+				.setParameter("fromId", fromId).setParameter("toId", toId).executeUpdate());
+	}
+
+	@Override
+	public int markAllAsRead() {
+		return executeUpdate(em -> em.createNamedQuery("Notification.markAllAsRead").executeUpdate());
+	}
+
+	@Override
+	public int purgeReadBefore(LocalDateTime cutoff, int batchSize, boolean archive) {
+		LocalDateTime archivedAt = LocalDateTime.now();
+		int removed = 0;
+		int batch;
+		do {
+			batch = executeUpdate(em -> {
+				List<Notification> old = em.createNamedQuery("Notification.findReadOlderThan", Notification.class)
+						.setParameter("cutoff", cutoff).setMaxResults(batchSize).getResultList();
+				if (old.isEmpty()) {
+					return 0;
+				}
+				if (archive) {
+					old.forEach(n -> em.persist(new ArchivedNotification(n, archivedAt)));
+					em.flush();
+				}
+				List<Integer> ids = old.stream().map(Notification::getId).toList();
+				return em.createNamedQuery("Notification.deleteByIds").setParameter("ids", ids).executeUpdate();
+			});
+			removed += batch;
+		} while (batch == batchSize);
+		return removed;
+	}
+
+	/**
+	 * Runs a bulk statement in a transaction of its own and drops the cached row
+	 * counts afterwards.
+	 */
+	private int executeUpdate(Function<EntityManager, Integer> update) {
+		startTransaction();
+		try {
+			int count = withEntityManager(update);
+			commitTransaction();
+			invalidateCounts();
+			return count;
+		} catch (RuntimeException e) {
+			rollbackTransaction();
+			throw e;
 		}
 	}
 
@@ -0,0 +1,44 @@
+package repository;
+
+import java.util.List;
+
+import domain.Site;
+import dto.SiteFacets;
+import dto.SiteRow;
+
+/**
+ * Data Access Object interface for Site entities. Extends the generic DAO
+ * interface with the projections of the site overview.
+ */
+public interface SiteDao extends GenericDao<Site>
+{
+	/**
+	 * Retrieves one page of overview rows, ordered by ID, starting after the given
+	 * ID. The responsible user is joined and the machines are counted, in total
+	 * and per machine status, in the same query; no machines are loaded.
+	 *
+	 * @param afterId the ID of the last site of the previous page, or null for the
+	 *                first page
+	 * @param limit   the maximum number of rows to return
+	 * @return the rows on the requested page
+	 */
+	List<SiteRow> findRowPage(Integer afterId, int limit);
+
+	/**
+	 * Retrieves the overview rows of the sites matching the given criteria,
+	 * ordered by ID. The machine counts are aggregated with GROUP BY and the
+	 * machine count criteria are checked with HAVING, so no machines are loaded.
+	 *
+	 * @param filter the criteria to match
+	 * @return the matching rows, or an empty list if none match
+	 */
+	List<SiteRow> findRows(SiteFilter filter);
+
+	/**
+	 * Computes the distinct values of the site overview filters in one SELECT
+	 * DISTINCT query.
+	 *
+	 * @return the sorted statuses, site names and responsible users
+	 */
+	SiteFacets findFacets();
+}
@@ -0,0 +1,182 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import domain.Site;
+import dto.SiteFacets;
+import dto.SiteRow;
+import jakarta.persistence.TypedQuery;
+import util.MachineStatus;
+import util.Status;
+
+/**
+ * JPA implementation of the SiteDao interface.
+ */
+public class SiteDaoJpa extends GenericDaoJpa<Site> implements SiteDao
+{
+	/**
+	 * One count per machine status, in the order of {@link MachineStatus} (which
+	 * is also the order of the counts in {@link SiteRow}).
+	 */
+	private static final String STATUS_COUNTS = Arrays.stream(MachineStatus.values())
+			.map(status -> "COUNT(CASE WHEN m.machineStatus = :" + parameterName(status)
+					+ " THEN m.id ELSE NULL END)")
+			.collect(Collectors.joining(", "));
+
+	private static final String ROW_SELECT = "SELECT NEW dto.SiteRow(s.id, s.siteName, v.firstName, v.lastName,"
+			+ " s.status, COUNT(m), " + STATUS_COUNTS + ")"
+			+ " FROM Site s LEFT JOIN s.verantwoordelijke v LEFT JOIN s.machines m";
+
+	private static final String ROW_GROUP_BY = " GROUP BY s.id, s.siteName, v.firstName, v.lastName, s.status";
+
+	private static final String SEARCH_CLAUSE = "(LOWER(s.siteName) LIKE :search ESCAPE '!'"
+			+ " OR LOWER(v.firstName) LIKE :search ESCAPE '!' OR LOWER(v.lastName) LIKE :search ESCAPE '!'";
+
+	/**
+	 * Constructs a new SiteDaoJpa instance.
+	 */
+	public SiteDaoJpa()
+	{
+		super(Site.class);
+	}
+
+	@Override
+	public List<SiteRow> findRowPage(Integer afterId, int limit)
+	{
+		return withEntityManager(em -> {
+			TypedQuery<SiteRow> query = em
+					.createQuery(ROW_SELECT + " WHERE s.id > :afterId" + ROW_GROUP_BY + " ORDER BY s.id", SiteRow.class)
+					.setParameter("afterId", afterId == null ? 0 : afterId).setMaxResults(limit);
+			bindStatusCounts(query);
+			return query.getResultList();
+		});
+	}
+
+	/**
+	 * Builds the query out of fixed fragments, so each combination of criteria
+	 * always yields the same JPQL and SQL text. The machine count criteria are
+	 * applied in the HAVING clause of the aggregation.
+	 */
+	@Override
+	public List<SiteRow> findRows(SiteFilter filter)
+	{
+		List<Status> searchStatuses = filter.hasSearchText()
+				? Arrays.stream(Status.values())
+						.filter(status -> status.toString().toLowerCase()
+								.contains(filter.searchText().trim().toLowerCase()))
+						.toList()
+				: List.of();
+
+		List<String> clauses = new ArrayList<>();
+		if (filter.status() != null)
+		{
+			clauses.add("s.status = :status");
+		}
+		if (filter.siteName() != null)
+		{
+			clauses.add("LOWER(s.siteName) LIKE :siteName ESCAPE '!'");
+		}
+		if (filter.verantwoordelijke() != null)
+		{
+			clauses.add("CONCAT(v.firstName, ' ', v.lastName) = :verantwoordelijke");
+		}
+		if (filter.hasSearchText())
+		{
+			clauses.add(SEARCH_CLAUSE + (searchStatuses.isEmpty() ? ")" : " OR s.status IN :searchStatuses)"));
+		}
+
+		List<String> having = new ArrayList<>();
+		if (filter.minMachines() != null)
+		{
+			having.add("COUNT(m) >= :minMachines");
+		}
+		if (filter.maxMachines() != null)
+		{
+			having.add("COUNT(m) <= :maxMachines");
+		}
+
+		String jpql = ROW_SELECT + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses))
+				+ ROW_GROUP_BY + (having.isEmpty() ? "" : " HAVING " + String.join(" AND ", having))
+				+ " ORDER BY s.id";
+
+		return withEntityManager(em -> {
+			TypedQuery<SiteRow> query = em.createQuery(jpql, SiteRow.class);
+			bindStatusCounts(query);
+			if (filter.status() != null)
+			{
+				query.setParameter("status", filter.status());
+			}
+			if (filter.siteName() != null)
+			{
+				query.setParameter("siteName", "%" + escapeLike(filter.siteName().toLowerCase()) + "%");
+			}
+			if (filter.verantwoordelijke() != null)
+			{
+				query.setParameter("verantwoordelijke", filter.verantwoordelijke());
+			}
+			if (filter.hasSearchText())
+			{
+				query.setParameter("search", "%" + escapeLike(filter.searchText().trim().toLowerCase()) + "%");
+				if (!searchStatuses.isEmpty())
+				{
+					query.setParameter("searchStatuses", searchStatuses);
+				}
+			}
+			if (filter.minMachines() != null)
+			{
+				query.setParameter("minMachines", filter.minMachines().longValue());
+			}
+			if (filter.maxMachines() != null)
+			{
+				query.setParameter("maxMachines", filter.maxMachines().longValue());
+			}
+			return query.getResultList();
+		});
+	}
+
+	@Override
+	public SiteFacets findFacets()
+	{
+		List<Object[]> combinations = withEntityManager(em -> em.createQuery(
+				"SELECT DISTINCT s.status, s.siteName, v.firstName, v.lastName FROM Site s LEFT JOIN s.verantwoordelijke v",
+				Object[].class).getResultList());
+
+		Set<String> statuses = new TreeSet<>();
+		Set<String> siteNames = new TreeSet<>();
+		Set<String> verantwoordelijken = new TreeSet<>();
+		for (Object[] combination : combinations)
+		{
+			if (combination[0] != null)
+			{
+				statuses.add(combination[0].toString());
+			}
+			if (combination[1] != null)
+			{
+				siteNames.add((String) combination[1]);
+			}
+			if (combination[2] != null)
+			{
+				verantwoordelijken.add(combination[2] + " " + combination[3]);
+			}
+		}
+		return new SiteFacets(List.copyOf(statuses), List.copyOf(siteNames), List.copyOf(verantwoordelijken));
+	}
+
+	private static void bindStatusCounts(TypedQuery<SiteRow> query)
+	{
+		for (MachineStatus status : MachineStatus.values())
+		{
+			query.setParameter(parameterName(status), status);
+		}
+	}
+
+	private static String parameterName(MachineStatus status)
+	{
+		return "status" + status.ordinal();
+	}
+}
@@ -0,0 +1,29 @@
+package repository;
+
+import util.Status;
+
+/**
+ * Search criteria for the site overview. Criteria that are null (or a blank
+ * text) are not applied.
+ *
+ * @param searchText        text to look for in the site name, the name of the
+ *                          responsible user and the status (case insensitive)
+ * @param status            the site status to match
+ * @param siteName          text the site name must contain (case insensitive)
+ * @param verantwoordelijke the full name ("first last") of the responsible user
+ * @param minMachines       the minimum number of machines of the site
+ * @param maxMachines       the maximum number of machines of the site
+ */
+public record SiteFilter(String searchText, Status status, String siteName, String verantwoordelijke,
+		Integer minMachines, Integer maxMachines)
+{
+	/**
+	 * Checks whether a search text has been given.
+	 *
+	 * @return true if the search text is neither null nor blank
+	 */
+	public boolean hasSearchText()
+	{
+		return searchText != null && !searchText.isBlank();
+	}
+}
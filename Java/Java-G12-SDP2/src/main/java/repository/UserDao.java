@@ -7,6 +7,7 @@ package repository;
 import java.util.List;
 
 import domain.User;
+import dto.UserRow;
 
 public interface UserDao extends GenericDao<User>
 {
@@ -27,4 +28,34 @@ public interface UserDao extends GenericDao<User>
 	 *         if none exist
 	 */
 	List<User> getAllTechniekers();
-}
\ No newline at end of file
+
+	/**
+	 * Checks whether another user already uses the given email address. Backed by
+	 * the unique index on the email column.
+	 * 
+	 * @param email       The email address to check
+	 * @param excludingId The ID of the user being edited, or null when creating a
+	 *                    user
+	 * @return true if a user other than {@code excludingId} has this email
+	 */
+	boolean existsByEmail(String email, Integer excludingId);
+
+	/**
+	 * Retrieves the users with the given first and last name, using the index on
+	 * (lastName, firstName). Comparison follows the column collation, which is
+	 * case insensitive on MySQL.
+	 * 
+	 * @param firstName The first name to search for
+	 * @param lastName  The last name to search for
+	 * @return The matching users, ordered by ID
+	 */
+	List<User> findByName(String firstName, String lastName);
+
+	/**
+	 * Retrieves the overview row of every user in one query. Only the listed
+	 * columns are read; no User entities (or their addresses) are built.
+	 * 
+	 * @return The rows of all users, ordered by ID
+	 */
+	List<UserRow> findRows();
+}
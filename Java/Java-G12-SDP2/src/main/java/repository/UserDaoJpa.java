@@ -7,6 +7,7 @@ package repository;
 import java.util.List;
 
 import domain.User;
+import dto.UserRow;
 import exceptions.UserNotFoundWithEmailException;
 
 public class UserDaoJpa extends GenericDaoJpa<User> implements UserDao
@@ -34,7 +35,8 @@ public class UserDaoJpa extends GenericDaoJpa<User> implements UserDao
 	{
 		try
 		{
-			return em.createNamedQuery("User.getByEmail", User.class).setParameter("email", email).getSingleResult();
+			return withEntityManager(em -> em.createNamedQuery("User.getByEmail", User.class)
+					.setParameter("email", email).getSingleResult());
 		} catch (Exception e)
 		{
 			throw new UserNotFoundWithEmailException(email);
@@ -50,6 +52,47 @@ public class UserDaoJpa extends GenericDaoJpa<User> implements UserDao
 	@Override
 	public List<User> getAllTechniekers()
 	{
-		return em.createNamedQuery("User.getAllTechniekers", User.class).getResultList();
+		return withEntityManager(em -> em.createNamedQuery("User.getAllTechniekers", User.class).getResultList());
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Checks whether another user already uses the given email address.
+	 * 
+	 * @param email       The email address to check
+	 * @param excludingId The ID of the user being edited, or null when creating a
+	 *                    user
+	 * @return true if a user other than {@code excludingId} has this email
+	 */
+	@Override
+	public boolean existsByEmail(String email, Integer excludingId)
+	{
+		return withEntityManager(em -> !em.createNamedQuery("User.findIdByEmail", Integer.class)
+				.setParameter("email", email).setParameter("excludingId", excludingId == null ? 0 : excludingId)
+				.setMaxResults(1).getResultList().isEmpty());
+	}
+
+	/**
+	 * Retrieves the users with the given first and last name.
+	 * 
+	 * @param firstName The first name to search for
+	 * @param lastName  The last name to search for
+	 * @return The matching users, ordered by ID
+	 */
+	@Override
+	public List<User> findByName(String firstName, String lastName)
+	{
+		return withEntityManager(em -> em.createNamedQuery("User.findByName", User.class)
+				.setParameter("firstName", firstName).setParameter("lastName", lastName).getResultList());
+	}
+
+	/**
+	 * Retrieves the overview row of every user.
+	 * 
+	 * @return The rows of all users, ordered by ID
+	 */
+	@Override
+	public List<UserRow> findRows()
+	{
+		return withEntityManager(em -> em.createNamedQuery("User.findRows", UserRow.class).getResultList());
+	}
+}
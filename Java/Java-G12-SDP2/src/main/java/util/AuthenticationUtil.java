@@ -7,7 +7,7 @@ import repository.UserDao;
 
 public class AuthenticationUtil {
 
-	private static User authenticatedUser = null;
+	private static volatile User authenticatedUser = null;
 
 	public static void authenticate(String email, String inputPassword, UserDao userRepo) throws InvalidInputException {
 	    User user;
@@ -23,9 +23,32 @@ public class AuthenticationUtil {
 	        throw new InvalidInputException("E-mailadres en wachtwoord komen niet overeen. Probeer het opnieuw.");
 	    }
 	    
+	    rehashIfNeeded(user, inputPassword, userRepo);
 	    authenticatedUser = user;
 	}
 
+	/**
+	 * Hashes the password again with the current cost profile if the stored hash
+	 * was made with another one. A failure here does not fail the login; the hash
+	 * is simply upgraded at the next login instead.
+	 */
+	private static void rehashIfNeeded(User user, String inputPassword, UserDao userRepo) {
+	    if (!PasswordHasher.needsRehash(user.getPassword())) {
+	        return;
+	    }
+	    String oldHash = user.getPassword();
+	    user.setPassword(PasswordHasher.hash(inputPassword));
+	    try {
+	        userRepo.startTransaction();
+	        userRepo.update(user);
+	        userRepo.commitTransaction();
+	        userRepo.evict(user.getId());
+	    } catch (RuntimeException e) {
+	        userRepo.rollbackTransaction();
+	        user.setPassword(oldHash);
+	    }
+	}
+
 	public static void logout() {
 		authenticatedUser = null;
 	}
@@ -0,0 +1,139 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams records from CSV with a header row. Fields may be quoted with double
+ * quotes (a doubled quote inside a quoted field is a literal quote, and quoted
+ * fields may span lines). The separator is a comma, or a semicolon when the
+ * header contains semicolons but no commas, as exported by Excel in many
+ * locales.
+ */
+public class CsvRecordReader implements RecordReader
+{
+	private final BufferedReader reader;
+	private final List<String> header;
+	private final char separator;
+	private long lineNumber;
+
+	/**
+	 * Creates a reader and reads the header row.
+	 *
+	 * @param reader the CSV source
+	 * @throws IOException if the header cannot be read
+	 */
+	public CsvRecordReader(Reader reader) throws IOException
+	{
+		this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+		String firstLine = this.reader.readLine();
+		if (firstLine == null)
+		{
+			throw new IOException("The CSV file is empty");
+		}
+		lineNumber = 1;
+		if (firstLine.startsWith("﻿"))
+		{
+			firstLine = firstLine.substring(1);
+		}
+		this.separator = firstLine.indexOf(';') >= 0 && firstLine.indexOf(',') < 0 ? ';' : ',';
+		this.header = parseLine(firstLine).stream().map(String::trim).toList();
+	}
+
+	/**
+	 * @throws IOException if a row has more fields than the header
+	 */
+	@Override
+	public Map<String, String> readRecord() throws IOException
+	{
+		String line;
+		do
+		{
+			line = reader.readLine();
+			if (line == null)
+			{
+				return null;
+			}
+			lineNumber++;
+		} while (line.isBlank());
+
+		List<String> fields = parseLine(line);
+		if (fields.size() > header.size())
+		{
+			throw new IOException(
+					"Line " + lineNumber + " has " + fields.size() + " fields, the header has " + header.size());
+		}
+		Map<String, String> record = new LinkedHashMap<>();
+		for (int i = 0; i < header.size(); i++)
+		{
+			record.put(header.get(i), i < fields.size() ? fields.get(i) : null);
+		}
+		return record;
+	}
+
+	private List<String> parseLine(String line) throws IOException
+	{
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true)
+		{
+			if (i == line.length())
+			{
+				if (!quoted)
+				{
+					break;
+				}
+				// A quoted field continues on the next line
+				line = reader.readLine();
+				if (line == null)
+				{
+					throw new IOException("Unterminated quoted field at line " + lineNumber);
+				}
+				lineNumber++;
+				field.append('\n');
+				i = 0;
+				continue;
+			}
+			char c = line.charAt(i++);
+			if (quoted)
+			{
+				if (c == '"' && i < line.length() && line.charAt(i) == '"')
+				{
+					field.append('"');
+					i++;
+				} else if (c == '"')
+				{
+					quoted = false;
+				} else
+				{
+					field.append(c);
+				}
+			} else if (c == '"')
+			{
+				quoted = true;
+			} else if (c == separator)
+			{
+				fields.add(field.toString());
+				field.setLength(0);
+			} else
+			{
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+}
@@ -0,0 +1,63 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes comma separated UTF-8 CSV. Values containing a comma, quote or line
+ * break are quoted, with quotes doubled, so {@link CsvRecordReader} reads them
+ * back unchanged.
+ */
+public class CsvRowWriter implements RowWriter
+{
+	private final Writer writer;
+
+	/**
+	 * Creates a writer over the given stream.
+	 *
+	 * @param out the stream to write to
+	 */
+	public CsvRowWriter(OutputStream out)
+	{
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void writeRow(Object... values) throws IOException
+	{
+		for (int i = 0; i < values.length; i++)
+		{
+			if (i > 0)
+			{
+				writer.write(',');
+			}
+			if (values[i] != null)
+			{
+				writeField(values[i].toString());
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException
+	{
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+		{
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		writer.close();
+	}
+}
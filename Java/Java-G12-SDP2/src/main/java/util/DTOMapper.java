@@ -1,8 +1,12 @@
 package util;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+
 import domain.Address;
 import domain.Machine;
 import domain.Maintenance;
@@ -17,111 +21,174 @@ import dto.SiteDTOWithMachines;
 import dto.SiteDTOWithoutMachines;
 import dto.UserDTO;
 
+/**
+ * Converts between entities and DTOs.
+ * <p>
+ * The static {@code toXxxDTO} methods map a single entity. When a whole list
+ * is converted, use a {@link MappingContext} instead: it maps every entity
+ * only once per conversion, so the machines of a site, or machines sharing a
+ * technician, all refer to the same nested DTO instead of each carrying their
+ * own copy.
+ */
 public class DTOMapper {
 
-    public static  AddressDTO toAddressDTO(Address address) {
-        if (address == null) {
-            return null;
+    /**
+     * Memoizes mapped entities by ID for the duration of one conversion batch.
+     * Entities that have not been persisted yet (ID 0) are mapped every time.
+     * A context is not thread safe and should not outlive the batch, since it
+     * keeps every DTO it produced reachable.
+     */
+    public static class MappingContext {
+
+        private final Map<Integer, AddressDTO> addresses = new HashMap<>();
+        private final Map<Integer, UserDTO> users = new HashMap<>();
+        private final Map<Integer, SiteDTOWithoutMachines> sites = new HashMap<>();
+        private final Map<Integer, MachineDTO> machines = new HashMap<>();
+
+        public AddressDTO toAddressDTO(Address address) {
+            if (address == null) {
+                return null;
+            }
+            return memoize(addresses, address.getId(), () -> new AddressDTO(
+                    address.getId(),
+                    address.getStreet(),
+                    address.getNumber(),
+                    address.getPostalcode(),
+                    address.getCity()
+            ));
+        }
+
+        public UserDTO toUserDTO(User user) {
+            if (user == null) {
+                return null;
+            }
+            return memoize(users, user.getId(), () -> new UserDTO(
+                    user.getId(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    user.getPhoneNumber(),
+                    user.getBirthdate(),
+                    toAddressDTO(user.getAddress()),
+                    user.getRole(),
+                    user.getStatus(),
+                    user.getPassword()
+            ));
+        }
+
+        public SiteDTOWithoutMachines toSiteDTOWithoutMachines(Site site) {
+            if (site == null) {
+                return null;
+            }
+            return memoize(sites, site.getId(), () -> new SiteDTOWithoutMachines(
+                    site.getId(),
+                    site.getSiteName(),
+                    toUserDTO(site.getVerantwoordelijke()),
+                    site.getStatus(),
+                    toAddressDTO(site.getAddress())
+            ));
+        }
+
+        public MachineDTO toMachineDTO(Machine machine) {
+            if (machine == null) {
+                return null;
+            }
+            return memoize(machines, machine.getId(), () -> new MachineDTO(
+                    machine.getId(),
+                    toSiteDTOWithoutMachines(machine.getSite()),
+                    toUserDTO(machine.getTechnician()),
+                    machine.getCode(),
+                    machine.getMachineStatus(),
+                    machine.getProductionStatus(),
+                    machine.getLocation(),
+                    machine.getProductInfo(),
+                    machine.getLastMaintenance(),
+                    machine.getFutureMaintenance(),
+                    machine.getNumberDaysSinceLastMaintenance(),
+                    machine.getUpTimeInHours()
+            ));
+        }
+
+        public Set<MachineDTO> toMachineDTOSet(Set<Machine> machines) {
+            if (machines == null) {
+                return new HashSet<>();
+            }
+            return machines.stream()
+                    .map(this::toMachineDTO)
+                    .collect(Collectors.toSet());
+        }
+
+        public SiteDTOWithMachines toSiteDTOWithMachines(Site site) {
+            if (site == null) {
+                return null;
+            }
+            return new SiteDTOWithMachines(
+                    site.getId(),
+                    site.getSiteName(),
+                    toUserDTO(site.getVerantwoordelijke()),
+                    toMachineDTOSet(site.getMachines()),
+                    site.getStatus(),
+                    toAddressDTO(site.getAddress())
+            );
+        }
+
+        public MaintenanceDTO toMaintenanceDTO(Maintenance maintenance) {
+            if (maintenance == null) {
+                return null;
+            }
+            return new MaintenanceDTO(
+                    maintenance.getId(),
+                    maintenance.getExecutionDate(),
+                    maintenance.getStartDate(),
+                    maintenance.getEndDate(),
+                    toUserDTO(maintenance.getTechnician()),
+                    maintenance.getReason(),
+                    maintenance.getComments(),
+                    maintenance.getStatus(),
+                    toMachineDTO(maintenance.getMachine())
+            );
+        }
+
+        private static <D> D memoize(Map<Integer, D> mapped, int id, Supplier<D> mapper) {
+            if (id == 0) {
+                return mapper.get();
+            }
+            D dto = mapped.get(id);
+            if (dto == null) {
+                // not computeIfAbsent: the mapper recursively fills the other maps
+                dto = mapper.get();
+                mapped.put(id, dto);
+            }
+            return dto;
         }
-        return new AddressDTO(
-                address.getId(),
-                address.getStreet(),
-                address.getNumber(),
-                address.getPostalcode(),
-                address.getCity()
-        );
+    }
+
+    public static  AddressDTO toAddressDTO(Address address) {
+        return new MappingContext().toAddressDTO(address);
     }
 
     public static UserDTO toUserDTO(User user) {
-        if (user == null) {
-            return null;
-        }
-        
-        return new UserDTO(
-                user.getId(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail(),
-                user.getPhoneNumber(),
-                user.getBirthdate(),
-                toAddressDTO(user.getAddress()),
-                user.getRole(),
-                user.getStatus(),
-                user.getPassword()
-        );
+        return new MappingContext().toUserDTO(user);
     }
 
     public static SiteDTOWithoutMachines toSiteDTOWithoutMachines(Site site) {
-        if (site == null) {
-            return null;
-        }
-        return new SiteDTOWithoutMachines(
-                site.getId(),
-                site.getSiteName(),
-                toUserDTO(site.getVerantwoordelijke()),
-                site.getStatus(),
-                toAddressDTO(site.getAddress())
-        );
+        return new MappingContext().toSiteDTOWithoutMachines(site);
     }
 
     public static MachineDTO toMachineDTO(Machine machine) {
-        if (machine == null) {
-            return null;
-        }
-        return new MachineDTO(
-                machine.getId(),
-                toSiteDTOWithoutMachines(machine.getSite()),
-                toUserDTO(machine.getTechnician()),
-                machine.getCode(),
-                machine.getMachineStatus(),
-                machine.getProductionStatus(),
-                machine.getLocation(),
-                machine.getProductInfo(),
-                machine.getLastMaintenance(),
-                machine.getFutureMaintenance(),
-                machine.getNumberDaysSinceLastMaintenance(),
-                machine.getUpTimeInHours()
-        );
+        return new MappingContext().toMachineDTO(machine);
     }
 
     public static Set<MachineDTO> toMachineDTOSet(Set<Machine> machines) {
-        if (machines == null) {
-            return new HashSet<>();
-        }
-        return machines.stream()
-                .map(DTOMapper::toMachineDTO)
-                .collect(Collectors.toSet());
+        return new MappingContext().toMachineDTOSet(machines);
     }
 
     public static SiteDTOWithMachines toSiteDTOWithMachines(Site site) {
-        if (site == null) {
-            return null;
-        }
-        return new SiteDTOWithMachines(
-                site.getId(),
-                site.getSiteName(),
-                toUserDTO(site.getVerantwoordelijke()),
-                toMachineDTOSet(site.getMachines()),
-                site.getStatus(),
-                toAddressDTO(site.getAddress())
-        );
+        return new MappingContext().toSiteDTOWithMachines(site);
     }
 
     public static MaintenanceDTO toMaintenanceDTO(Maintenance maintenance) {
-        if (maintenance == null) {
-            return null;
-        }
-        return new MaintenanceDTO(
-                maintenance.getId(),
-                maintenance.getExecutionDate(),
-                maintenance.getStartDate(),
-                maintenance.getEndDate(),
-                toUserDTO(maintenance.getTechnician()),
-                maintenance.getReason(),
-                maintenance.getComments(),
-                maintenance.getStatus(),
-                toMachineDTO(maintenance.getMachine())
-        );
+        return new MappingContext().toMaintenanceDTO(maintenance);
     }
 
     public static ReportDTO toReportDTO(Report report) {
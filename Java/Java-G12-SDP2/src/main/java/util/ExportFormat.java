@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * File formats supported by the exports.
+ */
+public enum ExportFormat
+{
+	CSV, XLSX;
+
+	/**
+	 * Determines the format from the extension of a file name.
+	 *
+	 * @param fileName the name of the file
+	 * @return the format of the file
+	 * @throws IllegalArgumentException if the extension is not supported
+	 */
+	public static ExportFormat fromFileName(String fileName)
+	{
+		String lowerCaseName = fileName.toLowerCase();
+		if (lowerCaseName.endsWith(".csv"))
+		{
+			return CSV;
+		}
+		if (lowerCaseName.endsWith(".xlsx"))
+		{
+			return XLSX;
+		}
+		throw new IllegalArgumentException("Unsupported export file: " + fileName);
+	}
+}
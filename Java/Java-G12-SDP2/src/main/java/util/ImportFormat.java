@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * File formats supported by the bulk import.
+ */
+public enum ImportFormat
+{
+	CSV, JSON;
+
+	/**
+	 * Determines the format from the extension of a file name.
+	 *
+	 * @param fileName the name of the file
+	 * @return the format of the file
+	 * @throws IllegalArgumentException if the extension is not supported
+	 */
+	public static ImportFormat fromFileName(String fileName)
+	{
+		String lowerCaseName = fileName.toLowerCase();
+		if (lowerCaseName.endsWith(".csv"))
+		{
+			return CSV;
+		}
+		if (lowerCaseName.endsWith(".json"))
+		{
+			return JSON;
+		}
+		throw new IllegalArgumentException("Unsupported import file: " + fileName);
+	}
+}
@@ -1,14 +1,14 @@
 package util;
 
 import jakarta.persistence.EntityManagerFactory;
-import jakarta.persistence.Persistence;
-import lombok.Getter;
 import lombok.NoArgsConstructor;
+import repository.EntityManagerProvider;
 
 @NoArgsConstructor
 public class JPAUtil
 {
-	@Getter
-	private final static EntityManagerFactory entityManagerFactory = Persistence
-			.createEntityManagerFactory("shopfloor-app");
+	public static EntityManagerFactory getEntityManagerFactory()
+	{
+		return EntityManagerProvider.getEntityManagerFactory();
+	}
 }
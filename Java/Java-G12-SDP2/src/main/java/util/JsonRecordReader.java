@@ -0,0 +1,219 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams records from a JSON array of flat objects, e.g.
+ * {@code [{"code": "M1", "location": "Hall 1"}, ...]}. Values may be strings,
+ * numbers, booleans or null and are returned as text; nested objects and arrays
+ * are not supported. Only the current object is held in memory.
+ */
+public class JsonRecordReader implements RecordReader
+{
+	private final Reader reader;
+	private int peeked = -2;
+	private boolean started;
+	private boolean finished;
+
+	/**
+	 * Creates a reader over a JSON array.
+	 *
+	 * @param reader the JSON source
+	 */
+	public JsonRecordReader(Reader reader)
+	{
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+	}
+
+	@Override
+	public Map<String, String> readRecord() throws IOException
+	{
+		if (finished)
+		{
+			return null;
+		}
+		if (!started)
+		{
+			expect('[');
+			started = true;
+			if (peekSignificant() == ']')
+			{
+				read();
+				finished = true;
+				return null;
+			}
+		} else
+		{
+			int c = readSignificant();
+			if (c == ']')
+			{
+				finished = true;
+				return null;
+			}
+			if (c != ',')
+			{
+				throw malformed("',' or ']'", c);
+			}
+		}
+		return readObject();
+	}
+
+	private Map<String, String> readObject() throws IOException
+	{
+		expect('{');
+		Map<String, String> record = new LinkedHashMap<>();
+		if (peekSignificant() == '}')
+		{
+			read();
+			return record;
+		}
+		while (true)
+		{
+			expect('"');
+			String key = readString();
+			expect(':');
+			record.put(key, readValue());
+			int c = readSignificant();
+			if (c == '}')
+			{
+				return record;
+			}
+			if (c != ',')
+			{
+				throw malformed("',' or '}'", c);
+			}
+		}
+	}
+
+	private String readValue() throws IOException
+	{
+		int c = readSignificant();
+		if (c == '"')
+		{
+			return readString();
+		}
+		if (c == '{' || c == '[')
+		{
+			throw new IOException("Nested objects and arrays are not supported");
+		}
+		StringBuilder literal = new StringBuilder();
+		while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c))
+		{
+			literal.append((char) c);
+			c = read();
+		}
+		peeked = c;
+		String value = literal.toString();
+		if (value.isEmpty())
+		{
+			throw malformed("a value", c);
+		}
+		return value.equals("null") ? null : value;
+	}
+
+	private String readString() throws IOException
+	{
+		StringBuilder value = new StringBuilder();
+		while (true)
+		{
+			int c = read();
+			if (c == -1)
+			{
+				throw new IOException("Unterminated string");
+			}
+			if (c == '"')
+			{
+				return value.toString();
+			}
+			if (c != '\\')
+			{
+				value.append((char) c);
+				continue;
+			}
+			int escaped = read();
+			switch (escaped)
+			{
+			case '"', '\\', '/' -> value.append((char) escaped);
+			case 'b' -> value.append('\b');
+			case 'f' -> value.append('\f');
+			case 'n' -> value.append('\n');
+			case 'r' -> value.append('\r');
+			case 't' -> value.append('\t');
+			case 'u' ->
+			{
+				char[] hex = new char[4];
+				for (int i = 0; i < 4; i++)
+				{
+					int h = read();
+					if (h == -1)
+					{
+						throw new IOException("Unterminated string");
+					}
+					hex[i] = (char) h;
+				}
+				try
+				{
+					value.append((char) Integer.parseInt(new String(hex), 16));
+				} catch (NumberFormatException e)
+				{
+					throw new IOException("Invalid unicode escape: \\u" + new String(hex));
+				}
+			}
+			default -> throw malformed("an escape sequence", escaped);
+			}
+		}
+	}
+
+	private void expect(char expected) throws IOException
+	{
+		int c = readSignificant();
+		if (c != expected)
+		{
+			throw malformed("'" + expected + "'", c);
+		}
+	}
+
+	private int peekSignificant() throws IOException
+	{
+		int c = readSignificant();
+		peeked = c;
+		return c;
+	}
+
+	private int readSignificant() throws IOException
+	{
+		int c = read();
+		while (c != -1 && Character.isWhitespace(c))
+		{
+			c = read();
+		}
+		return c;
+	}
+
+	private int read() throws IOException
+	{
+		if (peeked != -2)
+		{
+			int c = peeked;
+			peeked = -2;
+			return c;
+		}
+		return reader.read();
+	}
+
+	private static IOException malformed(String expected, int actual)
+	{
+		return new IOException(
+				"Malformed JSON: expected " + expected + " but found " + (actual == -1 ? "end of file" : "'" + (char) actual + "'"));
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		reader.close();
+	}
+}
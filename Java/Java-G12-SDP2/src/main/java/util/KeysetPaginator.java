@@ -0,0 +1,110 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Loads the pages of a list screen one at a time using keyset pagination. The
+ * last key of every page that has been seen is remembered, so moving to the
+ * next page (or back to an earlier one) only fetches the rows that are shown.
+ * Jumping ahead past pages that have not been loaded yet walks forward from the
+ * last known page.
+ *
+ * @param <R> the type of the rows
+ */
+public class KeysetPaginator<R>
+{
+	/**
+	 * Fetches at most {@code limit} rows with a key greater than {@code afterKey},
+	 * ordered by key. A null {@code afterKey} means the first page.
+	 *
+	 * @param <R> the type of the rows
+	 */
+	@FunctionalInterface
+	public interface PageLoader<R>
+	{
+		List<R> load(Integer afterKey, int limit);
+	}
+
+	private final PageLoader<R> loader;
+	private final ToIntFunction<R> keyExtractor;
+
+	/**
+	 * pageStartKeys.get(i) is the key to continue after to load page i.
+	 */
+	private final List<Integer> pageStartKeys = new ArrayList<>();
+	private int pageSize;
+
+	private int cachedPageIndex = -1;
+	private List<R> cachedPage = List.of();
+
+	/**
+	 * Creates a new paginator.
+	 *
+	 * @param loader       fetches one page of rows after a given key
+	 * @param keyExtractor returns the (unique, ascending) key of a row
+	 */
+	public KeysetPaginator(PageLoader<R> loader, ToIntFunction<R> keyExtractor)
+	{
+		this.loader = loader;
+		this.keyExtractor = keyExtractor;
+		reset();
+	}
+
+	/**
+	 * Forgets all known page boundaries, e.g. after the underlying data changed.
+	 */
+	public void reset()
+	{
+		pageStartKeys.clear();
+		pageStartKeys.add(null);
+		cachedPageIndex = -1;
+		cachedPage = List.of();
+	}
+
+	/**
+	 * Returns the rows of the requested page.
+	 *
+	 * @param pageIndex the zero-based page index
+	 * @param pageSize  the number of rows per page
+	 * @return the rows of the page, or an empty list if the page does not exist
+	 */
+	public List<R> getPage(int pageIndex, int pageSize)
+	{
+		if (pageSize != this.pageSize)
+		{
+			reset();
+			this.pageSize = pageSize;
+		}
+		if (pageIndex == cachedPageIndex)
+		{
+			return cachedPage;
+		}
+
+		int index = Math.min(pageIndex, pageStartKeys.size() - 1);
+		List<R> page = loader.load(pageStartKeys.get(index), pageSize);
+		while (true)
+		{
+			if (page.size() == pageSize && index + 1 == pageStartKeys.size())
+			{
+				pageStartKeys.add(keyExtractor.applyAsInt(page.get(page.size() - 1)));
+			}
+			if (index == pageIndex)
+			{
+				break;
+			}
+			if (page.size() < pageSize)
+			{
+				page = List.of();
+				break;
+			}
+			index++;
+			page = loader.load(pageStartKeys.get(index), pageSize);
+		}
+
+		cachedPageIndex = pageIndex;
+		cachedPage = page;
+		return page;
+	}
+}
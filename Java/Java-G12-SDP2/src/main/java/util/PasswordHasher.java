@@ -1,36 +1,180 @@
 package util;
 
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import de.mkammerer.argon2.Argon2;
 import de.mkammerer.argon2.Argon2Factory;
 
+/**
+ * Hashes and verifies passwords with Argon2id.
+ * <p>
+ * Every hash allocates the configured amount of native memory, so the number
+ * of hashes running at the same time is capped by a semaphore; callers beyond
+ * the limit wait for a permit. The cost profile and the limit can be set with
+ * the system properties {@code password.argon2.iterations},
+ * {@code password.argon2.memory} (KiB), {@code password.argon2.parallelism}
+ * and {@code password.argon2.concurrency}, or with
+ * {@link #setProfile(CostProfile)}. Use {@link #calibrate(long, int, int)} to
+ * pick the number of iterations for a machine.
+ */
 public class PasswordHasher
 {
-	// Configure Argon2 parameters (adjust based on security needs)
-	private static final int ITERATIONS = 6; // Number of passes
-	private static final int MEMORY = (int) Math.pow(2, 17);
-	private static final int PARALLELISM = 4; // Threads
+	/**
+	 * The Argon2 cost parameters used for new hashes.
+	 *
+	 * @param iterations  the number of passes over the memory
+	 * @param memoryKiB   the memory used per hash, in KiB
+	 * @param parallelism the number of lanes (threads) per hash
+	 */
+	public record CostProfile(int iterations, int memoryKiB, int parallelism)
+	{
+		public CostProfile
+		{
+			if (iterations < 1 || memoryKiB < 8 * parallelism || parallelism < 1)
+			{
+				throw new IllegalArgumentException("Invalid Argon2 cost profile: t=" + iterations + ", m="
+						+ memoryKiB + ", p=" + parallelism);
+			}
+		}
+	}
+
+	/**
+	 * The profile all existing hashes were created with: 6 passes over 128 MiB
+	 * with 4 lanes.
+	 */
+	public static final CostProfile DEFAULT_PROFILE = new CostProfile(6, 1 << 17, 4);
+
+	private static final Pattern PARAMETERS = Pattern.compile("\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
 	private static final Argon2 ARGON2 = Argon2Factory.create(Argon2Factory.Argon2Types.ARGON2id);
 
+	private static volatile CostProfile profile = new CostProfile(
+			Integer.getInteger("password.argon2.iterations", DEFAULT_PROFILE.iterations()),
+			Integer.getInteger("password.argon2.memory", DEFAULT_PROFILE.memoryKiB()),
+			Integer.getInteger("password.argon2.parallelism", DEFAULT_PROFILE.parallelism()));
+
+	private static final Semaphore permits = new Semaphore(Integer.getInteger("password.argon2.concurrency",
+			Math.max(1, Runtime.getRuntime().availableProcessors() / 4)), true);
+
+	private PasswordHasher()
+	{
+	}
+
+	/**
+	 * Returns the profile used for new hashes.
+	 *
+	 * @return the current cost profile
+	 */
+	public static CostProfile getProfile()
+	{
+		return profile;
+	}
+
+	/**
+	 * Changes the profile used for new hashes. Existing hashes keep verifying;
+	 * they are upgraded when {@link #needsRehash(String)} reports them at login.
+	 *
+	 * @param newProfile the cost profile to use
+	 */
+	public static void setProfile(CostProfile newProfile)
+	{
+		profile = newProfile;
+	}
+
 	public static String hash(String password)
 	{
+		return hash(password, profile);
+	}
+
+	private static String hash(String password, CostProfile costProfile)
+	{
+		char[] chars = password.toCharArray();
+		acquire();
 		try
 		{
-			return ARGON2.hash(ITERATIONS, MEMORY, PARALLELISM, password.toCharArray());
+			return ARGON2.hash(costProfile.iterations(), costProfile.memoryKiB(), costProfile.parallelism(), chars);
 		} finally
 		{
-			ARGON2.wipeArray(password.toCharArray());
+			permits.release();
+			ARGON2.wipeArray(chars);
 		}
 	}
 
 	public static boolean verify(String rawPassword, String hashedPassword)
 	{
+		char[] chars = rawPassword.toCharArray();
+		acquire();
 		try
 		{
-			return ARGON2.verify(hashedPassword, rawPassword.toCharArray());
+			return ARGON2.verify(hashedPassword, chars);
 		} finally
 		{
-			ARGON2.wipeArray(rawPassword.toCharArray());
+			permits.release();
+			ARGON2.wipeArray(chars);
+		}
+	}
+
+	/**
+	 * Checks whether a stored hash was created with a different cost profile than
+	 * the current one.
+	 *
+	 * @param hashedPassword the stored hash
+	 * @return true if the password should be hashed again
+	 */
+	public static boolean needsRehash(String hashedPassword)
+	{
+		Matcher matcher = PARAMETERS.matcher(hashedPassword);
+		if (!matcher.find())
+		{
+			return true;
+		}
+		CostProfile current = profile;
+		return Integer.parseInt(matcher.group(1)) != current.memoryKiB()
+				|| Integer.parseInt(matcher.group(2)) != current.iterations()
+				|| Integer.parseInt(matcher.group(3)) != current.parallelism();
+	}
+
+	/**
+	 * Finds the highest number of iterations for which one hash with the given
+	 * memory and parallelism takes at most {@code maxMillis} on this machine. The
+	 * iterations are increased one at a time, so the benchmark itself takes
+	 * roughly as long as a few hashes at the target cost.
+	 *
+	 * @param maxMillis   the maximum time one hash may take
+	 * @param memoryKiB   the memory used per hash, in KiB
+	 * @param parallelism the number of lanes per hash
+	 * @return the calibrated profile, with at least one iteration
+	 */
+	public static CostProfile calibrate(long maxMillis, int memoryKiB, int parallelism)
+	{
+		// warm up the native library
+		hash("calibration", new CostProfile(1, memoryKiB, parallelism));
+
+		CostProfile best = new CostProfile(1, memoryKiB, parallelism);
+		for (int iterations = 1;; iterations++)
+		{
+			CostProfile candidate = new CostProfile(iterations, memoryKiB, parallelism);
+			long start = System.nanoTime();
+			hash("calibration", candidate);
+			if ((System.nanoTime() - start) / 1_000_000 > maxMillis)
+			{
+				return best;
+			}
+			best = candidate;
+		}
+	}
+
+	private static void acquire()
+	{
+		try
+		{
+			permits.acquire();
+		} catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting to hash a password", e);
 		}
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Reads flat records (field name to text value) one at a time from a CSV or
+ * JSON source, without loading the whole source into memory.
+ */
+public interface RecordReader extends Closeable
+{
+	/**
+	 * Reads the next record.
+	 *
+	 * @return the fields of the record, or null when there are no more records
+	 * @throws IOException if the source cannot be read or is malformed
+	 */
+	Map<String, String> readRecord() throws IOException;
+
+	/**
+	 * Opens a reader for the given format.
+	 *
+	 * @param reader the source to read from
+	 * @param format the format of the source
+	 * @return a record reader over the source
+	 * @throws IOException if the source cannot be read
+	 */
+	static RecordReader open(Reader reader, ImportFormat format) throws IOException
+	{
+		return switch (format)
+		{
+		case CSV -> new CsvRecordReader(reader);
+		case JSON -> new JsonRecordReader(reader);
+		};
+	}
+}
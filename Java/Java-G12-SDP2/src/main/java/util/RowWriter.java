@@ -0,0 +1,39 @@
+package util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes tabular data one row at a time to a CSV or XLSX file, without keeping
+ * earlier rows in memory. Closing the writer completes the file and closes the
+ * underlying stream.
+ */
+public interface RowWriter extends Closeable
+{
+	/**
+	 * Writes one row. Null values are written as empty cells, numbers as numeric
+	 * cells where the format supports it and everything else as text.
+	 *
+	 * @param values the cell values of the row
+	 * @throws IOException if the row cannot be written
+	 */
+	void writeRow(Object... values) throws IOException;
+
+	/**
+	 * Opens a writer for the given format.
+	 *
+	 * @param out    the stream to write to
+	 * @param format the format to write
+	 * @return a row writer over the stream
+	 * @throws IOException if the file cannot be started
+	 */
+	static RowWriter open(OutputStream out, ExportFormat format) throws IOException
+	{
+		return switch (format)
+		{
+		case CSV -> new CsvRowWriter(out);
+		case XLSX -> new XlsxRowWriter(out, "Export");
+		};
+	}
+}
@@ -0,0 +1,81 @@
+package util;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import interfaces.Observer;
+
+/**
+ * Read-through cache for an immutable snapshot of a list of DTOs. The list is
+ * loaded on the first read and returned as is until the cache is invalidated.
+ * Registered as an {@link Observer} on a controller, every change the
+ * controller announces through {@code notifyObservers} drops the snapshot, so
+ * the next read loads fresh data.
+ *
+ * @param <T> the type of the DTOs
+ */
+public class SnapshotCache<T> implements Observer
+{
+	private final Supplier<List<T>> loader;
+
+	private volatile List<T> snapshot;
+
+	/**
+	 * Incremented on every invalidation, so a load that raced with an
+	 * invalidation is returned to its caller but not cached.
+	 */
+	private long generation;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param loader loads the current list, called on a read after invalidation
+	 */
+	public SnapshotCache(Supplier<List<T>> loader)
+	{
+		this.loader = loader;
+	}
+
+	/**
+	 * Returns the cached snapshot, loading it first if necessary.
+	 *
+	 * @return an unmodifiable list of the DTOs
+	 */
+	public List<T> get()
+	{
+		List<T> current = snapshot;
+		if (current != null)
+		{
+			return current;
+		}
+		long loadGeneration;
+		synchronized (this)
+		{
+			loadGeneration = generation;
+		}
+		List<T> loaded = List.copyOf(loader.get());
+		synchronized (this)
+		{
+			if (generation == loadGeneration)
+			{
+				snapshot = loaded;
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Drops the snapshot.
+	 */
+	public synchronized void invalidate()
+	{
+		generation++;
+		snapshot = null;
+	}
+
+	@Override
+	public void update(String message)
+	{
+		invalidate();
+	}
+}
@@ -0,0 +1,161 @@
+package util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single-sheet XLSX workbook. The package parts are fixed, so they are
+ * written up front and the worksheet is streamed as the last zip entry, row by
+ * row, using inline strings instead of a shared string table (which would have
+ * to be held in memory until the end).
+ */
+public class XlsxRowWriter implements RowWriter
+{
+	/**
+	 * Maximum number of rows of an Excel worksheet.
+	 */
+	static final int MAX_ROWS = 1_048_576;
+
+	private static final String CONTENT_TYPES = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+			<Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+			<Default Extension="xml" ContentType="application/xml"/>\
+			<Override PartName="/xl/workbook.xml" \
+			ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+			<Override PartName="/xl/worksheets/sheet1.xml" \
+			ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+			</Types>""";
+
+	private static final String ROOT_RELS = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+			<Relationship Id="rId1" \
+			Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+			Target="xl/workbook.xml"/>\
+			</Relationships>""";
+
+	private static final String WORKBOOK = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+			xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+			<sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>\
+			</workbook>""";
+
+	private static final String WORKBOOK_RELS = """
+			<?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+			<Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+			<Relationship Id="rId1" \
+			Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+			Target="worksheets/sheet1.xml"/>\
+			</Relationships>""";
+
+	private final ZipOutputStream zip;
+	private final Writer writer;
+	private int rowCount;
+
+	/**
+	 * Creates a writer over the given stream and writes the fixed package parts.
+	 *
+	 * @param out       the stream to write to
+	 * @param sheetName the name of the worksheet
+	 * @throws IOException if the package parts cannot be written
+	 */
+	public XlsxRowWriter(OutputStream out, String sheetName) throws IOException
+	{
+		zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+		writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+		writeEntry("[Content_Types].xml", CONTENT_TYPES);
+		writeEntry("_rels/.rels", ROOT_RELS);
+		writeEntry("xl/workbook.xml", WORKBOOK.formatted(escape(sheetName)));
+		writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+
+		zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+		writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+		writer.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+	}
+
+	private void writeEntry(String name, String content) throws IOException
+	{
+		zip.putNextEntry(new ZipEntry(name));
+		writer.write(content);
+		writer.flush();
+		zip.closeEntry();
+	}
+
+	/**
+	 * @throws IOException if the worksheet is full
+	 */
+	@Override
+	public void writeRow(Object... values) throws IOException
+	{
+		if (rowCount == MAX_ROWS)
+		{
+			throw new IOException("An XLSX worksheet holds at most " + MAX_ROWS + " rows");
+		}
+		rowCount++;
+		writer.write("<row>");
+		for (Object value : values)
+		{
+			if (value == null)
+			{
+				writer.write("<c/>");
+			} else if (value instanceof Number number)
+			{
+				writer.write("<c><v>");
+				writer.write(number.toString());
+				writer.write("</v></c>");
+			} else
+			{
+				writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+				writer.write(escape(value.toString()));
+				writer.write("</t></is></c>");
+			}
+		}
+		writer.write("</row>");
+	}
+
+	/**
+	 * Escapes XML markup and drops characters that are not allowed in XML 1.0.
+	 */
+	private static String escape(String value)
+	{
+		StringBuilder escaped = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			switch (c)
+			{
+			case '&' -> escaped.append("&amp;");
+			case '<' -> escaped.append("&lt;");
+			case '>' -> escaped.append("&gt;");
+			case '"' -> escaped.append("&quot;");
+			default ->
+			{
+				if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r')
+				{
+					escaped.append(c);
+				}
+			}
+			}
+		}
+		return escaped.toString();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		writer.write("</sheetData></worksheet>");
+		writer.flush();
+		zip.closeEntry();
+		zip.finish();
+		writer.close();
+	}
+}
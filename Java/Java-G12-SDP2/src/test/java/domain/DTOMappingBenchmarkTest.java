@@ -0,0 +1,152 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import dto.MachineDTO;
+import dto.SiteDTOWithMachines;
+import repository.SiteDao;
+import repository.MachineDao;
+import repository.UserDao;
+import util.DTOMapper;
+import util.MachineStatus;
+import util.ProductionStatus;
+import util.Role;
+import util.Status;
+
+/**
+ * Compares mapping every machine on its own with the batch mapping used by
+ * {@code getMachineList} and {@code getSites}, on 10k machines spread over 5
+ * sites and 20 technicians. The number of distinct nested DTO instances stands
+ * in for the allocations: every instance is a record plus its strings and
+ * address.
+ */
+class DTOMappingBenchmarkTest
+{
+	private static final int MACHINE_COUNT = 10_000;
+	private static final int SITE_COUNT = 5;
+	private static final int TECHNICIAN_COUNT = 20;
+
+	@Mock
+	private MachineDao machineRepo;
+
+	@Mock
+	private SiteDao siteRepo;
+
+	@Mock
+	private UserDao userRepo;
+
+	@InjectMocks
+	private MachineController machineController;
+
+	@InjectMocks
+	private SiteController siteController;
+
+	private List<Site> sites;
+	private List<Machine> machines;
+
+	@BeforeEach
+	void setUp()
+	{
+		MockitoAnnotations.openMocks(this);
+
+		List<User> technicians = new ArrayList<>();
+		for (int i = 1; i <= TECHNICIAN_COUNT + SITE_COUNT; i++)
+		{
+			User user = new User.Builder().buildFirstName("First" + i).buildLastName("Last" + i)
+					.buildEmail("user" + i + "@example.com").buildPhoneNumber("0470" + i)
+					.buildBirthdate(LocalDate.now().minusYears(30)).buildAddress("Main Street", i, 1000, "Brussels")
+					.buildStatus(Status.ACTIEF)
+					.buildRole(i > TECHNICIAN_COUNT ? Role.VERANTWOORDELIJKE : Role.TECHNIEKER).build();
+			user.setId(i);
+			user.getAddress().setId(i);
+			technicians.add(user);
+		}
+
+		sites = new ArrayList<>();
+		for (int i = 1; i <= SITE_COUNT; i++)
+		{
+			Site site = new Site.Builder().buildSiteName("Site " + i)
+					.buildVerantwoordelijke(technicians.get(TECHNICIAN_COUNT + i - 1))
+					.buildAddress("Site Street", i, 2000, "Antwerpen").buildStatus(Status.ACTIEF).build();
+			site.setId(i);
+			site.getAddress().setId(100 + i);
+			sites.add(site);
+		}
+
+		machines = new ArrayList<>();
+		for (int i = 1; i <= MACHINE_COUNT; i++)
+		{
+			Site site = sites.get(i % SITE_COUNT);
+			Machine machine = new Machine.Builder().buildCode("M" + i).buildLocation("Hall " + i % 50)
+					.buildProductInfo("Product " + i % 1000).buildMachineStatus(MachineStatus.DRAAIT)
+					.buildProductionStatus(ProductionStatus.GEZOND).buildSite(site)
+					.buildTechnician(technicians.get(i % TECHNICIAN_COUNT))
+					.buildFutureMaintenance(LocalDate.now().plusDays(30)).build();
+			machine.setId(i);
+			site.addMachine(machine);
+			machines.add(machine);
+		}
+
+		when(machineRepo.findAll()).thenReturn(machines);
+		when(siteRepo.findAll(Site.WITH_MACHINES_GRAPH)).thenReturn(sites);
+	}
+
+	@Test
+	void getMachineList_sharesSitesAndTechnicians()
+	{
+		List<MachineDTO> perMachine = machines.stream().map(DTOMapper::toMachineDTO).toList();
+		List<MachineDTO> batch = machineController.getMachineList();
+
+		int perMachineObjects = countNested(perMachine);
+		int batchObjects = countNested(batch);
+
+		assertEquals(perMachine, batch);
+		// every machine gets a site, a verantwoordelijke, a technician and three addresses
+		assertEquals(MACHINE_COUNT * 6, perMachineObjects);
+		// 5 sites, 5 verantwoordelijken, 20 technicians and their 30 addresses
+		assertEquals(2 * (SITE_COUNT * 2 + TECHNICIAN_COUNT), batchObjects);
+	}
+
+	@Test
+	void getSites_sharesSitesAndTechniciansAcrossMachines()
+	{
+		List<MachineDTO> perMachine = sites.stream().flatMap(site -> site.getMachines().stream())
+				.map(DTOMapper::toMachineDTO).toList();
+		List<SiteDTOWithMachines> batch = siteController.getSites();
+
+		int perMachineObjects = countNested(perMachine);
+		int batchObjects = countNested(batch.stream().flatMap(site -> site.machines().stream()).toList());
+
+		assertEquals(MACHINE_COUNT * 6, perMachineObjects);
+		assertEquals(2 * (SITE_COUNT * 2 + TECHNICIAN_COUNT), batchObjects);
+	}
+
+	/**
+	 * Counts the distinct site, user and address instances the machines refer to.
+	 */
+	private static int countNested(List<MachineDTO> dtos)
+	{
+		Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Function<MachineDTO, Stream<Object>> nested = dto -> Stream.of(dto.site(), dto.site().address(),
+				dto.site().verantwoordelijke(), dto.site().verantwoordelijke().address(), dto.technician(),
+				dto.technician().address());
+		dtos.stream().flatMap(nested).forEach(seen::add);
+		return seen.size();
+	}
+}
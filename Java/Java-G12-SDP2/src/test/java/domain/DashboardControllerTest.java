@@ -0,0 +1,61 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import domain.DashboardController.DashboardData;
+
+class DashboardControllerTest
+{
+	private KPIController kpiController;
+	private KPIWaardeController kpiWaardeController;
+	private DashboardController controller;
+
+	private List<KPI> kpis;
+	private Map<Integer, List<KPIWaarde>> latest;
+
+	@BeforeEach
+	void setUp()
+	{
+		kpiController = mock(KPIController.class);
+		kpiWaardeController = mock(KPIWaardeController.class);
+		controller = new DashboardController(kpiController, kpiWaardeController);
+
+		KPI first = new KPI();
+		first.setId(3);
+		KPI second = new KPI();
+		second.setId(1);
+		kpis = List.of(first, second);
+		latest = Map.of(3, List.of(new KPIWaarde()));
+		when(kpiController.getAllKPIs()).thenReturn(kpis);
+		when(kpiWaardeController.getLatestWaardenByKPIs(List.of(3, 1))).thenReturn(latest);
+	}
+
+	@Test
+	void loadDashboard_loadsLatestValuesOfTheShownKPIs()
+	{
+		DashboardData dashboard = controller.loadDashboard();
+
+		assertSame(kpis, dashboard.kpis());
+		assertSame(latest, dashboard.latestWaarden());
+		verify(kpiWaardeController).getLatestWaardenByKPIs(List.of(3, 1));
+	}
+
+	@Test
+	void prefetch_completesWithDashboardData() throws Exception
+	{
+		DashboardData dashboard = controller.prefetch().get(5, TimeUnit.SECONDS);
+
+		assertEquals(new DashboardData(kpis, latest), dashboard);
+	}
+}
@@ -0,0 +1,75 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dto.MaintenanceHistoryRow;
+import repository.MaintenanceDao;
+import repository.MaintenanceDao.HistoryRowHandler;
+import repository.MaintenanceHistoryFilter;
+import util.MaintenanceStatus;
+
+class ExportControllerTest
+{
+	@TempDir
+	Path tempDir;
+
+	private MaintenanceDao maintenanceDao;
+	private ExportController controller;
+
+	@BeforeEach
+	void setUp()
+	{
+		maintenanceDao = mock(MaintenanceDao.class);
+		controller = new ExportController(maintenanceDao);
+	}
+
+	@Test
+	void exportMaintenanceHistory_writesHeaderAndStreamedRows() throws IOException
+	{
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		LocalDate to = LocalDate.of(2025, 12, 31);
+		when(maintenanceDao.forEachHistoryRow(eq(new MaintenanceHistoryFilter(3, from, to)), any()))
+				.thenAnswer(invocation -> {
+					HistoryRowHandler handler = invocation.getArgument(1);
+					handler.handle(new MaintenanceHistoryRow(1, LocalDate.of(2025, 5, 1),
+							LocalDateTime.of(2025, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 11, 0),
+							MaintenanceStatus.VOLTOOID, "Belt, worn", null, "M1", "Hall 1", "Gent", "Jane Doe",
+							"jane@example.com"));
+					return 1L;
+				});
+		Path file = tempDir.resolve("history.csv");
+
+		long exported = controller.exportMaintenanceHistory(file, 3, from, to);
+
+		assertEquals(1, exported);
+		assertEquals(List.of(
+				"id,executionDate,startDate,endDate,status,reason,comments,machineCode,machineLocation,site,technician,technicianEmail",
+				"1,2025-05-01,2025-05-01T09:00,2025-05-01T11:00,Voltooid,\"Belt, worn\",,M1,Hall 1,Gent,Jane Doe,jane@example.com"),
+				Files.readAllLines(file));
+	}
+
+	@Test
+	void exportMaintenanceHistory_fromAfterTo_throwsIllegalArgumentException()
+	{
+		assertThrows(IllegalArgumentException.class, () -> controller.exportMaintenanceHistory(
+				tempDir.resolve("history.xlsx"), null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+		verifyNoInteractions(maintenanceDao);
+	}
+}
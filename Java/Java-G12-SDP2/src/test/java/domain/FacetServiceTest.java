@@ -0,0 +1,85 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import dto.MachineFacets;
+import dto.SiteFacets;
+import repository.MachineDao;
+import repository.SiteDao;
+
+@ExtendWith(MockitoExtension.class)
+class FacetServiceTest
+{
+	private static final SiteFacets SITE_FACETS = new SiteFacets(List.of("ACTIEF"), List.of("Site"),
+			List.of("John Doe"));
+	private static final MachineFacets MACHINE_FACETS = new MachineFacets(List.of("Hall 1"), List.of("DRAAIT"),
+			List.of("GEZOND"), List.of("John"));
+
+	@Mock
+	private SiteDao siteRepo;
+
+	@Mock
+	private MachineDao machineRepo;
+
+	private FacetService facetService;
+
+	@BeforeEach
+	void setUp()
+	{
+		facetService = new FacetService(siteRepo, machineRepo);
+		facetService.invalidate();
+	}
+
+	@Test
+	void getSiteFacets_repeatedReads_queryOnce()
+	{
+		when(siteRepo.findFacets()).thenReturn(SITE_FACETS);
+
+		assertSame(SITE_FACETS, facetService.getSiteFacets());
+		assertSame(SITE_FACETS, facetService.getSiteFacets());
+		verify(siteRepo, times(1)).findFacets();
+	}
+
+	@Test
+	void getMachineFacets_cachesPerSite()
+	{
+		when(machineRepo.findFacets(1)).thenReturn(MACHINE_FACETS);
+		when(machineRepo.findFacets(null)).thenReturn(MACHINE_FACETS);
+
+		facetService.getMachineFacets(1);
+		facetService.getMachineFacets(1);
+		facetService.getMachineFacets(null);
+		facetService.getMachineFacets(null);
+
+		verify(machineRepo, times(1)).findFacets(1);
+		verify(machineRepo, times(1)).findFacets(null);
+	}
+
+	@Test
+	void update_fromAnyInstance_dropsSharedFacets()
+	{
+		when(siteRepo.findFacets()).thenReturn(SITE_FACETS);
+		when(machineRepo.findFacets(1)).thenReturn(MACHINE_FACETS);
+		facetService.getSiteFacets();
+		facetService.getMachineFacets(1);
+
+		new FacetService(siteRepo, machineRepo).update("Machine bijgewerkt: M1");
+
+		assertEquals(SITE_FACETS, facetService.getSiteFacets());
+		assertEquals(MACHINE_FACETS, facetService.getMachineFacets(1));
+		verify(siteRepo, times(2)).findFacets();
+		verify(machineRepo, times(2)).findFacets(1);
+	}
+}
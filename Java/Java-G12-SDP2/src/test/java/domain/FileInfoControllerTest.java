@@ -0,0 +1,187 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+import jakarta.persistence.PersistenceException;
+import repository.AttachmentBlobDao;
+import repository.DiskAttachmentStore;
+import repository.FileInfoDao;
+import repository.InlineAttachmentStore;
+
+class FileInfoControllerTest
+{
+	private static final byte[] CONTENT = "manual".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path root;
+
+	private FileInfoDao fileInfoDao;
+	private FileInfoController controller;
+	private AttachmentBlobDao blobDao;
+	private FileInfoController diskController;
+
+	@BeforeEach
+	void setUp()
+	{
+		fileInfoDao = mock(FileInfoDao.class);
+		controller = new FileInfoController(fileInfoDao);
+	}
+
+	@Test
+	void getFilesForMaintenance_loadsMetadataOnly()
+	{
+		FileInfo file = new FileInfo(7, "manual.pdf", "pdf", 1024, LocalDateTime.now(), null);
+		when(fileInfoDao.findMetadataByMaintenance(3)).thenReturn(List.of(file));
+
+		assertEquals(List.of(file), controller.getFilesForMaintenance(3));
+		verify(fileInfoDao, never()).findAll();
+	}
+
+	@Test
+	void getFileContent_metadataOnly_fetchesContentById()
+	{
+		FileInfo file = new FileInfo(7, "manual.pdf", "pdf", 3, LocalDateTime.now(), null);
+		when(fileInfoDao.findContent(7)).thenReturn(new byte[] { 1, 2, 3 });
+
+		assertArrayEquals(new byte[] { 1, 2, 3 }, controller.getFileContent(file));
+	}
+
+	@Test
+	void getFileContent_contentPresent_doesNotQuery()
+	{
+		FileInfo file = new FileInfo("photo.png", "image", new byte[] { 4 }, null);
+
+		assertArrayEquals(new byte[] { 4 }, controller.getFileContent(file));
+		verify(fileInfoDao, never()).findContent(file.getId());
+	}
+
+	@Test
+	void deleteFile_deletesById() throws Exception
+	{
+		FileInfo file = new FileInfo(7, "manual.pdf", "pdf", 3, LocalDateTime.now(), null);
+
+		controller.deleteFile(file);
+
+		verify(fileInfoDao).startTransaction();
+		verify(fileInfoDao).deleteById(7);
+		verify(fileInfoDao).commitTransaction();
+	}
+
+	@Test
+	void deleteFile_diskContent_deletesContentAfterCommit() throws Exception
+	{
+		FileInfo file = storeOnDisk();
+		String hash = file.getContentHash();
+		when(blobDao.getForUpdate(hash)).thenReturn(new AttachmentBlob(hash, CONTENT.length), (AttachmentBlob) null);
+
+		diskController.deleteFile(file);
+
+		InOrder order = inOrder(fileInfoDao, blobDao);
+		order.verify(fileInfoDao).commitTransaction();
+		order.verify(blobDao).getForUpdate(hash);
+		assertFalse(Files.exists(root.resolve(hash.substring(0, 2)).resolve(hash)));
+	}
+
+	@Test
+	void deleteFile_deleteFails_contentStaysReadable() throws Exception
+	{
+		FileInfo file = storeOnDisk();
+		when(blobDao.getForUpdate(file.getContentHash()))
+				.thenReturn(new AttachmentBlob(file.getContentHash(), CONTENT.length));
+		doThrow(new PersistenceException("locked")).when(fileInfoDao).deleteById(7);
+
+		assertThrows(PersistenceException.class, () -> diskController.deleteFile(file));
+
+		verify(fileInfoDao).rollbackTransaction();
+		assertArrayEquals(CONTENT, diskController.getFileContent(file));
+	}
+
+	@Test
+	void deleteFile_commitFails_contentStaysReadable() throws Exception
+	{
+		FileInfo file = storeOnDisk();
+		when(blobDao.getForUpdate(file.getContentHash()))
+				.thenReturn(new AttachmentBlob(file.getContentHash(), CONTENT.length));
+		doThrow(new PersistenceException("connection lost")).when(fileInfoDao).commitTransaction();
+
+		assertThrows(PersistenceException.class, () -> diskController.deleteFile(file));
+
+		assertArrayEquals(CONTENT, diskController.getFileContent(file));
+	}
+
+	private FileInfo storeOnDisk() throws Exception
+	{
+		blobDao = mock(AttachmentBlobDao.class);
+		DiskAttachmentStore store = new DiskAttachmentStore(root, fileInfoDao, blobDao);
+		diskController = new FileInfoController(fileInfoDao, List.of(store, new InlineAttachmentStore(fileInfoDao)));
+		FileInfo file = new FileInfo(7, "manual.pdf", "pdf", CONTENT.length, LocalDateTime.now(), null);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+		return file;
+	}
+
+	@Test
+	void saveFileContent_stream_insertsWithinTransaction() throws Exception
+	{
+		FileInfo file = new FileInfo("manual.pdf", "pdf", null, null);
+		InputStream content = new ByteArrayInputStream(new byte[500]);
+
+		controller.saveFileContent(content, 500, file);
+
+		assertEquals(500, file.getSize());
+		assertNull(file.getContent());
+		verify(fileInfoDao).startTransaction();
+		verify(fileInfoDao).insert(file);
+		verify(fileInfoDao).writeContent(file, content, 500);
+		verify(fileInfoDao).commitTransaction();
+	}
+
+	@Test
+	void saveFileContent_streamFails_rollsBack()
+	{
+		FileInfo file = new FileInfo("manual.pdf", "pdf", null, null);
+		doThrow(new PersistenceException("Packet for query is too large")).when(fileInfoDao)
+				.writeContent(eq(file), any(), eq(10L));
+
+		assertThrows(PersistenceException.class,
+				() -> controller.saveFileContent(new ByteArrayInputStream(new byte[10]), 10, file));
+		verify(fileInfoDao).rollbackTransaction();
+		verify(fileInfoDao, never()).commitTransaction();
+	}
+
+	@Test
+	void writeFileContent_metadataOnly_copiesFromDatabase() throws Exception
+	{
+		FileInfo file = new FileInfo(7, "manual.pdf", "pdf", 3, LocalDateTime.now(), null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		when(fileInfoDao.copyContent(7, out)).thenReturn(false);
+
+		assertFalse(controller.writeFileContent(file, out));
+		verify(fileInfoDao).copyContent(7, out);
+	}
+}
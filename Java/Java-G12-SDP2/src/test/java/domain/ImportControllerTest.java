@@ -0,0 +1,195 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dto.ImportProgress;
+import dto.ImportResult;
+import repository.GenericDao;
+import repository.MachineDao;
+import repository.UserDao;
+import util.Role;
+import util.Status;
+
+class ImportControllerTest
+{
+	@TempDir
+	Path tempDir;
+
+	private MachineDao machineDao;
+	private GenericDao<Site> siteDao;
+	private UserDao userDao;
+	private ImportController controller;
+	private List<Integer> batchSizes;
+
+	private User technician;
+	private Site site;
+
+	@SuppressWarnings("unchecked")
+	@BeforeEach
+	void setUp()
+	{
+		machineDao = mock(MachineDao.class);
+		siteDao = mock(GenericDao.class);
+		userDao = mock(UserDao.class);
+		controller = new ImportController(machineDao, siteDao, userDao);
+
+		batchSizes = new ArrayList<>();
+		doAnswer(invocation -> {
+			batchSizes.add(((Collection<?>) invocation.getArgument(0)).size());
+			return null;
+		}).when(machineDao).insertAll(anyCollection());
+
+		technician = new User.Builder().buildFirstName("Jane").buildLastName("Doe").buildEmail("jane@example.com")
+				.buildPhoneNumber("010101").buildPassword("secret").buildBirthdate(LocalDate.of(1990, 1, 1))
+				.buildAddress("Main Street", 1, 1000, "Brussels").buildRole(Role.TECHNIEKER)
+				.buildStatus(Status.ACTIEF).build();
+		site = new Site.Builder().buildSiteName("Gent").buildAddress("Main Street", 1, 9000, "Gent")
+				.buildVerantwoordelijke(technician).buildStatus(Status.ACTIEF).build();
+		when(userDao.getByEmail("jane@example.com")).thenReturn(technician);
+		when(siteDao.findPage("id", null, 1, Map.of("siteName", "Gent"))).thenReturn(List.of(site));
+	}
+
+	private Path write(String name, String content) throws IOException
+	{
+		return Files.writeString(tempDir.resolve(name), content);
+	}
+
+	@Test
+	void importMachines_insertsInBatchesAndReportsProgress() throws IOException
+	{
+		StringBuilder csv = new StringBuilder(
+				"code,location,productInfo,machineStatus,productionStatus,futureMaintenance,site,technician\n");
+		for (int i = 1; i <= 5; i++)
+		{
+			csv.append("M").append(i).append(",Hall ").append(i)
+					.append(",Press,DRAAIT,GEZOND,2030-01-01,Gent,jane@example.com\n");
+		}
+		List<ImportProgress> progress = new ArrayList<>();
+
+		ImportResult result = controller.importMachines(write("machines.csv", csv.toString()), 2, progress::add);
+
+		assertEquals(5, result.imported());
+		assertEquals(0, result.failed());
+		assertEquals(List.of(2, 2, 1), batchSizes);
+		assertEquals(new ImportProgress(5, 5, 0), progress.get(progress.size() - 1));
+		// the site and technician are looked up once for the whole file
+		verify(siteDao, times(1)).findPage(eq("id"), any(), eq(1), any());
+		verify(userDao, times(1)).getByEmail("jane@example.com");
+	}
+
+	@Test
+	void importMachines_invalidRows_areReportedAndSkipped() throws IOException
+	{
+		String json = """
+				[
+				  {"code": "M1", "location": "Hall 1", "productInfo": "Press", "machineStatus": "DRAAIT",
+				   "productionStatus": "GEZOND", "futureMaintenance": "2030-01-01", "site": "Gent", "technician": "jane@example.com"},
+				  {"code": "M2", "location": "Hall 2", "productInfo": "Press", "machineStatus": "KAPOT",
+				   "productionStatus": "GEZOND", "futureMaintenance": "2030-01-01", "site": "Gent", "technician": "jane@example.com"},
+				  {"code": "M3", "location": "Hall 3", "productInfo": "Press", "machineStatus": "DRAAIT",
+				   "productionStatus": "GEZOND", "futureMaintenance": "2030-01-01", "site": "Antwerpen", "technician": "jane@example.com"}
+				]
+				""";
+
+		ImportResult result = controller.importMachines(write("machines.json", json), 10, null);
+
+		assertEquals(1, result.imported());
+		assertEquals(2, result.failed());
+		assertEquals(2, result.errors().get(0).row());
+		assertTrue(result.errors().get(0).message().contains("machineStatus"));
+		assertEquals(3, result.errors().get(1).row());
+		assertTrue(result.errors().get(1).message().contains("Antwerpen"));
+	}
+
+	@Test
+	void importMachines_batchRejectedByDatabase_marksAllRowsOfBatchFailed() throws IOException
+	{
+		doThrow(new RuntimeException("duplicate key")).when(machineDao).insertAll(anyCollection());
+		String csv = """
+				code,location,productInfo,machineStatus,productionStatus,futureMaintenance,site,technician
+				M1,Hall 1,Press,DRAAIT,GEZOND,2030-01-01,Gent,jane@example.com
+				M2,Hall 2,Press,DRAAIT,GEZOND,2030-01-01,Gent,jane@example.com
+				""";
+
+		ImportResult result = controller.importMachines(write("machines.csv", csv), 10, null);
+
+		assertEquals(0, result.imported());
+		assertEquals(2, result.failed());
+		assertEquals(List.of(1L, 2L), result.errors().stream().map(ImportResult.RowError::row).toList());
+	}
+
+	@Test
+	void importUsers_duplicateEmail_isRejected() throws IOException
+	{
+		String csv = """
+				firstName,lastName,email,phoneNumber,birthdate,street,number,postalcode,city,role,password
+				John,Doe,john@example.com,0470,1990-05-01,Main Street,1,1000,Brussels,TECHNIEKER,Secret123!
+				John,Doe,john@example.com,0470,1990-05-01,Main Street,1,1000,Brussels,TECHNIEKER,Secret123!
+				Jane,Doe,jane@example.com,0470,1990-05-01,Main Street,1,1000,Brussels,TECHNIEKER,Secret123!
+				""";
+		when(userDao.existsByEmail("jane@example.com", null)).thenReturn(true);
+
+		ImportResult result = controller.importUsers(write("users.csv", csv), 10, null);
+
+		assertEquals(1, result.imported());
+		assertEquals(2, result.failed());
+		assertEquals(2, result.errors().get(0).row());
+		assertEquals(3, result.errors().get(1).row());
+	}
+
+	@Test
+	void importUsers_missingPassword_isRejected() throws IOException
+	{
+		String csv = """
+				firstName,lastName,email,phoneNumber,birthdate,street,number,postalcode,city,role,password
+				John,Doe,john@example.com,0470,1990-05-01,Main Street,1,1000,Brussels,TECHNIEKER,
+				""";
+
+		ImportResult result = controller.importUsers(write("users.csv", csv), 10, null);
+
+		assertEquals(0, result.imported());
+		assertEquals(1, result.failed());
+		assertEquals("Missing value for password", result.errors().get(0).message());
+		verify(userDao, never()).insertAll(anyCollection());
+	}
+
+	@Test
+	void importSites_missingRequiredField_isReported() throws IOException
+	{
+		String csv = """
+				siteName,street,number,postalcode,city,verantwoordelijke
+				,Main Street,1,9000,Gent,jane@example.com
+				Brugge,Main Street,1,8000,Brugge,jane@example.com
+				""";
+
+		ImportResult result = controller.importSites(write("sites.csv", csv), 10, null);
+
+		assertEquals(1, result.imported());
+		assertEquals(1, result.failed());
+		assertEquals(1, result.errors().get(0).row());
+	}
+}
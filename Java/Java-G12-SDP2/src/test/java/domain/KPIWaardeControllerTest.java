@@ -0,0 +1,76 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import repository.KPIWaardeDao;
+
+class KPIWaardeControllerTest
+{
+	private KPIWaardeDao kpiWaardeDao;
+	private KPIWaardeController controller;
+
+	@BeforeEach
+	void setUp()
+	{
+		kpiWaardeDao = mock(KPIWaardeDao.class);
+		controller = new KPIWaardeController(kpiWaardeDao);
+	}
+
+	private static KPIWaarde waarde(KPI kpi, String siteId, String value)
+	{
+		KPIWaarde waarde = new KPIWaarde();
+		waarde.setKpi(kpi);
+		waarde.setSite_id(siteId);
+		waarde.setWaarde(value);
+		waarde.setDatum(LocalDateTime.now());
+		return waarde;
+	}
+
+	private static KPI kpi(int id)
+	{
+		KPI kpi = new KPI();
+		kpi.setId(id);
+		return kpi;
+	}
+
+	@Test
+	void getLatestWaardenByKPIs_groupsResultOfSingleQueryByKpi()
+	{
+		KPI health = kpi(1);
+		KPI production = kpi(3);
+		KPIWaarde healthAll = waarde(health, null, "80");
+		KPIWaarde productionSite1 = waarde(production, "1", "40");
+		KPIWaarde productionSite2 = waarde(production, "2", "60");
+		when(kpiWaardeDao.findLatestByKpis(List.of(3, 1, 4)))
+				.thenReturn(List.of(healthAll, productionSite1, productionSite2));
+
+		Map<Integer, List<KPIWaarde>> result = controller.getLatestWaardenByKPIs(List.of(3, 1, 4));
+
+		assertEquals(List.of(healthAll), result.get(1));
+		assertEquals(List.of(productionSite1, productionSite2), result.get(3));
+		assertFalse(result.containsKey(4));
+		verify(kpiWaardeDao, never()).findAll();
+	}
+
+	@Test
+	void getWaardenByKPI_queriesSingleKpi()
+	{
+		KPIWaarde value = waarde(kpi(10), "1", "5");
+		when(kpiWaardeDao.findByKpi(10)).thenReturn(List.of(value));
+
+		assertEquals(List.of(value), controller.getWaardenByKPI(10));
+		verify(kpiWaardeDao, never()).findAll();
+	}
+}
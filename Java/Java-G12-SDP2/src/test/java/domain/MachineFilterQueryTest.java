@@ -0,0 +1,103 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import jakarta.persistence.EntityManager;
+import repository.EntityManagerProvider;
+import repository.MachineDaoJpa;
+import repository.MachineFilter;
+import util.MachineStatus;
+import util.ProductionStatus;
+import util.Role;
+import util.Status;
+
+/**
+ * Checks that the database-side machine filter returns the same machines as
+ * loading every machine and filtering in memory, on a table of 100k machines.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class MachineFilterQueryTest
+{
+	private static final int MACHINE_COUNT = 100_000;
+
+	@Container
+	private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("testdb")
+			.withUsername("testuser").withPassword("testpass");
+
+	private static MachineDaoJpa machineDao;
+
+	@BeforeAll
+	static void setupDatabase() throws Exception
+	{
+		EntityManagerProvider.configure(Map.of("jakarta.persistence.jdbc.url", mysql.getJdbcUrl(),
+				"jakarta.persistence.jdbc.user", mysql.getUsername(), "jakarta.persistence.jdbc.password",
+				mysql.getPassword(), "jakarta.persistence.jdbc.driver", "com.mysql.cj.jdbc.Driver",
+				"eclipselink.ddl-generation", "drop-and-create-tables"));
+		machineDao = new MachineDaoJpa();
+
+		User user = new User.Builder().buildFirstName("Jane").buildLastName("Doe").buildEmail("jane.doe@example.com")
+				.buildPhoneNumber("010101").buildPassword("testPassword")
+				.buildBirthdate(LocalDate.now().minusYears(20L)).buildAddress("Main Street", 123, 1000, "Brussels")
+				.buildStatus(Status.ACTIEF).buildRole(Role.VERANTWOORDELIJKE).build();
+		Site site = new Site.Builder().buildSiteName("Warehouse A").buildAddress("Main Street", 123, 1000, "Brussels")
+				.buildVerantwoordelijke(user).buildStatus(Status.ACTIEF).build();
+
+		EntityManager em = EntityManagerProvider.acquire();
+		try
+		{
+			em.getTransaction().begin();
+			em.persist(site);
+			em.flush();
+			em.createNativeQuery("SET SESSION cte_max_recursion_depth = " + (MACHINE_COUNT + 1)).executeUpdate();
+			em.createNativeQuery("""
+					INSERT INTO machines (CODE, LOCATION, PRODUCTINFO, MACHINESTATUS, PRODUCTIONSTATUS, SITE_ID,
+						NUMBERDAYSSINCELASTMAINTENANCE)
+					WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?1)
+					SELECT CONCAT('M', n), CONCAT('Hall ', n % 50), CONCAT('Product ', n % 1000),
+						ELT(1 + n % 5, 'DRAAIT', 'MANUEEL_GESTOPT', 'AUTOMATISCH_GESTOPT', 'STARTBAAR', 'IN_ONDERHOUD'),
+						ELT(1 + n % 3, 'GEZOND', 'NOOD_ONDERHOUD', 'FALEND'), ?2, 0
+					FROM seq
+					""").setParameter(1, MACHINE_COUNT).setParameter(2, site.getId()).executeUpdate();
+			em.getTransaction().commit();
+		} finally
+		{
+			EntityManagerProvider.release();
+		}
+	}
+
+	@AfterAll
+	static void close()
+	{
+		EntityManagerProvider.close();
+	}
+
+	@Test
+	void filteredQuery_returnsSameMachinesAsInMemoryFilter()
+	{
+		MachineFilter filter = new MachineFilter("hall 7", MachineStatus.DRAAIT, ProductionStatus.FALEND);
+
+		List<Integer> inMemory = machineDao.findAll().stream()
+				.filter(m -> m.getMachineStatus() == MachineStatus.DRAAIT
+						&& m.getProductionStatus() == ProductionStatus.FALEND)
+				.filter(m -> m.getCode().toLowerCase().contains("hall 7")
+						|| m.getLocation().toLowerCase().contains("hall 7")
+						|| m.getSite().getSiteName().toLowerCase().contains("hall 7")
+						|| m.getProductInfo().toLowerCase().contains("hall 7"))
+				.map(Machine::getId).sorted().toList();
+
+		List<Integer> filtered = machineDao.findFiltered(filter).stream().map(Machine::getId).toList();
+
+		assertEquals(inMemory, filtered);
+	}
+}
@@ -3,7 +3,11 @@ package domain;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,10 +27,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import dto.MaintenanceDTO;
+import dto.MaintenanceRow;
 import exceptions.InformationRequiredExceptionMachine;
 import exceptions.InformationRequiredExceptionSite;
 import exceptions.InformationRequiredExceptionUser;
 import repository.GenericDaoJpa;
+import repository.MaintenanceDao;
+import repository.UserDao;
 import util.MachineStatus;
 import util.MaintenanceStatus;
 import util.ProductionStatus;
@@ -39,7 +46,13 @@ class MaintenanceControllerTest
 {
 
 	@Mock
-	private GenericDaoJpa<Maintenance> maintenanceRepo;
+	private MaintenanceDao maintenanceRepo;
+
+	@Mock
+	private GenericDaoJpa<Machine> machineRepo;
+
+	@Mock
+	private UserDao userRepo;
 
 	private MaintenanceController maintenanceController;
 	private User technician;
@@ -282,4 +295,55 @@ class MaintenanceControllerTest
 		assertNull(result);
 		verify(maintenanceRepo, times(1)).get(nonExistentId);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("getMaintenancePage should return projected rows instead of loading maintenances")
+	void getMaintenancePage_ShouldReturnProjectedRows()
+	{
+		List<MaintenanceRow> rows = List.of(new MaintenanceRow(3, defaultExecutionDate, defaultStartDate,
+				defaultEndDate, "John", "Doe", "Reason", "", MaintenanceStatus.INGEPLAND, 1));
+		when(maintenanceRepo.findRowPage(1, 2, 10)).thenReturn(rows);
+
+		assertEquals(rows, maintenanceController.getMaintenancePage(1, 2, 10));
+		verify(maintenanceRepo, never()).findPage(any(), any(), anyInt(), any());
+	}
+
+	@Test
+	@DisplayName("updateMaintenance should reference the technician and machine and only update the maintenance")
+	void updateMaintenance_ShouldOnlyUpdateMaintenance() throws Exception
+	{
+		MaintenanceController controller = new MaintenanceController(maintenanceRepo, machineRepo, userRepo);
+		machine.setLastMaintenance(defaultExecutionDate.plusDays(1));
+		when(maintenanceRepo.exists(5)).thenReturn(true);
+		when(machineRepo.getReference(1)).thenReturn(machine);
+		when(userRepo.getReference(1)).thenReturn(technician);
+
+		MaintenanceDTO result = controller.updateMaintenance(5, defaultExecutionDate, defaultStartDate,
+				defaultEndDate, 1, "New reason", "Done", MaintenanceStatus.VOLTOOID, 1);
+
+		assertEquals(5, result.id());
+		assertEquals("New reason", result.reason());
+		verify(maintenanceRepo).update(any(Maintenance.class));
+		verify(maintenanceRepo).commitTransaction();
+		verify(maintenanceRepo, never()).get(any());
+		verify(machineRepo, never()).get(any());
+		verify(machineRepo, never()).update(any());
+		verify(userRepo, never()).get(any());
+		verify(userRepo, never()).update(any());
+		assertEquals(defaultExecutionDate.plusDays(1), machine.getLastMaintenance());
+	}
+
+	@Test
+	@DisplayName("updateMaintenance should roll back when the maintenance does not exist")
+	void updateMaintenance_NotFound_ShouldRollBack()
+	{
+		MaintenanceController controller = new MaintenanceController(maintenanceRepo, machineRepo, userRepo);
+		when(maintenanceRepo.exists(999)).thenReturn(false);
+
+		assertThrows(IllegalArgumentException.class, () -> controller.updateMaintenance(999, defaultExecutionDate,
+				defaultStartDate, defaultEndDate, 1, "Reason", "", MaintenanceStatus.INGEPLAND, 1));
+		verify(maintenanceRepo).rollbackTransaction();
+		verify(maintenanceRepo, never()).update(any());
+		verify(maintenanceRepo, never()).commitTransaction();
+	}
+}
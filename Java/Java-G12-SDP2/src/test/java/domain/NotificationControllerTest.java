@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import repository.NotificationDao;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -172,4 +173,119 @@ class NotificationControllerTest {
         assertEquals("Test message", dto.message());
         assertTrue(dto.isRead());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetUnreadFeedOnlyFetchesNewNotifications() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        when(notificationDao.findUnreadAfter(0, NotificationController.FEED_LIMIT))
+            .thenReturn(List.of(unreadNotification1, unreadNotification2));
+        Notification newer = new Notification(7, false, "Unread message 3", LocalDateTime.now());
+        when(notificationDao.findUnreadAfter(4, NotificationController.FEED_LIMIT)).thenReturn(List.of(newer));
+
+        // Act
+        feedController.getUnreadFeed();
+        List<NotificationDTO> result = feedController.getUnreadFeed();
+
+        // Assert
+        assertEquals(List.of(7, 4, 3), result.stream().map(NotificationDTO::id).toList());
+        verify(notificationDao, times(1)).findUnreadAfter(0, NotificationController.FEED_LIMIT);
+        verify(notificationDao, times(1)).findUnreadAfter(4, NotificationController.FEED_LIMIT);
+    }
+
+    @Test
+    void testMarkAsReadRemovesFromFeedAndRefreshesCount() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        when(notificationDao.findUnreadAfter(0, NotificationController.FEED_LIMIT))
+            .thenReturn(List.of(unreadNotification1, unreadNotification2));
+        when(notificationDao.countUnread()).thenReturn(2L, 1L);
+
+        // Act
+        feedController.getUnreadFeed();
+        assertEquals(2, feedController.getUnreadCount());
+        feedController.markAsRead(3);
+
+        // Assert
+        assertEquals(List.of(4), feedController.getUnreadFeed().stream().map(NotificationDTO::id).toList());
+        assertEquals(1, feedController.getUnreadCount());
+        verify(notificationDao).markAsRead(3);
+    }
+
+    @Test
+    void testGetUnreadCountIsCached() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        when(notificationDao.countUnread()).thenReturn(5L);
+
+        // Act
+        feedController.getUnreadCount();
+        long result = feedController.getUnreadCount();
+
+        // Assert
+        assertEquals(5, result);
+        verify(notificationDao, times(1)).countUnread();
+    }
+
+    @Test
+    void testMarkRangeAsReadRemovesRangeFromFeed() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        Notification newer = new Notification(7, false, "Unread message 3", LocalDateTime.now());
+        when(notificationDao.findUnreadAfter(0, NotificationController.FEED_LIMIT))
+            .thenReturn(List.of(unreadNotification1, unreadNotification2, newer));
+        when(notificationDao.markRangeAsRead(3, 4)).thenReturn(2);
+
+        // Act
+        feedController.getUnreadFeed();
+        int marked = feedController.markRangeAsRead(3, 4);
+
+        // Assert
+        assertEquals(2, marked);
+        assertEquals(List.of(7), feedController.getUnreadFeed().stream().map(NotificationDTO::id).toList());
+    }
+
+    @Test
+    void testMarkAllAsReadClearsFeed() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        when(notificationDao.findUnreadAfter(0, NotificationController.FEED_LIMIT))
+            .thenReturn(List.of(unreadNotification1, unreadNotification2));
+        when(notificationDao.markAllAsRead()).thenReturn(2);
+
+        // Act
+        feedController.getUnreadFeed();
+        feedController.markAllAsRead();
+
+        // Assert
+        assertTrue(feedController.getUnreadFeed().isEmpty());
+        verify(notificationDao).markAllAsRead();
+    }
+
+    @Test
+    void testPurgeReadNotificationsUsesCutoffAndBatchSize() {
+        // Arrange
+        NotificationController feedController = new NotificationController(notificationDao);
+        when(notificationDao.purgeReadBefore(any(LocalDateTime.class), eq(NotificationController.PURGE_BATCH_SIZE),
+            eq(true))).thenReturn(3);
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+
+        // Act
+        int removed = feedController.purgeReadNotifications(Duration.ofDays(30), true);
+
+        // Assert
+        assertEquals(3, removed);
+        verify(notificationDao).purgeReadBefore(argThat(cutoff -> !cutoff.isBefore(before)
+            && !cutoff.isAfter(LocalDateTime.now().minusDays(30))), eq(NotificationController.PURGE_BATCH_SIZE),
+            eq(true));
+    }
+
+    @Test
+    void testPurgeReadNotificationsNegativeAgeThrows() {
+        NotificationController feedController = new NotificationController(notificationDao);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> feedController.purgeReadNotifications(Duration.ofDays(-1), false));
+        verifyNoInteractions(notificationDao);
+    }
+}
@@ -0,0 +1,147 @@
+package domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import repository.NotificationDao;
+
+class NotificationWriterTest
+{
+	private NotificationDao notificationDao;
+	private List<Integer> batchSizes;
+	private NotificationWriter writer;
+
+	@BeforeEach
+	void setUp()
+	{
+		notificationDao = mock(NotificationDao.class);
+		batchSizes = new CopyOnWriteArrayList<>();
+		doAnswer(invocation -> {
+			batchSizes.add(((Collection<?>) invocation.getArgument(0)).size());
+			return null;
+		}).when(notificationDao).insertAll(anyCollection());
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		if (writer != null)
+		{
+			writer.close();
+		}
+	}
+
+	private static Notification notification(int i)
+	{
+		return new Notification(false, "Machine bijgewerkt: M" + i, LocalDateTime.now());
+	}
+
+	@Test
+	void submit_fullBatch_isWrittenWithoutWaitingForInterval() throws InterruptedException
+	{
+		writer = new NotificationWriter(notificationDao, 100, 5, 60_000);
+		for (int i = 0; i < 5; i++)
+		{
+			writer.submit(notification(i));
+		}
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (writer.getWrittenCount() < 5 && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(List.of(5), batchSizes);
+	}
+
+	@Test
+	void submit_partialBatch_isWrittenAfterInterval() throws InterruptedException
+	{
+		writer = new NotificationWriter(notificationDao, 100, 50, 50);
+		writer.submit(notification(1));
+		writer.submit(notification(2));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (writer.getWrittenCount() < 2 && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(2, writer.getWrittenCount());
+		assertEquals(0, writer.getQueueDepth());
+	}
+
+	@Test
+	void close_writesQueuedNotifications() throws InterruptedException
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			batchSizes.add(((Collection<?>) invocation.getArgument(0)).size());
+			return null;
+		}).when(notificationDao).insertAll(anyCollection());
+		writer = new NotificationWriter(notificationDao, 100, 1, 60_000);
+		for (int i = 0; i < 10; i++)
+		{
+			writer.submit(notification(i));
+		}
+		release.countDown();
+
+		writer.close();
+
+		assertEquals(10, writer.getWrittenCount());
+		assertFalse(writer.submit(notification(11)));
+	}
+
+	@Test
+	void submit_queueFull_dropsAndCounts()
+	{
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(notificationDao).insertAll(anyCollection());
+		writer = new NotificationWriter(notificationDao, 2, 1, 60_000);
+
+		int accepted = 0;
+		for (int i = 0; i < 10; i++)
+		{
+			accepted += writer.submit(notification(i)) ? 1 : 0;
+		}
+		release.countDown();
+
+		assertTrue(accepted <= 3);
+		assertEquals(10 - accepted, writer.getDroppedCount());
+	}
+
+	@Test
+	void failingInsert_isCountedAndDoesNotStopWriter() throws InterruptedException
+	{
+		doAnswer(invocation -> {
+			throw new IllegalStateException("database down");
+		}).when(notificationDao).insertAll(anyCollection());
+		writer = new NotificationWriter(notificationDao, 100, 1, 60_000);
+		writer.submit(notification(1));
+		writer.submit(notification(2));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (writer.getFailedCount() < 2 && System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals(2, writer.getFailedCount());
+	}
+}
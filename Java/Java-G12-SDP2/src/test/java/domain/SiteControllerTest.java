@@ -2,12 +2,15 @@ package domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,19 +24,25 @@ import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import domain.FacetService;
 import domain.Machine;
 import domain.NotificationObserver;
 import domain.Site;
 import domain.SiteController;
 import domain.User;
+import dto.MachineFacets;
 import dto.SiteDTOWithMachines;
+import dto.SiteFacets;
+import dto.SiteRow;
 import exceptions.InformationRequiredExceptionSite;
 import interfaces.Observer;
-import repository.GenericDaoJpa;
+import repository.SiteDao;
+import repository.SiteFilter;
 import repository.UserDao;
 import util.MachineStatus;
 import util.ProductionStatus;
@@ -44,7 +53,7 @@ class SiteControllerTest
 {
 
 	@Mock
-	private GenericDaoJpa<Site> siteRepo;
+	private SiteDao siteRepo;
 
 	@Mock
 	private UserDao userRepo;
@@ -52,6 +61,9 @@ class SiteControllerTest
 	@Mock
 	private NotificationObserver notificationObserver;
 
+	@Mock
+	private FacetService facetService;
+
 	@InjectMocks
 	private SiteController siteController;
 
@@ -88,43 +100,39 @@ class SiteControllerTest
 	@Test
 	void getSite_shouldReturnSiteDTO()
 	{
-		when(siteRepo.get(1)).thenReturn(testSite);
+		when(siteRepo.get(1, Site.WITH_MACHINES_GRAPH)).thenReturn(testSite);
 
 		SiteDTOWithMachines result = siteController.getSite(1);
 
 		assertNotNull(result);
 		assertEquals(1, result.id());
 		assertEquals("Test Site", result.siteName());
-		verify(siteRepo).get(1);
+		verify(siteRepo).get(1, Site.WITH_MACHINES_GRAPH);
 	}
 
 	@Test
 	void getSites_shouldReturnListOfSites()
 	{
 		List<Site> sites = Arrays.asList(testSite);
-		when(siteRepo.findAll()).thenReturn(sites);
+		when(siteRepo.findAll(Site.WITH_MACHINES_GRAPH)).thenReturn(sites);
 
 		List<SiteDTOWithMachines> result = siteController.getSites();
 
 		assertEquals(1, result.size());
 		assertEquals("Test Site", result.get(0).siteName());
-		verify(siteRepo).findAll();
+		verify(siteRepo).findAll(Site.WITH_MACHINES_GRAPH);
 	}
 
 	@Test
-	void getAllStatusses_shouldReturnUniqueStatuses()
+	void getAllStatusses_shouldReturnFacetValues()
 	{
-		Site site2 = new Site();
-		site2.setStatus(Status.INACTIEF);
-
-		List<Site> sites = Arrays.asList(testSite, testSite, site2);
-		when(siteRepo.findAll()).thenReturn(sites);
+		when(facetService.getSiteFacets()).thenReturn(
+				new SiteFacets(List.of("ACTIEF", "INACTIEF"), List.of("Test Site"), List.of("John Doe")));
 
 		List<String> result = siteController.getAllStatusses();
 
-		assertEquals(2, result.size());
-		assertTrue(result.contains("ACTIEF"));
-		assertTrue(result.contains("INACTIEF"));
+		assertEquals(List.of("ACTIEF", "INACTIEF"), result);
+		verify(siteRepo, never()).findAll(any());
 	}
 
 	@Test
@@ -178,23 +186,67 @@ class SiteControllerTest
 	}
 
 	@Test
-	void getAllVerantwoordelijken_shouldReturnUniqueNames()
+	void getAllVerantwoordelijken_shouldReturnFacetValues()
 	{
-		User user2 = new User();
-		user2.setFirstName("Jane");
-		user2.setLastName("Smith");
-
-		Site site2 = new Site();
-		site2.setVerantwoordelijke(user2);
-
-		List<Site> sites = Arrays.asList(testSite, testSite, site2);
-		when(siteRepo.findAll()).thenReturn(sites);
+		when(facetService.getSiteFacets()).thenReturn(
+				new SiteFacets(List.of("ACTIEF"), List.of("Test Site"), List.of("Jane Smith", "John Doe")));
 
 		List<String> result = siteController.getAllVerantwoordelijken();
 
 		assertEquals(2, result.size());
 		assertTrue(result.contains("John Doe"));
 		assertTrue(result.contains("Jane Smith"));
+		verify(siteRepo, never()).findAll(any());
+	}
+
+	@Test
+	void getMachineStatuses_shouldReturnFacetValuesOfSite()
+	{
+		when(facetService.getMachineFacets(1)).thenReturn(
+				new MachineFacets(List.of("location"), List.of("DRAAIT"), List.of("GEZOND"), List.of("John")));
+
+		assertEquals(List.of("DRAAIT"), siteController.getMachineStatuses(1));
+		assertEquals(List.of("John"), siteController.getTechnicianNames(1));
+		verify(siteRepo, never()).get(any(), any());
+	}
+
+	@Test
+	void getSitePage_shouldReturnProjectedRows()
+	{
+		List<SiteRow> rows = List.of(new SiteRow(1, "Test Site", "John", "Doe", Status.ACTIEF, 1, 1, 0, 0, 0, 0));
+		when(siteRepo.findRowPage(null, 10)).thenReturn(rows);
+
+		assertEquals(rows, siteController.getSitePage(null, 10));
+		verify(siteRepo, never()).findPage(any(), any(), anyInt());
+	}
+
+	@Test
+	void getFilteredSites_shouldPassMachineCountBoundsToQuery()
+	{
+		List<SiteRow> rows = List.of(new SiteRow(2, "Large", "Jane", "Smith", Status.ACTIEF, 5, 3, 0, 0, 0, 2));
+		when(siteRepo.findRows(any(SiteFilter.class))).thenReturn(rows);
+
+		List<SiteRow> result = siteController.getFilteredSites("", null, null, null, 2, 10);
+
+		assertEquals(rows, result);
+		ArgumentCaptor<SiteFilter> filter = ArgumentCaptor.forClass(SiteFilter.class);
+		verify(siteRepo).findRows(filter.capture());
+		assertEquals(2, filter.getValue().minMachines());
+		assertEquals(10, filter.getValue().maxMachines());
+		verify(siteRepo, never()).findAll();
+	}
+
+	@Test
+	void getFilteredSites_unboundedMachineCount_shouldNotRestrictQuery()
+	{
+		when(siteRepo.findRows(any(SiteFilter.class))).thenReturn(List.of());
+
+		siteController.getFilteredSites("", null, null, null, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+		ArgumentCaptor<SiteFilter> filter = ArgumentCaptor.forClass(SiteFilter.class);
+		verify(siteRepo).findRows(filter.capture());
+		assertNull(filter.getValue().minMachines());
+		assertNull(filter.getValue().maxMachines());
 	}
 
 	@Test
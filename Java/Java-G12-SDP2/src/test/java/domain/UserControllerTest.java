@@ -1,6 +1,7 @@
 package domain;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -10,12 +11,14 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,12 +29,16 @@ import org.mockito.MockitoAnnotations;
 
 import dto.AddressDTO;
 import dto.UserDTO;
+import dto.UserRow;
 import exceptions.InformationRequiredExceptionUser;
 import exceptions.InvalidInputException;
+import exceptions.UserNotFoundWithEmailException;
 import interfaces.Observer;
 import repository.UserDao;
 import util.AuthenticationUtil;
 import util.DTOMapper;
+import util.PasswordHasher;
+import util.PasswordHasher.CostProfile;
 import util.Role;
 import util.Status;
 
@@ -71,6 +78,45 @@ class UserControllerTest
 		}
 	}
 
+	@Test
+	void authenticateAsync_UnknownEmail_CompletesWithInvalidInputException()
+	{
+		when(userRepo.getByEmail("unknown@example.com"))
+				.thenThrow(new UserNotFoundWithEmailException("unknown@example.com"));
+
+		CompletionException exception = assertThrows(CompletionException.class,
+				() -> userController.authenticateAsync("unknown@example.com", "password123").join());
+
+		assertTrue(exception.getCause() instanceof InvalidInputException);
+		assertFalse(AuthenticationUtil.isAuth());
+	}
+
+	@Test
+	void authenticateAsync_HashWithOldProfile_StoresRehashedPassword()
+	{
+		CostProfile original = PasswordHasher.getProfile();
+		try
+		{
+			PasswordHasher.setProfile(new CostProfile(1, 1024, 1));
+			User user = new User();
+			user.setId(7);
+			user.setPassword(PasswordHasher.hash("password123"));
+			when(userRepo.getByEmail("test@example.com")).thenReturn(user);
+			PasswordHasher.setProfile(new CostProfile(2, 1024, 1));
+
+			userController.authenticateAsync("test@example.com", "password123").join();
+
+			verify(userRepo).update(user);
+			verify(userRepo).evict(7);
+			assertFalse(PasswordHasher.needsRehash(user.getPassword()));
+			assertTrue(PasswordHasher.verify("password123", user.getPassword()));
+		} finally
+		{
+			PasswordHasher.setProfile(original);
+			AuthenticationUtil.logout();
+		}
+	}
+
 	@Test
 	void logout_CallsAuthenticationUtil()
 	{
@@ -165,13 +211,23 @@ class UserControllerTest
 		User user = createTestUser(1, Role.VERANTWOORDELIJKE);
 		user.setFirstName("John");
 		user.setLastName("Doe");
-		when(userRepo.findAll()).thenReturn(Arrays.asList(user));
+		when(userRepo.findByName("John", "Doe")).thenReturn(Arrays.asList(user));
 
 		UserDTO result = userController.getUserByName("John Doe");
 
 		assertNotNull(result);
 		assertEquals("John", result.firstName());
 		assertEquals("Doe", result.lastName());
+		verify(userRepo, never()).findAll();
+	}
+
+	@Test
+	void getUserByName_OnlyTechnieker_ReturnsNull()
+	{
+		User user = createTestUser(1, Role.TECHNIEKER);
+		when(userRepo.findByName("John", "Doe")).thenReturn(Arrays.asList(user));
+
+		assertNull(userController.getUserByName("John Doe"));
 	}
 
 	@Test
@@ -232,6 +288,29 @@ class UserControllerTest
 		verify(notificationObserver).update(anyString());
 	}
 
+	@Test
+	void createUser_DuplicateEmail_ThrowsIllegalArgumentException()
+	{
+		when(userRepo.existsByEmail("john@example.com", null)).thenReturn(true);
+
+		assertThrows(IllegalArgumentException.class, () -> userController.createUser("John", "Doe",
+				"john@example.com", "123456789", LocalDate.now(), "Street", "1", "1234", "City", Role.TECHNIEKER));
+		verify(userRepo, never()).findAll();
+		verify(userRepo, never()).insert(any(User.class));
+	}
+
+	@Test
+	void updateUser_EmailOfOtherUser_ThrowsIllegalArgumentException()
+	{
+		when(userRepo.get(1)).thenReturn(createTestUser(1, Role.VERANTWOORDELIJKE));
+		when(userRepo.existsByEmail("taken@example.com", 1)).thenReturn(true);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> userController.updateUser(1, "Updated", "Name", "taken@example.com", "987654321",
+						LocalDate.now(), "New Street", "456", "2000", "New City", Role.TECHNIEKER, Status.INACTIEF));
+		verify(userRepo, never()).update(any(User.class));
+	}
+
 	@Test
 	void updateUser_NonExistentUser_ThrowsIllegalArgumentException()
 	{
@@ -317,6 +396,36 @@ class UserControllerTest
 		assertEquals(Role.TECHNIEKER, result.get(0).role());
 	}
 
+	@Test
+	void getFilteredUserRows_FiltersProjectedRowsWithoutLoadingUsers()
+	{
+		when(userRepo.findRows()).thenReturn(List.of(
+				new UserRow(1, "John", "Doe", "john@example.com", Role.VERANTWOORDELIJKE, Status.ACTIEF),
+				new UserRow(2, "Jane", "Doe", "jane@example.com", Role.TECHNIEKER, Status.ACTIEF)));
+
+		List<UserRow> result = userController.getFilteredUserRows("doe", null, "TECHNIEKER");
+
+		assertEquals(1, result.size());
+		assertEquals(2, result.get(0).id());
+		verify(userRepo, never()).findAll();
+	}
+
+	@Test
+	void cacheInvalidator_DropsUserAndRowSnapshots()
+	{
+		when(userRepo.findAll()).thenReturn(List.of());
+		when(userRepo.findRows()).thenReturn(List.of());
+		userController.getAllUsers();
+		userController.getUserRows();
+
+		userController.getCacheInvalidator().update("Gebruikers geïmporteerd: 1");
+		userController.getAllUsers();
+		userController.getUserRows();
+
+		verify(userRepo, times(2)).findAll();
+		verify(userRepo, times(2)).findRows();
+	}
+
 	@Test
 	void addObserver_AddsObserverToList()
 	{
@@ -0,0 +1,48 @@
+package gui;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+
+import domain.FacetService;
+import domain.ImportController;
+import domain.MachineController;
+import domain.SiteController;
+import domain.UserController;
+import interfaces.Observer;
+
+class AppServicesTest
+{
+	@Test
+	void linkSnapshotCaches_userAndImportChanges_dropFacets()
+	{
+		UserController userController = mock(UserController.class);
+		SiteController siteController = mock(SiteController.class);
+		MachineController machineController = mock(MachineController.class);
+		ImportController importController = mock(ImportController.class);
+		FacetService facetService = mock(FacetService.class);
+		when(siteController.getFacetService()).thenReturn(facetService);
+
+		AppServices.linkSnapshotCaches(userController, siteController, machineController, importController);
+
+		verify(userController).addObserver(facetService);
+		verify(importController).addObserver(facetService);
+	}
+
+	@Test
+	void linkSnapshotCaches_importChanges_dropUserSnapshots()
+	{
+		UserController userController = mock(UserController.class);
+		SiteController siteController = mock(SiteController.class);
+		MachineController machineController = mock(MachineController.class);
+		ImportController importController = mock(ImportController.class);
+		Observer userCacheInvalidator = mock(Observer.class);
+		when(userController.getCacheInvalidator()).thenReturn(userCacheInvalidator);
+
+		AppServices.linkSnapshotCaches(userController, siteController, machineController, importController);
+
+		verify(importController).addObserver(userCacheInvalidator);
+	}
+}
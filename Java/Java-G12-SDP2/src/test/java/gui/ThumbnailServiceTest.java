@@ -0,0 +1,231 @@
+package gui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import domain.FileInfo;
+import domain.FileInfoController;
+import javafx.scene.image.Image;
+import repository.FileInfoDao;
+
+class ThumbnailServiceTest
+{
+	private static final LocalDateTime UPLOADED = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+	@TempDir
+	Path cacheDirectory;
+
+	private FakeFileInfoController files;
+
+	/**
+	 * Serves a small PNG for every file and counts how often content is loaded.
+	 * A latch can hold the loads back, to fill up the worker pool.
+	 */
+	private static class FakeFileInfoController extends FileInfoController
+	{
+		private final AtomicInteger loads = new AtomicInteger();
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+
+		FakeFileInfoController()
+		{
+			super(mock(FileInfoDao.class));
+		}
+
+		@Override
+		public byte[] getFileContent(FileInfo fileInfo)
+		{
+			loads.incrementAndGet();
+			try
+			{
+				gate.await(5, TimeUnit.SECONDS);
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", out);
+				return out.toByteArray();
+			} catch (IOException e)
+			{
+				throw new UncheckedIOException(e);
+			} catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+	}
+
+	@BeforeEach
+	void setUp()
+	{
+		files = new FakeFileInfoController();
+	}
+
+	private static FileInfo file(int id)
+	{
+		return new FileInfo(id, "photo-" + id + ".png", "png", 1000 + id, UPLOADED, null);
+	}
+
+	private static Image await(CompletableFuture<Image> future) throws Exception
+	{
+		return future.get(5, TimeUnit.SECONDS);
+	}
+
+	private void clearDiskCache() throws IOException
+	{
+		try (Stream<Path> cached = Files.list(cacheDirectory))
+		{
+			for (Path path : cached.toList())
+			{
+				Files.delete(path);
+			}
+		}
+	}
+
+	@Test
+	void getThumbnail_repeatedRequest_isServedFromMemory() throws Exception
+	{
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory);
+
+		assertNotNull(await(service.getThumbnail(file(1))));
+		clearDiskCache();
+		CompletableFuture<Image> second = service.getThumbnail(file(1));
+
+		assertTrue(second.isDone());
+		assertEquals(1, files.loads.get());
+	}
+
+	@Test
+	void getThumbnail_newInstance_isServedFromDisk() throws Exception
+	{
+		await(new ThumbnailService(files, cacheDirectory).getThumbnail(file(1)));
+
+		assertNotNull(await(new ThumbnailService(files, cacheDirectory).getThumbnail(file(1))));
+
+		assertEquals(1, files.loads.get());
+	}
+
+	@Test
+	void getThumbnail_overMemoryBudget_evictsLeastRecentlyUsed() throws Exception
+	{
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory, 8, thumbnailSize());
+		await(service.getThumbnail(file(1)));
+		await(service.getThumbnail(file(2)));
+		clearDiskCache();
+
+		assertTrue(service.getThumbnail(file(2)).isDone());
+		await(service.getThumbnail(file(1)));
+
+		assertEquals(4, files.loads.get());
+	}
+
+	/**
+	 * All fake thumbnails are identical, so one rendered up front gives the size
+	 * of each.
+	 */
+	private long thumbnailSize() throws Exception
+	{
+		await(new ThumbnailService(files, cacheDirectory).getThumbnail(file(0)));
+		long size;
+		try (Stream<Path> cached = Files.list(cacheDirectory))
+		{
+			size = Files.size(cached.findFirst().orElseThrow());
+		}
+		clearDiskCache();
+		return size;
+	}
+
+	@Test
+	void getThumbnail_withinMemoryBudget_keepsRecentlyUsed() throws Exception
+	{
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory, 8, 1024 * 1024);
+		await(service.getThumbnail(file(1)));
+		await(service.getThumbnail(file(2)));
+		clearDiskCache();
+
+		assertTrue(service.getThumbnail(file(1)).isDone());
+		assertTrue(service.getThumbnail(file(2)).isDone());
+		assertEquals(2, files.loads.get());
+	}
+
+	@Test
+	void getThumbnail_queueFull_failsFast() throws Exception
+	{
+		files.gate = new CountDownLatch(1);
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory, 1, 1024 * 1024);
+
+		// two workers busy and one request queued
+		List<CompletableFuture<Image>> accepted = List.of(service.getThumbnail(file(1)),
+				service.getThumbnail(file(2)), service.getThumbnail(file(3)));
+		CompletableFuture<Image> rejected = service.getThumbnail(file(4));
+		files.gate.countDown();
+
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> await(rejected));
+		assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+		for (CompletableFuture<Image> future : accepted)
+		{
+			assertNotNull(await(future));
+		}
+	}
+
+	@Test
+	void getThumbnail_samePendingFile_rendersOnce() throws Exception
+	{
+		files.gate = new CountDownLatch(1);
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory);
+
+		CompletableFuture<Image> first = service.getThumbnail(file(1));
+		CompletableFuture<Image> second = service.getThumbnail(file(1));
+		files.gate.countDown();
+
+		assertEquals(await(first), await(second));
+		assertEquals(1, files.loads.get());
+	}
+
+	@Test
+	void getThumbnail_sameIdAfterDatabaseReset_rendersAgain() throws Exception
+	{
+		ThumbnailService service = new ThumbnailService(files, cacheDirectory);
+		await(service.getThumbnail(file(1)));
+
+		FileInfo reused = new FileInfo(1, "other.png", "png", 1001, UPLOADED.plusDays(1), null);
+		await(service.getThumbnail(reused));
+
+		assertEquals(2, files.loads.get());
+	}
+
+	@Test
+	void cacheDirectory_differsPerDatabase()
+	{
+		Path production = ThumbnailService.cacheDirectory(cacheDirectory, "jdbc:mysql://db/shopfloor");
+		Path test = ThumbnailService.cacheDirectory(cacheDirectory, "jdbc:mysql://localhost/shopfloor_test");
+
+		assertNotEquals(production, test);
+		assertEquals(production, ThumbnailService.cacheDirectory(cacheDirectory, "jdbc:mysql://db/shopfloor"));
+		assertEquals(cacheDirectory, production.getParent());
+	}
+}
@@ -0,0 +1,181 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import domain.AttachmentBlob;
+import domain.FileInfo;
+
+class DiskAttachmentStoreTest
+{
+	private static final byte[] CONTENT = "manual".getBytes(StandardCharsets.UTF_8);
+	private static final String MISSING_HASH = "ab".repeat(32);
+
+	@TempDir
+	Path root;
+
+	private FileInfoDao fileInfoDao;
+	private AttachmentBlobDao blobDao;
+	private DiskAttachmentStore store;
+
+	@BeforeEach
+	void setUp()
+	{
+		fileInfoDao = mock(FileInfoDao.class);
+		blobDao = mock(AttachmentBlobDao.class);
+		store = new DiskAttachmentStore(root, fileInfoDao, blobDao);
+	}
+
+	private static FileInfo file(int id)
+	{
+		return new FileInfo(id, "manual.pdf", "pdf", CONTENT.length, LocalDateTime.now(), null);
+	}
+
+	private long storedFileCount() throws IOException
+	{
+		try (Stream<Path> files = Files.walk(root))
+		{
+			return files.filter(Files::isRegularFile).count();
+		}
+	}
+
+	@Test
+	void write_newContent_storesOnceUnderHash() throws Exception
+	{
+		FileInfo file = file(1);
+
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+		String hash = file.getContentHash();
+		assertEquals(64, hash.length());
+		assertTrue(Files.exists(root.resolve(hash.substring(0, 2)).resolve(hash)));
+		assertEquals(1, storedFileCount());
+		verify(blobDao).insert(any(AttachmentBlob.class));
+		verify(fileInfoDao).setContentHash(file, hash);
+	}
+
+	@Test
+	void write_sameContentTwice_keepsSingleCopyAndCountsReferences() throws Exception
+	{
+		FileInfo first = file(1);
+		store.write(first, new ByteArrayInputStream(CONTENT), CONTENT.length);
+		AttachmentBlob blob = new AttachmentBlob(first.getContentHash(), CONTENT.length);
+		when(blobDao.getForUpdate(first.getContentHash())).thenReturn(blob);
+
+		FileInfo second = file(2);
+		store.write(second, new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+		assertEquals(first.getContentHash(), second.getContentHash());
+		assertEquals(2, blob.getRefCount());
+		assertEquals(1, storedFileCount());
+	}
+
+	@Test
+	void write_lengthMismatch_throwsAndLeavesNothingBehind() throws Exception
+	{
+		assertThrows(IOException.class,
+				() -> store.write(file(1), new ByteArrayInputStream(CONTENT), CONTENT.length + 1));
+		assertEquals(0, storedFileCount());
+		verify(blobDao, never()).insert(any());
+	}
+
+	@Test
+	void copyContentAndReadContent_returnStoredBytes() throws Exception
+	{
+		FileInfo file = file(1);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(store.copyContent(file, out));
+		assertArrayEquals(CONTENT, out.toByteArray());
+		assertArrayEquals(CONTENT, store.readContent(file));
+	}
+
+	@Test
+	void copyContent_missingFile_returnsFalse() throws Exception
+	{
+		FileInfo file = file(1);
+		file.setContentHash(MISSING_HASH);
+
+		assertFalse(store.copyContent(file, new ByteArrayOutputStream()));
+		assertNull(store.readContent(file));
+	}
+
+	@Test
+	void remove_sharedContent_onlyDecrementsCount() throws Exception
+	{
+		FileInfo file = file(1);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+		String hash = file.getContentHash();
+		AttachmentBlob blob = new AttachmentBlob(hash, CONTENT.length);
+		blob.setRefCount(2);
+		when(blobDao.getForUpdate(hash)).thenReturn(blob);
+
+		store.remove(file);
+
+		assertEquals(1, blob.getRefCount());
+		assertEquals(1, storedFileCount());
+		verify(blobDao, never()).delete(any());
+	}
+
+	@Test
+	void remove_lastReference_deletesBlobButKeepsFile() throws Exception
+	{
+		FileInfo file = file(1);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+		AttachmentBlob blob = new AttachmentBlob(file.getContentHash(), CONTENT.length);
+		when(blobDao.getForUpdate(file.getContentHash())).thenReturn(blob);
+
+		store.remove(file);
+
+		verify(blobDao).delete(blob);
+		assertEquals(1, storedFileCount());
+		assertNull(file.getContentHash());
+	}
+
+	@Test
+	void purge_unreferencedContent_deletesFile() throws Exception
+	{
+		FileInfo file = file(1);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+
+		store.purge(file.getContentHash());
+
+		assertEquals(0, storedFileCount());
+	}
+
+	@Test
+	void purge_contentReferencedAgain_keepsFile() throws Exception
+	{
+		FileInfo file = file(1);
+		store.write(file, new ByteArrayInputStream(CONTENT), CONTENT.length);
+		when(blobDao.getForUpdate(file.getContentHash()))
+				.thenReturn(new AttachmentBlob(file.getContentHash(), CONTENT.length));
+
+		store.purge(file.getContentHash());
+
+		assertEquals(1, storedFileCount());
+	}
+}
@@ -0,0 +1,40 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import domain.KPI;
+import domain.User;
+
+class EntityCacheStatisticsTest
+{
+	@BeforeEach
+	void setUp()
+	{
+		EntityCacheStatistics.reset();
+	}
+
+	@Test
+	void record_countsHitsAndMissesPerType()
+	{
+		EntityCacheStatistics.record(User.class, true);
+		EntityCacheStatistics.record(User.class, true);
+		EntityCacheStatistics.record(User.class, false);
+		EntityCacheStatistics.record(KPI.class, false);
+
+		assertEquals(new EntityCacheStatistics.Counts(2, 1), EntityCacheStatistics.get(User.class));
+		assertEquals(2.0 / 3, EntityCacheStatistics.get(User.class).hitRatio(), 1e-9);
+		assertEquals(List.of("KPI", "User"), List.copyOf(EntityCacheStatistics.snapshot().keySet()));
+	}
+
+	@Test
+	void get_unknownType_returnsZeroCounts()
+	{
+		assertEquals(new EntityCacheStatistics.Counts(0, 0), EntityCacheStatistics.get(User.class));
+		assertEquals(0, EntityCacheStatistics.get(User.class).hitRatio());
+	}
+}
@@ -0,0 +1,159 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Runs the bulk writes of {@link GenericDaoJpa} against a mocked
+ * EntityManager, once in a transaction of their own and once joining the
+ * caller's transaction.
+ */
+class GenericDaoJpaBulkTest
+{
+	/**
+	 * Hands every unit of work the same mocked EntityManager and records the
+	 * transaction calls instead of touching a database.
+	 */
+	private static class BulkDao extends GenericDaoJpa<String>
+	{
+		private final EntityManager em = mock(EntityManager.class);
+		private final boolean callerTransaction;
+		private int started;
+		private int committed;
+		private int rolledBack;
+
+		BulkDao(boolean callerTransaction)
+		{
+			super(String.class);
+			this.callerTransaction = callerTransaction;
+		}
+
+		@Override
+		protected <R> R withEntityManager(Function<EntityManager, R> work)
+		{
+			return work.apply(em);
+		}
+
+		@Override
+		protected boolean isTransactionActive()
+		{
+			return callerTransaction;
+		}
+
+		@Override
+		public void startTransaction()
+		{
+			started++;
+		}
+
+		@Override
+		public void commitTransaction()
+		{
+			committed++;
+		}
+
+		@Override
+		public void rollbackTransaction()
+		{
+			rolledBack++;
+		}
+	}
+
+	private static List<String> rows(int count)
+	{
+		return IntStream.range(0, count).mapToObj(i -> "row-" + i).toList();
+	}
+
+	@Test
+	void insertAll_ownTransaction_flushesAndClearsEveryBatch()
+	{
+		BulkDao dao = new BulkDao(false);
+
+		dao.insertAll(rows(2 * GenericDaoJpa.BULK_FLUSH_SIZE + 50));
+
+		verify(dao.em, times(2 * GenericDaoJpa.BULK_FLUSH_SIZE + 50)).persist(anyString());
+		verify(dao.em, times(2)).flush();
+		verify(dao.em, times(2)).clear();
+		assertEquals(1, dao.started);
+		assertEquals(1, dao.committed);
+		assertEquals(0, dao.rolledBack);
+	}
+
+	@Test
+	void insertAll_callerTransaction_flushesWithoutClearingOrCommitting()
+	{
+		BulkDao dao = new BulkDao(true);
+
+		dao.insertAll(rows(2 * GenericDaoJpa.BULK_FLUSH_SIZE + 50));
+
+		verify(dao.em, times(2)).flush();
+		verify(dao.em, never()).clear();
+		assertEquals(0, dao.started);
+		assertEquals(0, dao.committed);
+	}
+
+	@Test
+	void insertAll_ownTransaction_failure_rollsBack()
+	{
+		BulkDao dao = new BulkDao(false);
+		doThrow(new PersistenceException("duplicate")).when(dao.em).persist("row-150");
+
+		assertThrows(PersistenceException.class, () -> dao.insertAll(rows(200)));
+
+		assertEquals(1, dao.started);
+		assertEquals(0, dao.committed);
+		assertEquals(1, dao.rolledBack);
+	}
+
+	@Test
+	void insertAll_callerTransaction_failure_leavesRollbackToCaller()
+	{
+		BulkDao dao = new BulkDao(true);
+		doThrow(new PersistenceException("duplicate")).when(dao.em).persist("row-150");
+
+		assertThrows(PersistenceException.class, () -> dao.insertAll(rows(200)));
+
+		assertEquals(0, dao.rolledBack);
+		assertEquals(0, dao.committed);
+	}
+
+	@Test
+	void updateAll_returnsMergedObjectsInOrder()
+	{
+		BulkDao dao = new BulkDao(false);
+		when(dao.em.merge(anyString())).thenAnswer(invocation -> "merged-" + invocation.getArgument(0));
+
+		List<String> merged = dao.updateAll(rows(3));
+
+		assertEquals(List.of("merged-row-0", "merged-row-1", "merged-row-2"), merged);
+		assertEquals(1, dao.committed);
+	}
+
+	@Test
+	void updateAll_ownTransaction_failure_rollsBack()
+	{
+		BulkDao dao = new BulkDao(false);
+		when(dao.em.merge(anyString())).thenThrow(new PersistenceException("optimistic lock"));
+
+		assertThrows(PersistenceException.class, () -> dao.updateAll(rows(3)));
+
+		assertEquals(0, dao.committed);
+		assertEquals(1, dao.rolledBack);
+	}
+}
@@ -0,0 +1,96 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Checks when writes drop the cached row counts of {@link GenericDaoJpa}: right
+ * away without a transaction, and only once the transaction has ended
+ * otherwise.
+ */
+class GenericDaoJpaCountCacheTest
+{
+	private static class Counted
+	{
+	}
+
+	/**
+	 * Hands every unit of work the same mocked EntityManager and lets the test
+	 * decide whether a transaction is open.
+	 */
+	private static class CountingDao extends GenericDaoJpa<Counted>
+	{
+		private final EntityManager em = mock(EntityManager.class);
+		private boolean transactionActive;
+
+		CountingDao()
+		{
+			super(Counted.class);
+		}
+
+		@Override
+		protected <R> R withEntityManager(Function<EntityManager, R> work)
+		{
+			return work.apply(em);
+		}
+
+		@Override
+		protected boolean isTransactionActive()
+		{
+			return transactionActive;
+		}
+	}
+
+	private CountingDao dao;
+	private TypedQuery<Long> countQuery;
+
+	@SuppressWarnings("unchecked")
+	@BeforeEach
+	void setUp()
+	{
+		dao = new CountingDao();
+		dao.invalidateCounts();
+		countQuery = mock(TypedQuery.class);
+		when(dao.em.createQuery(anyString(), eq(Long.class))).thenReturn(countQuery);
+		when(countQuery.getSingleResult()).thenReturn(1L, 2L);
+	}
+
+	@Test
+	void insert_withoutTransaction_dropsCountImmediately()
+	{
+		assertEquals(1, dao.count());
+
+		dao.insert(new Counted());
+
+		assertEquals(2, dao.count());
+	}
+
+	@Test
+	void insert_inTransaction_keepsCountUntilCommit()
+	{
+		assertEquals(1, dao.count());
+		dao.transactionActive = true;
+
+		dao.insert(new Counted());
+
+		assertEquals(1, dao.count());
+		verify(countQuery, times(1)).getSingleResult();
+
+		GenericDaoJpa.dropPendingCounts();
+
+		assertEquals(2, dao.count());
+	}
+}
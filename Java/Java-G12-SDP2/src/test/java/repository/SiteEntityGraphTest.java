@@ -0,0 +1,202 @@
+package repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.persistence.config.PersistenceUnitProperties;
+import org.eclipse.persistence.internal.databaseaccess.DatabaseCall;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import domain.Machine;
+import domain.Site;
+import domain.User;
+import dto.SiteRow;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import util.MachineStatus;
+import util.Role;
+import util.Status;
+
+/**
+ * Counts the SQL statements that read machines while sites are loaded with
+ * each entity graph or aggregated into overview rows, so a regression back to
+ * eager (or per-site) machine loading fails the build.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class SiteEntityGraphTest
+{
+	private static final int SITE_COUNT = 5;
+	private static final int MACHINES_PER_SITE = 10;
+
+	@Container
+	private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0").withDatabaseName("testdb")
+			.withUsername("testuser").withPassword("testpass");
+
+	private static SiteDaoJpa siteDao;
+
+	/**
+	 * Counts every SELECT on the machines table. Registered by class name, so the
+	 * count is static.
+	 */
+	public static class MachineQueryCounter extends SessionEventAdapter
+	{
+		private static final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void postExecuteCall(SessionEvent event)
+		{
+			if (event.getCall() instanceof DatabaseCall call && call.getSQLString() != null
+					&& call.getSQLString().toLowerCase().matches("select .* from machines\\b.*"))
+			{
+				count.incrementAndGet();
+			}
+		}
+	}
+
+	@BeforeAll
+	static void setupDatabase() throws Exception
+	{
+		EntityManagerProvider.configure(Map.of("jakarta.persistence.jdbc.url", mysql.getJdbcUrl(),
+				"jakarta.persistence.jdbc.user", mysql.getUsername(), "jakarta.persistence.jdbc.password",
+				mysql.getPassword(), "jakarta.persistence.jdbc.driver", "com.mysql.cj.jdbc.Driver",
+				"eclipselink.ddl-generation", "drop-and-create-tables",
+				PersistenceUnitProperties.SESSION_EVENT_LISTENER_CLASS, MachineQueryCounter.class.getName()));
+		siteDao = new SiteDaoJpa();
+
+		User user = new User.Builder().buildFirstName("Jane").buildLastName("Doe").buildEmail("jane.doe@example.com")
+				.buildPhoneNumber("010101").buildPassword("testPassword")
+				.buildBirthdate(LocalDate.now().minusYears(20L)).buildAddress("Main Street", 123, 1000, "Brussels")
+				.buildStatus(Status.ACTIEF).buildRole(Role.VERANTWOORDELIJKE).build();
+
+		EntityManager em = EntityManagerProvider.acquire();
+		try
+		{
+			em.getTransaction().begin();
+			for (int i = 0; i < SITE_COUNT; i++)
+			{
+				Site site = new Site.Builder().buildSiteName("Site " + i)
+						.buildAddress("Main Street", 123, 1000, "Brussels").buildVerantwoordelijke(user)
+						.buildStatus(Status.ACTIEF).build();
+				em.persist(site);
+				em.flush();
+				for (int j = 0; j < MACHINES_PER_SITE; j++)
+				{
+					em.createNativeQuery("""
+							INSERT INTO machines (CODE, LOCATION, PRODUCTINFO, MACHINESTATUS, PRODUCTIONSTATUS,
+								SITE_ID, NUMBERDAYSSINCELASTMAINTENANCE)
+							VALUES (?1, 'Hall 1', 'Product', 'DRAAIT', 'GEZOND', ?2, 0)
+							""").setParameter(1, "M" + i + "-" + j).setParameter(2, site.getId()).executeUpdate();
+				}
+			}
+			em.getTransaction().commit();
+		} finally
+		{
+			EntityManagerProvider.release();
+		}
+	}
+
+	@AfterAll
+	static void close()
+	{
+		EntityManagerProvider.close();
+	}
+
+	@BeforeEach
+	void resetCounts()
+	{
+		EntityManagerProvider.getEntityManagerFactory().getCache().evictAll();
+		MachineQueryCounter.count.set(0);
+	}
+
+	@Test
+	void findAll_summaryGraph_readsNoMachines()
+	{
+		List<Site> sites = siteDao.findAll(Site.SUMMARY_GRAPH);
+
+		assertEquals(SITE_COUNT, sites.size());
+		sites.forEach(site -> assertEquals("Jane", site.getVerantwoordelijke().getFirstName()));
+		assertEquals(0, MachineQueryCounter.count.get());
+	}
+
+	@Test
+	void findAll_withMachinesGraph_readsMachinesOfAllSitesInOneQuery()
+	{
+		List<Site> sites = siteDao.findAll(Site.WITH_MACHINES_GRAPH);
+		int afterLoad = MachineQueryCounter.count.get();
+
+		sites.forEach(site -> assertEquals(MACHINES_PER_SITE, site.getMachines().size()));
+
+		assertEquals(1, afterLoad);
+		assertEquals(1, MachineQueryCounter.count.get());
+	}
+
+	@Test
+	void get_summaryGraph_readsNoMachines()
+	{
+		Site first = siteDao.findAll(Site.SUMMARY_GRAPH).get(0);
+		EntityManagerProvider.getEntityManagerFactory().getCache().evictAll();
+
+		siteDao.get(first.getId(), Site.SUMMARY_GRAPH);
+
+		assertEquals(0, MachineQueryCounter.count.get());
+	}
+
+	@Test
+	void get_withMachinesGraph_readsMachinesInOneQuery()
+	{
+		Site first = siteDao.findAll(Site.SUMMARY_GRAPH).get(0);
+		EntityManagerProvider.getEntityManagerFactory().getCache().evictAll();
+
+		Site site = siteDao.get(first.getId(), Site.WITH_MACHINES_GRAPH);
+		int afterLoad = MachineQueryCounter.count.get();
+
+		assertEquals(MACHINES_PER_SITE, site.getMachines().size());
+		assertEquals(1, afterLoad);
+		assertEquals(1, MachineQueryCounter.count.get());
+	}
+
+	@Test
+	void findRows_countsMachinesPerStatusWithoutReadingMachines()
+	{
+		List<SiteRow> rows = siteDao.findRows(new SiteFilter(null, null, null, null, MACHINES_PER_SITE, null));
+
+		assertEquals(SITE_COUNT, rows.size());
+		rows.forEach(row -> {
+			assertEquals(MACHINES_PER_SITE, row.machineCount());
+			assertEquals(MACHINES_PER_SITE, row.machineCount(MachineStatus.DRAAIT));
+			assertEquals(0, row.machineCount(MachineStatus.IN_ONDERHOUD));
+		});
+		assertEquals(0, MachineQueryCounter.count.get());
+	}
+
+	@Test
+	void findRows_machineCountAboveMaximum_excludesSites()
+	{
+		assertTrue(siteDao.findRows(new SiteFilter("site", Status.ACTIEF, null, "Jane Doe", null, MACHINES_PER_SITE - 1))
+				.isEmpty());
+	}
+
+	@Test
+	void sharedCache_keepsSitesButNotMachines()
+	{
+		Site site = siteDao.get(siteDao.findAll(Site.SUMMARY_GRAPH).get(0).getId(), Site.WITH_MACHINES_GRAPH);
+		Cache cache = EntityManagerProvider.getEntityManagerFactory().getCache();
+
+		assertTrue(cache.contains(Site.class, site.getId()));
+		site.getMachines().forEach(machine -> assertFalse(cache.contains(Machine.class, machine.getId())));
+	}
+}
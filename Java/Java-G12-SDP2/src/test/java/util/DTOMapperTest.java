@@ -0,0 +1,92 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import domain.Machine;
+import domain.Site;
+import domain.User;
+import dto.MachineDTO;
+import dto.SiteDTOWithMachines;
+import util.DTOMapper.MappingContext;
+
+class DTOMapperTest
+{
+	private User technician;
+	private Site site;
+	private Machine first;
+	private Machine second;
+
+	@BeforeEach
+	void setUp()
+	{
+		technician = new User();
+		technician.setId(1);
+		technician.setFirstName("Jane");
+		technician.setLastName("Doe");
+
+		site = new Site.Builder().buildSiteName("Warehouse A").buildVerantwoordelijke(technician)
+				.buildStatus(Status.ACTIEF).buildAddress("Main Street", 1, 1000, "Brussels").build();
+		site.setId(1);
+
+		first = machine(1);
+		second = machine(2);
+	}
+
+	private Machine machine(int id)
+	{
+		Machine machine = new Machine.Builder().buildCode("M" + id).buildTechnician(technician)
+				.buildLocation("Hall 1").buildProductInfo("Product").buildMachineStatus(MachineStatus.DRAAIT)
+				.buildProductionStatus(ProductionStatus.GEZOND).buildSite(site)
+				.buildFutureMaintenance(LocalDate.now().plusDays(40)).build();
+		machine.setId(id);
+		site.addMachine(machine);
+		return machine;
+	}
+
+	@Test
+	void mappingContext_sharesNestedDTOsOfTheSameEntity()
+	{
+		MappingContext context = new MappingContext();
+
+		MachineDTO firstDTO = context.toMachineDTO(first);
+		MachineDTO secondDTO = context.toMachineDTO(second);
+
+		assertSame(firstDTO.site(), secondDTO.site());
+		assertSame(firstDTO.technician(), secondDTO.technician());
+		assertSame(firstDTO.technician(), firstDTO.site().verantwoordelijke());
+		assertSame(firstDTO, context.toMachineDTO(first));
+	}
+
+	@Test
+	void mappingContext_siteWithMachines_machinesShareOneSite()
+	{
+		SiteDTOWithMachines dto = new MappingContext().toSiteDTOWithMachines(site);
+
+		assertEquals(2, dto.machines().size());
+		assertEquals(1, dto.machines().stream().map(MachineDTO::site).distinct().count());
+		assertSame(dto.verantwoordelijke(), dto.machines().iterator().next().technician());
+	}
+
+	@Test
+	void mappingContext_unsavedEntities_areNotShared()
+	{
+		User unsaved = new User();
+		MappingContext context = new MappingContext();
+
+		assertNotSame(context.toUserDTO(unsaved), context.toUserDTO(unsaved));
+	}
+
+	@Test
+	void staticMapping_matchesMappingContext()
+	{
+		assertEquals(new MappingContext().toMachineDTO(first), DTOMapper.toMachineDTO(first));
+		assertEquals(new MappingContext().toSiteDTOWithMachines(site), DTOMapper.toSiteDTOWithMachines(site));
+	}
+}
@@ -0,0 +1,73 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KeysetPaginatorTest
+{
+	private List<Integer> rows;
+	private List<Integer> requestedAfterKeys;
+	private KeysetPaginator<Integer> paginator;
+
+	@BeforeEach
+	void setUp()
+	{
+		rows = IntStream.rangeClosed(1, 25).boxed().toList();
+		requestedAfterKeys = new ArrayList<>();
+		paginator = new KeysetPaginator<>((afterKey, limit) -> {
+			requestedAfterKeys.add(afterKey);
+			return rows.stream().filter(r -> afterKey == null || r > afterKey).limit(limit).toList();
+		}, Integer::intValue);
+	}
+
+	@Test
+	void getPage_firstPage_loadsFromStart()
+	{
+		assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), paginator.getPage(0, 10));
+		assertEquals(1, requestedAfterKeys.size());
+		assertEquals(null, requestedAfterKeys.get(0));
+	}
+
+	@Test
+	void getPage_nextPage_continuesAfterLastKey()
+	{
+		paginator.getPage(0, 10);
+		assertEquals(List.of(11, 12, 13, 14, 15, 16, 17, 18, 19, 20), paginator.getPage(1, 10));
+		assertEquals(10, requestedAfterKeys.get(1));
+	}
+
+	@Test
+	void getPage_samePageTwice_loadsOnce()
+	{
+		paginator.getPage(0, 10);
+		paginator.getPage(0, 10);
+		assertEquals(1, requestedAfterKeys.size());
+	}
+
+	@Test
+	void getPage_jumpAhead_walksForward()
+	{
+		assertEquals(List.of(21, 22, 23, 24, 25), paginator.getPage(2, 10));
+		assertEquals(3, requestedAfterKeys.size());
+	}
+
+	@Test
+	void getPage_pastLastPage_returnsEmptyList()
+	{
+		assertTrue(paginator.getPage(5, 10).isEmpty());
+	}
+
+	@Test
+	void getPage_pageSizeChanged_startsOver()
+	{
+		paginator.getPage(1, 10);
+		assertEquals(List.of(6, 7, 8, 9, 10), paginator.getPage(1, 5));
+	}
+}
@@ -0,0 +1,84 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import util.PasswordHasher.CostProfile;
+
+class PasswordHasherTest
+{
+	/**
+	 * Cheap profile so the tests do not allocate 128 MiB per hash.
+	 */
+	private static final CostProfile TEST_PROFILE = new CostProfile(1, 1024, 1);
+
+	private CostProfile original;
+
+	@BeforeEach
+	void setUp()
+	{
+		original = PasswordHasher.getProfile();
+		PasswordHasher.setProfile(TEST_PROFILE);
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		PasswordHasher.setProfile(original);
+	}
+
+	@Test
+	void verify_matchesOnlyTheHashedPassword()
+	{
+		String hash = PasswordHasher.hash("secret");
+
+		assertTrue(PasswordHasher.verify("secret", hash));
+		assertFalse(PasswordHasher.verify("other", hash));
+	}
+
+	@Test
+	void needsRehash_sameProfile_returnsFalse()
+	{
+		assertFalse(PasswordHasher.needsRehash(PasswordHasher.hash("secret")));
+	}
+
+	@Test
+	void needsRehash_profileChanged_returnsTrue()
+	{
+		String hash = PasswordHasher.hash("secret");
+		PasswordHasher.setProfile(new CostProfile(2, 1024, 1));
+
+		assertTrue(PasswordHasher.needsRehash(hash));
+		assertTrue(PasswordHasher.verify("secret", hash));
+	}
+
+	@Test
+	void needsRehash_unknownFormat_returnsTrue()
+	{
+		assertTrue(PasswordHasher.needsRehash("plain"));
+	}
+
+	@Test
+	void calibrate_keepsMemoryAndParallelism()
+	{
+		CostProfile profile = PasswordHasher.calibrate(20, 1024, 1);
+
+		assertTrue(profile.iterations() >= 1);
+		assertEquals(1024, profile.memoryKiB());
+		assertEquals(1, profile.parallelism());
+	}
+
+	@Test
+	void costProfile_invalidParameters_throwsException()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new CostProfile(0, 1024, 1));
+		assertThrows(IllegalArgumentException.class, () -> new CostProfile(1, 4, 1));
+		assertThrows(IllegalArgumentException.class, () -> new CostProfile(1, 1024, 0));
+	}
+}
@@ -0,0 +1,130 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class RecordReaderTest
+{
+	private static RecordReader open(String content, ImportFormat format) throws IOException
+	{
+		return RecordReader.open(new StringReader(content), format);
+	}
+
+	@Test
+	void csv_readsRecordsByHeader() throws IOException
+	{
+		try (RecordReader reader = open("code,location\nM1,Hall 1\n\nM2,Hall 2\n", ImportFormat.CSV))
+		{
+			assertEquals(Map.of("code", "M1", "location", "Hall 1"), reader.readRecord());
+			assertEquals(Map.of("code", "M2", "location", "Hall 2"), reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void csv_quotedFields_keepSeparatorsQuotesAndNewlines() throws IOException
+	{
+		try (RecordReader reader = open("code,productInfo\nM1,\"Press, \"\"big\"\"\nsecond line\"\n",
+				ImportFormat.CSV))
+		{
+			assertEquals("Press, \"big\"\nsecond line", reader.readRecord().get("productInfo"));
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void csv_semicolonHeader_usesSemicolonSeparator() throws IOException
+	{
+		try (RecordReader reader = open("code;location\nM1;Hall 1, east\n", ImportFormat.CSV))
+		{
+			assertEquals(Map.of("code", "M1", "location", "Hall 1, east"), reader.readRecord());
+		}
+	}
+
+	@Test
+	void csv_missingTrailingFields_areNull() throws IOException
+	{
+		try (RecordReader reader = open("code,location\nM1\n", ImportFormat.CSV))
+		{
+			Map<String, String> expected = new HashMap<>();
+			expected.put("code", "M1");
+			expected.put("location", null);
+			assertEquals(expected, reader.readRecord());
+		}
+	}
+
+	@Test
+	void csv_tooManyFields_throwsIOException() throws IOException
+	{
+		try (RecordReader reader = open("code\nM1,M2\n", ImportFormat.CSV))
+		{
+			assertThrows(IOException.class, reader::readRecord);
+		}
+	}
+
+	@Test
+	void json_readsArrayOfFlatObjects() throws IOException
+	{
+		String json = """
+				[
+				  {"code": "M1", "number": 12, "active": true, "note": null},
+				  {"code": "M\\"2\\u0021"}
+				]
+				""";
+		try (RecordReader reader = open(json, ImportFormat.JSON))
+		{
+			Map<String, String> expected = new HashMap<>();
+			expected.put("code", "M1");
+			expected.put("number", "12");
+			expected.put("active", "true");
+			expected.put("note", null);
+			assertEquals(expected, reader.readRecord());
+			assertEquals(Map.of("code", "M\"2!"), reader.readRecord());
+			assertNull(reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void json_emptyArray_hasNoRecords() throws IOException
+	{
+		try (RecordReader reader = open(" [ ] ", ImportFormat.JSON))
+		{
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void json_nestedValue_throwsIOException() throws IOException
+	{
+		try (RecordReader reader = open("[{\"site\": {\"id\": 1}}]", ImportFormat.JSON))
+		{
+			assertThrows(IOException.class, reader::readRecord);
+		}
+	}
+
+	@Test
+	void json_notAnArray_throwsIOException() throws IOException
+	{
+		try (RecordReader reader = open("{\"code\": \"M1\"}", ImportFormat.JSON))
+		{
+			assertThrows(IOException.class, reader::readRecord);
+		}
+	}
+
+	@Test
+	void format_fromFileName()
+	{
+		assertEquals(ImportFormat.CSV, ImportFormat.fromFileName("machines.CSV"));
+		assertEquals(ImportFormat.JSON, ImportFormat.fromFileName("users.json"));
+		assertThrows(IllegalArgumentException.class, () -> ImportFormat.fromFileName("sites.xlsx"));
+	}
+}
@@ -0,0 +1,85 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class RowWriterTest
+{
+	@Test
+	void csv_quotesSpecialCharacters_andReadsBackUnchanged() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (RowWriter writer = RowWriter.open(out, ExportFormat.CSV))
+		{
+			writer.writeRow("code", "comments", "date");
+			writer.writeRow("M1", "Belt, \"worn\"\nreplaced", LocalDate.of(2025, 5, 1));
+			writer.writeRow("M2", null, null);
+		}
+
+		try (RecordReader reader = new CsvRecordReader(new StringReader(out.toString(StandardCharsets.UTF_8))))
+		{
+			assertEquals(Map.of("code", "M1", "comments", "Belt, \"worn\"\nreplaced", "date", "2025-05-01"),
+					reader.readRecord());
+			Map<String, String> empty = new HashMap<>();
+			empty.put("code", "M2");
+			empty.put("comments", "");
+			empty.put("date", "");
+			assertEquals(empty, reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void xlsx_writesPackageWithStreamedSheet() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (RowWriter writer = RowWriter.open(out, ExportFormat.XLSX))
+		{
+			writer.writeRow("id", "comments");
+			writer.writeRow(7, "<b> & \u0001done");
+			writer.writeRow(8, null);
+		}
+
+		Map<String, String> entries = new HashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray())))
+		{
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null)
+			{
+				entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+
+		assertEquals(List.of("[Content_Types].xml", "_rels/.rels", "xl/_rels/workbook.xml.rels", "xl/workbook.xml",
+				"xl/worksheets/sheet1.xml"), entries.keySet().stream().sorted().toList());
+		String sheet = entries.get("xl/worksheets/sheet1.xml");
+		assertTrue(sheet.contains("<row><c><v>7</v></c><c t=\"inlineStr\"><is><t xml:space=\"preserve\">"
+				+ "&lt;b&gt; &amp; done</t></is></c></row>"));
+		assertTrue(sheet.contains("<row><c><v>8</v></c><c/></row>"));
+		assertTrue(sheet.endsWith("</sheetData></worksheet>"));
+	}
+
+	@Test
+	void format_fromFileName()
+	{
+		assertEquals(ExportFormat.CSV, ExportFormat.fromFileName("history.csv"));
+		assertEquals(ExportFormat.XLSX, ExportFormat.fromFileName("history.XLSX"));
+		assertThrows(IllegalArgumentException.class, () -> ExportFormat.fromFileName("history.pdf"));
+	}
+}
@@ -0,0 +1,74 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCacheTest
+{
+	private AtomicInteger loads;
+	private List<String> rows;
+	private SnapshotCache<String> cache;
+
+	@BeforeEach
+	void setUp()
+	{
+		loads = new AtomicInteger();
+		rows = new ArrayList<>(List.of("a", "b"));
+		cache = new SnapshotCache<>(() -> {
+			loads.incrementAndGet();
+			return rows;
+		});
+	}
+
+	@Test
+	void get_repeatedReads_loadOnce()
+	{
+		List<String> first = cache.get();
+		assertSame(first, cache.get());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void get_returnsImmutableCopy()
+	{
+		List<String> snapshot = cache.get();
+		rows.add("c");
+		assertEquals(List.of("a", "b"), snapshot);
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.add("d"));
+	}
+
+	@Test
+	void update_dropsSnapshot()
+	{
+		cache.get();
+		rows.add("c");
+		cache.update("Site bijgewerkt 1 Gent");
+		assertEquals(List.of("a", "b", "c"), cache.get());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void get_invalidatedDuringLoad_doesNotCacheStaleList()
+	{
+		AtomicReference<SnapshotCache<String>> holder = new AtomicReference<>();
+		holder.set(new SnapshotCache<>(() -> {
+			if (loads.incrementAndGet() == 1)
+			{
+				holder.get().invalidate();
+			}
+			return List.of("v" + loads.get());
+		}));
+		assertEquals(List.of("v1"), holder.get().get());
+		assertEquals(List.of("v2"), holder.get().get());
+		assertEquals(List.of("v2"), holder.get().get());
+	}
+}